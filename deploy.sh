@@ -60,7 +60,7 @@ echo ""
 echo "📍 服务地址："
 echo "   前端: http://localhost"
 echo "   后端: http://localhost:8080/api"
-echo "   健康检查: http://localhost:8080/api/actuator/health"
+echo "   健康检查: docker-compose exec backend wget -qO- http://localhost:8081/actuator/health"
 echo ""
 echo "📊 查看状态："
 echo "   docker-compose ps"
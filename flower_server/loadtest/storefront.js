@@ -0,0 +1,77 @@
+/**
+ * 【花言花语】游客端压测脚本（k6）
+ *
+ * 对比平台线程与虚拟线程两种模式在 2000 个并发游客下的 p99 延迟：
+ *
+ *   # 1. 平台线程（默认）
+ *   VIRTUAL_THREADS_ENABLED=false java -jar target/flower-shop-1.0.0.jar
+ *   k6 run --summary-export=platform.json loadtest/storefront.js
+ *
+ *   # 2. 虚拟线程（同时打开钉住诊断，检查 JDBC 路径上的 synchronized）
+ *   VIRTUAL_THREADS_ENABLED=true java -Djdk.tracePinnedThreads=short -jar target/flower-shop-1.0.0.jar
+ *   k6 run --summary-export=virtual.json loadtest/storefront.js
+ *
+ * 两次运行保持相同的 DB_POOL_SIZE 与 DB_READ_POOL_SIZE，比较 summary 中各接口的 p(99)。
+ * 可通过环境变量调整：BASE_URL、VUS（默认 2000）、DURATION（默认 3m）
+ */
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const VUS = parseInt(__ENV.VUS || '2000', 10);
+const DURATION = __ENV.DURATION || '3m';
+
+export const options = {
+    scenarios: {
+        storefront: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{endpoint:search}': ['p(99)<1500'],
+        'http_req_duration{endpoint:detail}': ['p(99)<1000'],
+        'http_req_duration{endpoint:categories}': ['p(99)<500'],
+    },
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export default function () {
+    // 浏览分类
+    const categories = http.get(`${BASE_URL}/categories/list`, { tags: { endpoint: 'categories' } });
+    check(categories, { 'categories 200': (r) => r.status === 200 });
+
+    // 商品列表（翻前几页）
+    const page = 1 + Math.floor(Math.random() * 3);
+    const search = http.post(
+        `${BASE_URL}/products/search`,
+        JSON.stringify({ current: page, size: 12 }),
+        Object.assign({ tags: { endpoint: 'search' } }, JSON_HEADERS)
+    );
+    check(search, { 'search 200': (r) => r.status === 200 });
+
+    // 打开一个商品详情
+    let productId = 1;
+    try {
+        const records = search.json('data.records');
+        if (records && records.length > 0) {
+            productId = records[Math.floor(Math.random() * records.length)].id;
+        }
+    } catch (e) {
+        // 搜索失败时使用默认商品
+    }
+    const detail = http.get(`${BASE_URL}/products/${productId}`, { tags: { endpoint: 'detail' } });
+    check(detail, { 'detail 200': (r) => r.status === 200 });
+
+    // 模拟用户浏览间隔
+    sleep(1 + Math.random() * 2);
+}
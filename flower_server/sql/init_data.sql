@@ -9,7 +9,7 @@
 -- 1. 用户数据
 -- =====================================================
 INSERT INTO flower_shop.users (id, username, password, email, phone, role, is_active, last_login, created_at, updated_at) VALUES (2, 'floweradmin', '$2a$10$Jryhr3amjRT3vuiHpB4ub.ZYBQUaV4u4W/mboed/kZcgNHzGVypZy', 'admin@flower-shop.com', '13800138000', 'ROLE_ADMIN', 1, '2026-01-04 03:14:55', null, '2025-11-22 17:21:59');
-INSERT INTO flower_shop.users (id, username, password, email, phone, role, is_active, last_login, created_at, updated_at) VALUES (3, 'admin', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iKVjzieMwkOmANgNOgKQNNBDvAGK', 'admin@flower-shop.com', '13800138000', 'ROLE_ADMIN', 1, null, '2025-11-22 17:44:11', '2025-11-22 17:44:11');
+INSERT INTO flower_shop.users (id, username, password, email, phone, role, is_active, last_login, created_at, updated_at) VALUES (3, 'admin', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iKVjzieMwkOmANgNOgKQNNBDvAGK', 'admin@flower-shop.com', null, 'ROLE_ADMIN', 1, null, '2025-11-22 17:44:11', '2025-11-22 17:44:11');
 INSERT INTO flower_shop.users (id, username, password, email, phone, role, is_active, last_login, created_at, updated_at) VALUES (4, 'test1', '$2a$10$9mlTbAYnzk/ajN2dpUj.OedOf83OYh8EvwFB3peMk.o8/wg90k6Nq', '', '13265796277', 'ROLE_CUSTOMER', 1, '2026-01-04 02:53:00', '2025-12-18 23:09:35', '2025-12-18 23:09:35');
 
 -- =====================================================
@@ -180,3 +180,14 @@ INSERT INTO flower_shop.order_items (id, order_id, product_id, product_name, pro
 INSERT INTO flower_shop.order_items (id, order_id, product_id, product_name, product_price, quantity, total_price, created_at) VALUES (35, 25, 71, '的滴答滴答滴答滴答', 199.00, 1, 199.00, '2026-01-04 00:15:00');
 INSERT INTO flower_shop.order_items (id, order_id, product_id, product_name, product_price, quantity, total_price, created_at) VALUES (36, 26, 71, '的滴答滴答滴答滴答', 199.00, 4, 796.00, '2026-01-04 00:18:41');
 INSERT INTO flower_shop.order_items (id, order_id, product_id, product_name, product_price, quantity, total_price, created_at) VALUES (37, 27, 55, '乔迁之喜', 368.00, 1, 368.00, '2026-01-04 02:06:19');
+
+-- =====================================================
+-- 7. 客户订单历史投影数据（由上面的订单与订单详情生成）
+-- =====================================================
+INSERT INTO flower_shop.customer_order_history (order_id, order_no, user_id, customer_name, customer_phone, total_amount, delivery_fee, discount_amount, final_amount, status, payment_method, payment_status, delivery_start_time, delivery_end_time, notes, card_content, card_sender, item_count, item_summary, order_created_at)
+SELECT o.id, o.order_no, o.user_id, o.customer_name, o.customer_phone, o.total_amount, o.delivery_fee, o.discount_amount, o.final_amount, o.status, o.payment_method, o.payment_status, o.delivery_start_time, o.delivery_end_time, o.notes, o.card_content, o.card_sender,
+       COALESCE(items.item_count, 0), LEFT(items.item_summary, 1000), COALESCE(o.created_at, CURRENT_TIMESTAMP)
+FROM flower_shop.orders o
+LEFT JOIN (SELECT order_id, COUNT(id) AS item_count, GROUP_CONCAT(CONCAT(product_name, ' x', quantity) ORDER BY id SEPARATOR '，') AS item_summary
+           FROM flower_shop.order_items
+           GROUP BY order_id) items ON items.order_id = o.id;
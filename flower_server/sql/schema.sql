@@ -22,7 +22,9 @@ create table users
     created_at timestamp                            default CURRENT_TIMESTAMP null comment '创建时间',
     updated_at timestamp                            default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间',
     constraint username
-        unique (username)
+        unique (username),
+    constraint uk_users_phone
+        unique (phone)
 )
     comment '用户表' engine = InnoDB;
 
@@ -130,6 +132,7 @@ create table orders
     customer_phone      varchar(20)                                                                                     not null comment '客户电话',
     total_amount        decimal(10, 2)                                                                                  not null comment '订单总金额',
     delivery_fee        decimal(10, 2)                                                        default 0.00              null comment '配送费',
+    discount_amount     decimal(10, 2)                                                        default 0.00              not null comment '优惠金额',
     final_amount        decimal(10, 2)                                                                                  not null comment '实付金额',
     status              enum ('PENDING', 'PREPARING', 'DELIVERING', 'COMPLETED', 'CANCELLED') default 'PENDING'         not null comment '订单状态: PENDING-待确认, PREPARING-准备中, DELIVERING-配送中, COMPLETED-已完成, CANCELLED-已取消',
     payment_status      enum ('PENDING', 'PAID', 'REFUNDED')                                  default 'PENDING'         null comment '支付状态',
@@ -143,6 +146,7 @@ create table orders
     payment_method      enum ('ALIPAY', 'WECHAT', 'ON_DELIVERY')                              default 'ON_DELIVERY'     null comment '支付方式',
     delivery_start_time datetime                                                                                        null comment '配送开始时间',
     delivery_end_time   datetime                                                                                        null comment '配送结束时间',
+    delivery_slot       varchar(20)                                                                                     null comment '配送时段: MORNING/AFTERNOON/EVENING/ASAP',
     constraint order_no
         unique (order_no)
 )
@@ -208,3 +212,112 @@ create index idx_order_items_order_id
 
 create index idx_order_items_product_id
     on order_items (product_id);
+
+-- =====================================================
+-- 8. 客户订单历史投影表（依赖orders）
+-- 说明：按手机号/用户ID反规范化的订单历史，供 /orders/by-phone、/orders/my 查询
+--       下单时插入，订单状态流转时原地更新状态、支付状态与备注，不删除
+-- =====================================================
+create table customer_order_history
+(
+    id                  bigint auto_increment comment '主键'
+        primary key,
+    order_id            bigint                                                                                          not null comment '订单ID',
+    order_no            varchar(32)                                                                                     not null comment '订单号',
+    user_id             bigint                                                                                          null comment '关联的用户ID',
+    customer_name       varchar(50)                                                                                     not null comment '客户姓名',
+    customer_phone      varchar(20)                                                                                     not null comment '客户电话',
+    total_amount        decimal(10, 2)                                                                                  not null comment '订单总金额',
+    delivery_fee        decimal(10, 2)                                                        default 0.00              null comment '配送费',
+    discount_amount     decimal(10, 2)                                                        default 0.00              not null comment '优惠金额',
+    final_amount        decimal(10, 2)                                                                                  not null comment '实付金额',
+    status              enum ('PENDING', 'PREPARING', 'DELIVERING', 'COMPLETED', 'CANCELLED') default 'PENDING'         not null comment '订单状态',
+    payment_method      enum ('ALIPAY', 'WECHAT', 'ON_DELIVERY')                              default 'ON_DELIVERY'     null comment '支付方式',
+    payment_status      enum ('PENDING', 'PAID', 'REFUNDED')                                  default 'PENDING'         null comment '支付状态',
+    delivery_start_time datetime                                                                                        null comment '配送开始时间',
+    delivery_end_time   datetime                                                                                        null comment '配送结束时间',
+    notes               text                                                                                            null comment '订单备注',
+    card_content        varchar(500)                                                                                    null comment '贺卡内容',
+    card_sender         varchar(100)                                                                                    null comment '贺卡署名',
+    item_count          int                                                                   default 0                 not null comment '订单项数量',
+    item_summary        varchar(1000)                                                                                   null comment '商品摘要，如：红玫瑰花束 x2，百合 x1',
+    order_created_at    timestamp                                                             default CURRENT_TIMESTAMP not null comment '下单时间',
+    updated_at          timestamp                                                             default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间',
+    constraint uk_history_order_id
+        unique (order_id)
+)
+    comment '客户订单历史投影表' engine = InnoDB;
+
+create index idx_history_phone_created
+    on customer_order_history (customer_phone, order_created_at desc);
+
+create index idx_history_user_created
+    on customer_order_history (user_id, order_created_at desc);
+
+-- =====================================================
+-- 9. 配送时段容量表（无依赖）
+-- 说明：各节点以内存计数器预约，增量定时累加到此表（reserved = reserved + 增量），并从此表同步总数
+-- =====================================================
+create table delivery_slot_capacity
+(
+    id            bigint auto_increment comment '主键'
+        primary key,
+    delivery_date date                                not null comment '配送日期',
+    slot_code     varchar(20)                         not null comment '配送时段: MORNING/AFTERNOON/EVENING/ASAP',
+    capacity      int                                 not null comment '可接单量',
+    reserved      int       default 0                 not null comment '已预约数',
+    updated_at    timestamp default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间',
+    constraint uk_slot_date_code
+        unique (delivery_date, slot_code)
+)
+    comment '配送时段容量表' engine = InnoDB;
+
+-- =====================================================
+-- 10. 限流令牌桶表（无依赖）
+-- 说明：仅 flower-shop.rate-limit.backend=jdbc 时使用，多节点共享限流状态；
+--       tat 为理论到达时间（微秒），不晚于当前时间的桶已回满，定时清理
+-- =====================================================
+create table rate_limit_bucket
+(
+    bucket_key varchar(191) not null comment '令牌桶键：规则名:ip/user:取值'
+        primary key,
+    tat        bigint       not null comment '理论到达时间（微秒）'
+)
+    comment '限流令牌桶表' engine = InnoDB;
+
+create index idx_rate_limit_tat
+    on rate_limit_bucket (tat);
+
+-- =====================================================
+-- 11. 已吊销令牌表（无依赖）
+-- 说明：登出、刷新时吊销的令牌 ID（jti），各节点按 revoked_at 增量同步到内存；
+--       令牌原过期时间之后记录不再需要，定时清理
+-- =====================================================
+create table revoked_token
+(
+    id         bigint auto_increment comment '主键'
+        primary key,
+    jti        varchar(64)                         not null comment '令牌ID',
+    expires_at datetime                            not null comment '令牌过期时间',
+    revoked_at timestamp default CURRENT_TIMESTAMP not null comment '吊销时间',
+    constraint uk_revoked_token_jti
+        unique (jti)
+)
+    comment '已吊销令牌表' engine = InnoDB;
+
+create index idx_revoked_token_revoked_at
+    on revoked_token (revoked_at);
+
+-- =====================================================
+-- 12. 商品目录版本表（无依赖）
+-- 说明：单行表，商品、分类、库存变更后递增，各节点定时同步，目录接口的 ETag 与响应缓存以此为准；
+--       版本行由应用启动时创建，初始值为创建时间（毫秒）
+-- =====================================================
+create table catalog_version
+(
+    id         tinyint                             not null comment '固定为 1'
+        primary key,
+    version    bigint                              not null comment '目录版本号',
+    updated_at timestamp default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间'
+)
+    comment '商品目录版本表' engine = InnoDB;
@@ -0,0 +1,167 @@
+-- =====================================================
+-- 已有数据库升级脚本
+-- 说明：schema.sql 只用于新建数据库；已有数据库按顺序执行本文件中尚未执行过的段落（每段只执行一次）
+-- =====================================================
+
+-- =====================================================
+-- 客户订单历史投影表（见 schema.sql 第 8 节）
+-- =====================================================
+create table if not exists customer_order_history
+(
+    id                  bigint auto_increment comment '主键'
+        primary key,
+    order_id            bigint                                                                                          not null comment '订单ID',
+    order_no            varchar(32)                                                                                     not null comment '订单号',
+    user_id             bigint                                                                                          null comment '关联的用户ID',
+    customer_name       varchar(50)                                                                                     not null comment '客户姓名',
+    customer_phone      varchar(20)                                                                                     not null comment '客户电话',
+    total_amount        decimal(10, 2)                                                                                  not null comment '订单总金额',
+    delivery_fee        decimal(10, 2)                                                        default 0.00              null comment '配送费',
+    final_amount        decimal(10, 2)                                                                                  not null comment '实付金额',
+    status              enum ('PENDING', 'PREPARING', 'DELIVERING', 'COMPLETED', 'CANCELLED') default 'PENDING'         not null comment '订单状态',
+    payment_method      enum ('ALIPAY', 'WECHAT', 'ON_DELIVERY')                              default 'ON_DELIVERY'     null comment '支付方式',
+    payment_status      enum ('PENDING', 'PAID', 'REFUNDED')                                  default 'PENDING'         null comment '支付状态',
+    delivery_start_time datetime                                                                                        null comment '配送开始时间',
+    delivery_end_time   datetime                                                                                        null comment '配送结束时间',
+    notes               text                                                                                            null comment '订单备注',
+    card_content        varchar(500)                                                                                    null comment '贺卡内容',
+    card_sender         varchar(100)                                                                                    null comment '贺卡署名',
+    item_count          int                                                                   default 0                 not null comment '订单项数量',
+    item_summary        varchar(1000)                                                                                   null comment '商品摘要，如：红玫瑰花束 x2，百合 x1',
+    order_created_at    timestamp                                                             default CURRENT_TIMESTAMP not null comment '下单时间',
+    updated_at          timestamp                                                             default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间',
+    constraint uk_history_order_id
+        unique (order_id)
+)
+    comment '客户订单历史投影表' engine = InnoDB;
+
+create index idx_history_phone_created
+    on customer_order_history (customer_phone, order_created_at desc);
+
+create index idx_history_user_created
+    on customer_order_history (user_id, order_created_at desc);
+
+-- =====================================================
+-- 配送时段（见 schema.sql orders.delivery_slot、第 9 节 delivery_slot_capacity）
+-- =====================================================
+alter table orders
+    add column delivery_slot varchar(20) null comment '配送时段: MORNING/AFTERNOON/EVENING/ASAP' after delivery_end_time;
+
+create table if not exists delivery_slot_capacity
+(
+    id            bigint auto_increment comment '主键'
+        primary key,
+    delivery_date date                                not null comment '配送日期',
+    slot_code     varchar(20)                         not null comment '配送时段: MORNING/AFTERNOON/EVENING/ASAP',
+    capacity      int                                 not null comment '可接单量',
+    reserved      int       default 0                 not null comment '已预约数',
+    updated_at    timestamp default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间',
+    constraint uk_slot_date_code
+        unique (delivery_date, slot_code)
+)
+    comment '配送时段容量表' engine = InnoDB;
+
+-- =====================================================
+-- 订单优惠金额（满减优惠落库，见 schema.sql orders、customer_order_history）
+-- =====================================================
+alter table orders
+    add column discount_amount decimal(10, 2) default 0.00 not null comment '优惠金额' after delivery_fee;
+
+alter table customer_order_history
+    add column discount_amount decimal(10, 2) default 0.00 not null comment '优惠金额' after delivery_fee;
+
+-- =====================================================
+-- 为投影上线前的订单补齐订单历史（一次性迁移，取代原先每次启动执行的补齐；已有投影的订单不受影响）
+-- =====================================================
+insert into customer_order_history (order_id, order_no, user_id, customer_name, customer_phone,
+                                    total_amount, delivery_fee, discount_amount, final_amount, status,
+                                    payment_method, payment_status, delivery_start_time, delivery_end_time,
+                                    notes, card_content, card_sender, item_count, item_summary, order_created_at)
+select o.id,
+       o.order_no,
+       o.user_id,
+       o.customer_name,
+       o.customer_phone,
+       o.total_amount,
+       o.delivery_fee,
+       o.discount_amount,
+       o.final_amount,
+       o.status,
+       o.payment_method,
+       o.payment_status,
+       o.delivery_start_time,
+       o.delivery_end_time,
+       o.notes,
+       o.card_content,
+       o.card_sender,
+       coalesce(items.item_count, 0),
+       left(items.item_summary, 1000),
+       coalesce(o.created_at, CURRENT_TIMESTAMP)
+from orders o
+         left join (select order_id,
+                           count(id)                                                                         as item_count,
+                           group_concat(concat(product_name, ' x', quantity) order by id separator '，') as item_summary
+                    from order_items
+                    group by order_id) items on items.order_id = o.id
+         left join customer_order_history h on h.order_id = o.id
+where h.id is null;
+
+-- =====================================================
+-- 商品目录版本表（多节点共享目录版本，见 schema.sql 第 12 节）
+-- =====================================================
+create table if not exists catalog_version
+(
+    id         tinyint                             not null comment '固定为 1'
+        primary key,
+    version    bigint                              not null comment '目录版本号',
+    updated_at timestamp default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP comment '更新时间'
+)
+    comment '商品目录版本表' engine = InnoDB;
+
+-- =====================================================
+-- 限流令牌桶表（flower-shop.rate-limit.backend=jdbc 时使用，见 schema.sql 第 10 节）
+-- =====================================================
+create table if not exists rate_limit_bucket
+(
+    bucket_key varchar(191) not null comment '令牌桶键：规则名:ip/user:取值'
+        primary key,
+    tat        bigint       not null comment '理论到达时间（微秒）'
+)
+    comment '限流令牌桶表' engine = InnoDB;
+
+create index idx_rate_limit_tat
+    on rate_limit_bucket (tat);
+
+-- =====================================================
+-- 已吊销令牌表（登出、刷新令牌吊销，见 schema.sql 第 11 节）
+-- =====================================================
+create table if not exists revoked_token
+(
+    id         bigint auto_increment comment '主键'
+        primary key,
+    jti        varchar(64)                         not null comment '令牌ID',
+    expires_at datetime                            not null comment '令牌过期时间',
+    revoked_at timestamp default CURRENT_TIMESTAMP not null comment '吊销时间',
+    constraint uk_revoked_token_jti
+        unique (jti)
+)
+    comment '已吊销令牌表' engine = InnoDB;
+
+create index idx_revoked_token_revoked_at
+    on revoked_token (revoked_at);
+
+-- =====================================================
+-- 用户手机号唯一索引（注册并发去重，见 schema.sql users.uk_users_phone）
+-- 执行前先用下面的查询确认没有重复手机号，有则先人工合并或清空重复记录的 phone
+-- select phone, count(*) from users where phone is not null group by phone having count(*) > 1;
+-- 由 init_data.sql 初始化的库中 admin 与 floweradmin 手机号相同，清空 admin 的手机号（与新版 init_data.sql 一致）
+-- =====================================================
+update users
+set phone = null
+where id = 3
+  and username = 'admin'
+  and phone = '13800138000';
+
+alter table users
+    add constraint uk_users_phone
+        unique (phone);
@@ -0,0 +1,178 @@
+package com.flower.shop.benchmark;
+
+import com.flower.shop.FlowerShopApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试用 Spring 上下文
+ *
+ * 默认使用内存 H2（MySQL 兼容模式），以 sql/schema.sql + sql/init_data.sql 建库，
+ * 再按 scale 倍数扩充商品与近 7 天订单；也可通过 -Dbench.jdbc.url 指向已建好的 MySQL。
+ *
+ * 系统属性：
+ * - bench.jdbc.url / bench.jdbc.username / bench.jdbc.password：数据库连接
+ * - bench.sql.dir：建表与初始化脚本目录（默认 sql，相对 flower_server 目录）
+ * - bench.seed：是否建库并灌入数据（H2 默认 true，其他数据库默认 false）
+ */
+public final class BenchmarkContext {
+
+    private static final String H2_URL = "jdbc:h2:mem:flower_shop_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;IGNORE_UNKNOWN_SETTINGS=TRUE;DB_CLOSE_DELAY=-1;"
+            + "INIT=CREATE SCHEMA IF NOT EXISTS flower_shop\\;SET SCHEMA flower_shop";
+
+    /**
+     * scale = 1 时额外生成的近 7 天订单数
+     */
+    private static final int ORDERS_PER_SCALE = 200;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * 准备数据库并启动应用上下文
+     *
+     * @param scale 数据规模倍数（商品数 ≈ 初始商品数 × scale，近 7 天订单数 = 200 × scale）
+     */
+    public static ConfigurableApplicationContext start(int scale) throws SQLException {
+        String url = System.getProperty("bench.jdbc.url", H2_URL);
+        String username = System.getProperty("bench.jdbc.username", "sa");
+        String password = System.getProperty("bench.jdbc.password", "");
+        boolean h2 = url.startsWith("jdbc:h2:");
+
+        if (Boolean.parseBoolean(System.getProperty("bench.seed", String.valueOf(h2)))) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                seed(connection, scale);
+            }
+        }
+
+        return new SpringApplicationBuilder(FlowerShopApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + username,
+                        "spring.datasource.password=" + password,
+                        "spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "com.mysql.cj.jdbc.Driver"),
+                        "logging.level.root=warn",
+                        "logging.level.com.flower.shop=warn",
+                        "flower-shop.logging.slow-sql-threshold-ms=0",
+                        "flower-shop.order.expiry.enabled=false",
+                        "flower-shop.delivery.slot.default-capacity=100000000",
+                        "flower-shop.delivery.slot.capacity.ASAP=100000000")
+                .run();
+    }
+
+    private static void seed(Connection connection, int scale) throws SQLException {
+        Path sqlDir = Path.of(System.getProperty("bench.sql.dir", "sql"));
+        ScriptUtils.executeSqlScript(connection,
+                new EncodedResource(new FileSystemResource(sqlDir.resolve("schema.sql")), StandardCharsets.UTF_8));
+        ScriptUtils.executeSqlScript(connection,
+                new EncodedResource(new FileSystemResource(sqlDir.resolve("init_data.sql")), StandardCharsets.UTF_8));
+
+        try (Statement statement = connection.createStatement()) {
+            long maxSeedId;
+            try (ResultSet rs = statement.executeQuery("SELECT MAX(id) FROM products")) {
+                rs.next();
+                maxSeedId = rs.getLong(1);
+            }
+            for (int copy = 1; copy < scale; copy++) {
+                statement.executeUpdate("INSERT INTO products (name, description, price, original_price, "
+                        + "flower_language, care_guide, category_id, sort_order, stock_quantity, low_stock_threshold, "
+                        + "status, featured, created_at, updated_at) "
+                        + "SELECT CONCAT(name, ' #" + copy + "'), description, price, original_price, "
+                        + "flower_language, care_guide, category_id, sort_order, stock_quantity, low_stock_threshold, "
+                        + "status, featured, created_at, updated_at FROM products WHERE id <= " + maxSeedId);
+            }
+        }
+        seedRecentOrders(connection, ORDERS_PER_SCALE * scale);
+    }
+
+    /**
+     * 生成近 7 天的已完成订单（每单 2 个订单项），供销售趋势、订单查询使用
+     */
+    private static void seedRecentOrders(Connection connection, int orderCount) throws SQLException {
+        List<Long> productIds = new ArrayList<>();
+        List<BigDecimal> prices = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, name, price FROM products WHERE status = 1")) {
+            while (rs.next()) {
+                productIds.add(rs.getLong(1));
+                names.add(rs.getString(2));
+                prices.add(rs.getBigDecimal(3));
+            }
+        }
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement orderInsert = connection.prepareStatement(
+                "INSERT INTO orders (order_no, customer_name, customer_phone, total_amount, delivery_fee, final_amount, "
+                        + "status, payment_status, payment_method, notes, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, 0, ?, 'COMPLETED', 'PAID', 'ON_DELIVERY', ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement itemInsert = connection.prepareStatement(
+                "INSERT INTO order_items (order_id, product_id, product_name, product_price, quantity, total_price) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < orderCount; i++) {
+                int first = random.nextInt(productIds.size());
+                int second = random.nextInt(productIds.size());
+                int quantity = 1 + random.nextInt(3);
+                BigDecimal total = prices.get(first).multiply(BigDecimal.valueOf(quantity)).add(prices.get(second));
+                Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(7 * 24 * 60)));
+
+                orderInsert.setString(1, "BENCH" + System.nanoTime() % 1_000_000_000L + i);
+                orderInsert.setString(2, "压测客户" + (i % 500));
+                orderInsert.setString(3, String.format("139%08d", i % 500));
+                orderInsert.setBigDecimal(4, total);
+                orderInsert.setBigDecimal(5, total);
+                orderInsert.setString(6, "基准测试地址 " + i);
+                orderInsert.setTimestamp(7, createdAt);
+                orderInsert.setTimestamp(8, createdAt);
+                orderInsert.executeUpdate();
+
+                long orderId;
+                try (ResultSet keys = orderInsert.getGeneratedKeys()) {
+                    keys.next();
+                    orderId = keys.getLong(1);
+                }
+                addItem(itemInsert, orderId, productIds.get(first), names.get(first), prices.get(first), quantity);
+                addItem(itemInsert, orderId, productIds.get(second), names.get(second), prices.get(second), 1);
+            }
+            itemInsert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void addItem(PreparedStatement itemInsert, long orderId, long productId, String name,
+            BigDecimal price, int quantity) throws SQLException {
+        itemInsert.setLong(1, orderId);
+        itemInsert.setLong(2, productId);
+        itemInsert.setString(3, name);
+        itemInsert.setBigDecimal(4, price);
+        itemInsert.setInt(5, quantity);
+        itemInsert.setBigDecimal(6, price.multiply(BigDecimal.valueOf(quantity)));
+        itemInsert.addBatch();
+    }
+}
@@ -0,0 +1,111 @@
+package com.flower.shop.benchmark;
+
+import com.flower.shop.util.FileUploadUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * FileUploadUtil.uploadFile 基准：校验、建目录与写盘
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FileUploadBenchmark {
+
+    /**
+     * 上传文件大小（KB）
+     */
+    @Param({ "64", "1024" })
+    public int sizeKb;
+
+    private Path uploadDir;
+    private MultipartFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("flower-upload-bench");
+        byte[] content = new byte[sizeKb * 1024];
+        new Random(42).nextBytes(content);
+        file = new InMemoryMultipartFile("flower.jpg", content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(uploadDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public String uploadFile() throws IOException {
+        return FileUploadUtil.uploadFile(file, uploadDir.toString());
+    }
+
+    /**
+     * 内存中的上传文件（与 Spring 的 StandardMultipartFile 一样，transferTo 直接写目标文件）
+     */
+    private static final class InMemoryMultipartFile implements MultipartFile {
+
+        private final String filename;
+        private final byte[] content;
+
+        private InMemoryMultipartFile(String filename, byte[] content) {
+            this.filename = filename;
+            this.content = content;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return content.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return content.length;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return content;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.write(dest.toPath(), content);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.flower.shop.benchmark;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.flower.shop.common.Result;
+import com.flower.shop.config.JacksonConfig;
+import com.flower.shop.entity.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应序列化基准：一页 12 个商品的搜索结果（Result&lt;IPage&lt;Product&gt;&gt;，与 /products/search 相同）
+ *
+ * - reflection：Spring 默认 ObjectMapper（反射读取属性，按线程缓存缓冲区）
+ * - blackbird：加 BlackbirdModule
+ * - blackbirdPooled：与应用相同的配置（JacksonConfig：BlackbirdModule + 共享缓冲区回收池）
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="JsonSerializationBenchmark -t 4 -rf json -rff target/jmh-result.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    @Param({ "reflection", "blackbird", "blackbirdPooled" })
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private Result<IPage<Product>> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (!"reflection".equals(mapper)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if ("blackbirdPooled".equals(mapper)) {
+            new JacksonConfig().jsonFactoryCustomizer().customize(builder);
+        }
+        objectMapper = builder.build();
+        page = Result.success(buildPage());
+    }
+
+    @Benchmark
+    public byte[] serializeSearchPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static IPage<Product> buildPage() {
+        List<Product> products = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("经典红玫瑰花束 " + i + " 号");
+            product.setCategoryId((long) (i % 4 + 1));
+            product.setCategoryName("玫瑰花束");
+            product.setDescription("精选 11 枝云南红玫瑰，搭配尤加利叶与满天星，牛皮纸与雪梨纸双层包装，附手写贺卡。");
+            product.setPrice(new BigDecimal("199.00").add(BigDecimal.valueOf(i)));
+            product.setOriginalPrice(new BigDecimal("259.00"));
+            product.setStatus(1);
+            product.setFeatured(i % 3 == 0 ? 1 : 0);
+            product.setFlowerLanguage("热恋、真挚的爱、一心一意");
+            product.setCareGuide("收到后斜剪根部 2 厘米，每天换水，避免阳光直射与空调出风口。");
+            product.setStockQuantity(50 + i);
+            product.setLowStockThreshold(10);
+            product.setMainImagePath("/uploads/products/" + i + "/main.jpg");
+            product.setImageList(List.of("/uploads/products/" + i + "/main.jpg",
+                    "/uploads/products/" + i + "/detail-1.jpg", "/uploads/products/" + i + "/detail-2.jpg"));
+            product.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0).plusDays(i));
+            product.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 10, 0).plusHours(i));
+            products.add(product);
+        }
+        Page<Product> page = new Page<>(1, PAGE_SIZE, 120);
+        page.setRecords(products);
+        return page;
+    }
+}
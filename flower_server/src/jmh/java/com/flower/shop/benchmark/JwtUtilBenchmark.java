@@ -0,0 +1,80 @@
+package com.flower.shop.benchmark;
+
+import com.flower.shop.util.BloomFilter;
+import com.flower.shop.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil 基准：签发与 JWT 过滤器中的解析路径（每个请求解析一次令牌并检查吊销列表）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String KEY_ID = "k1";
+
+    private Key key;
+    private JwtParser parser;
+    private String token;
+    private String tokenId;
+    private BloomFilter revoked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = JwtUtil.generateKey();
+        parser = JwtUtil.parser(Map.of(KEY_ID, key));
+        tokenId = UUID.randomUUID().toString();
+        token = generate(tokenId);
+
+        // 吊销列表中有 10 万条其他令牌
+        revoked = BloomFilter.create(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            revoked.put(UUID.randomUUID().toString());
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return generate(tokenId);
+    }
+
+    @Benchmark
+    public String parseUsername() {
+        return JwtUtil.parseToken(parser, token).getSubject();
+    }
+
+    /**
+     * 吊销检查：未吊销令牌只查布隆过滤器
+     */
+    @Benchmark
+    public boolean revocationCheck() {
+        return revoked.mightContain(tokenId);
+    }
+
+    /**
+     * 与 JwtAuthenticationFilter 相同的调用序列：解析一次，读取声明，检查吊销
+     */
+    @Benchmark
+    public boolean filterParsePath() {
+        Claims claims = JwtUtil.parseToken(parser, token);
+        return claims.get(JwtUtil.CLAIM_USER_ID, Long.class) != null
+                && claims.get(JwtUtil.CLAIM_ROLE, String.class) != null
+                && !revoked.mightContain(claims.getId());
+    }
+
+    private String generate(String jti) {
+        return JwtUtil.generateToken("benchmark-user", 4L, "ROLE_CUSTOMER", JwtUtil.TOKEN_TYPE_ACCESS,
+                jti, TimeUnit.HOURS.toMillis(1), KEY_ID, key);
+    }
+}
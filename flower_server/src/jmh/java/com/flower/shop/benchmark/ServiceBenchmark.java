@@ -0,0 +1,116 @@
+package com.flower.shop.benchmark;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.flower.shop.dto.CreateOrderRequest;
+import com.flower.shop.dto.ProductSearchRequest;
+import com.flower.shop.dto.SalesTrendDTO;
+import com.flower.shop.entity.Order;
+import com.flower.shop.entity.Product;
+import com.flower.shop.service.DashboardService;
+import com.flower.shop.service.OrderService;
+import com.flower.shop.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 服务层热点路径基准：下单、销售趋势、商品高级搜索
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="ServiceBenchmark -rf json -rff target/jmh-result.json"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ServiceBenchmark {
+
+    /**
+     * 数据规模倍数
+     */
+    @Param({ "1", "10" })
+    public int scale;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private DashboardService dashboardService;
+    private ProductService productService;
+
+    private CreateOrderRequest orderRequest;
+    private ProductSearchRequest firstPageRequest;
+    private ProductSearchRequest filteredRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start(scale);
+        orderService = context.getBean(OrderService.class);
+        dashboardService = context.getBean(DashboardService.class);
+        productService = context.getBean(ProductService.class);
+
+        orderRequest = buildOrderRequest();
+
+        firstPageRequest = new ProductSearchRequest();
+        firstPageRequest.setStatus(1);
+        firstPageRequest.setCurrent(1);
+        firstPageRequest.setSize(12);
+
+        filteredRequest = new ProductSearchRequest();
+        filteredRequest.setStatus(1);
+        filteredRequest.setKeyword("玫瑰");
+        filteredRequest.setCategoryId(1L);
+        filteredRequest.setSortBy("price");
+        filteredRequest.setSortOrder("asc");
+        filteredRequest.setCurrent(2);
+        filteredRequest.setSize(12);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(orderRequest);
+    }
+
+    @Benchmark
+    public List<SalesTrendDTO> getSalesTrend() {
+        return dashboardService.getSalesTrend();
+    }
+
+    @Benchmark
+    public IPage<Product> searchProductsFirstPage() {
+        return productService.searchProductsAdvanced(firstPageRequest);
+    }
+
+    @Benchmark
+    public IPage<Product> searchProductsFiltered() {
+        return productService.searchProductsAdvanced(filteredRequest);
+    }
+
+    private CreateOrderRequest buildOrderRequest() {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setRecipientName("基准测试");
+        request.setRecipientPhone("13900000000");
+        request.setRecipientAddress("基准测试地址");
+        request.setDeliveryDate(LocalDate.now());
+        request.setDeliveryTime("尽快送达");
+        request.setPaymentMethod("ON_DELIVERY");
+
+        CreateOrderRequest.OrderItemDTO first = new CreateOrderRequest.OrderItemDTO();
+        first.setProductId(11L);
+        first.setQuantity(2);
+        CreateOrderRequest.OrderItemDTO second = new CreateOrderRequest.OrderItemDTO();
+        second.setProductId(17L);
+        second.setQuantity(1);
+        request.setItems(List.of(first, second));
+        return request;
+    }
+}
@@ -0,0 +1,542 @@
+package com.flower.shop.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 规模化测试数据生成器
+ *
+ * 在已建好表结构的库（sql/schema.sql）上追加分类、商品、图片、用户、订单、配送地址与订单项，
+ * 主键由本工具按 MAX(id) 之后连续分配，可重复执行、不会覆盖已有数据。
+ *
+ * 数据分布：
+ * - 商品热度、分类热度、老客复购均为幂律分布（--popularity-exponent，默认 1.0，约二八分布）
+ * - 订单按天加权：周末上浮，情人节（2/14 及前几天）、520、母亲节、七夕、圣诞等节日形成尖峰，
+ *   节日当天订单明显偏向对应主题分类（玫瑰、康乃馨）；一天内按小时曲线分布（午间、晚间高峰）
+ * - 历史订单大多已完成，近 3 天订单分布在待确认/准备中/配送中
+ *
+ * 运行（MySQL，建议先执行 schema.sql + init_data.sql）：
+ *   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.flower.shop.loadtest.DataSeeder \
+ *       -Dbench.args="--url=jdbc:mysql://localhost:3306/flower_shop --password=*** --products=20000 --orders=500000"
+ *
+ * 参数（括号内为默认值）：
+ * --url / --username(root) / --password()：数据库连接
+ * --categories(20)、--products(5000)、--max-images(4)、--users(20000)、--orders(200000)：各表生成量
+ * --days(365)：订单时间跨度（截至今天）；--guest-ratio(0.35)：游客订单占比
+ * --user-password(Passw0rd!)：生成用户的统一登录密码，供 LoadDriver 登录使用
+ * --popularity-exponent(1.0)：商品热度幂律指数，越大越集中
+ * --batch-size(500)：每条 INSERT 的行数；--seed(42)：随机种子
+ *
+ * 生成后启动应用，OrderHistoryService 会在启动时为新订单补齐订单历史投影。
+ */
+public final class DataSeeder {
+
+    private static final String[] FLOWER_NAMES = {
+            "玫瑰", "百合", "康乃馨", "向日葵", "郁金香", "绣球", "满天星", "洋桔梗", "芍药", "马蹄莲",
+            "桔梗", "小雏菊", "非洲菊", "风信子", "蝴蝶兰", "勿忘我", "薰衣草", "栀子花", "茉莉", "牡丹"
+    };
+
+    private static final String[] COLORS = { "红", "粉", "白", "黄", "紫", "香槟", "橙", "蓝" };
+
+    private static final String[] FORMS = { "花束", "花篮", "花盒", "桌花", "瓶插", "抱抱桶", "单支", "礼盒" };
+
+    private static final String[] MEANINGS = {
+            "热烈的爱，真挚的心意", "纯洁与祝福，百年好合", "温馨的母爱与感恩", "阳光、忠诚与希望",
+            "永恒的祝福与美好", "团圆与希望", "思念与守护", "真诚不变的爱"
+    };
+
+    private static final String[] SURNAMES = { "王", "李", "张", "刘", "陈", "杨", "赵", "黄", "周", "吴", "徐", "孙" };
+
+    private static final String[] CITIES = { "朝阳区", "海淀区", "东城区", "西城区", "丰台区", "通州区" };
+
+    private static final String[] CARD_TEXTS = {
+            "情人节快乐，余生请多指教", "妈妈辛苦了，节日快乐", "生日快乐，愿你被世界温柔以待",
+            "祝开业大吉，生意兴隆", "早日康复", "纪念日快乐"
+    };
+
+    private static final String[] SLOTS = { "MORNING", "AFTERNOON", "EVENING", "ASAP" };
+
+    /**
+     * 一天 24 小时的下单权重（午间与晚间高峰）
+     */
+    private static final double[] HOUR_WEIGHTS = {
+            0.2, 0.1, 0.05, 0.05, 0.05, 0.1, 0.3, 0.8, 1.5, 2.2, 2.8, 3.5,
+            3.8, 3.0, 2.5, 2.4, 2.6, 3.0, 3.6, 4.2, 4.5, 3.6, 2.2, 0.8
+    };
+
+    private final CliOptions options;
+
+    private final Random random;
+
+    private final int batchSize;
+
+    private final List<Category> categories = new ArrayList<>();
+
+    private final List<Product> products = new ArrayList<>();
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    private final List<String> userPhones = new ArrayList<>();
+
+    private DataSeeder(CliOptions options) {
+        this.options = options;
+        this.random = new Random(options.getLong("seed", 42));
+        this.batchSize = options.getInt("batch-size", 500);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        CliOptions options = new CliOptions(args);
+        String url = options.get("url", "jdbc:mysql://localhost:3306/flower_shop"
+                + "?useUnicode=true&characterEncoding=utf8&serverTimezone=Asia/Shanghai");
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("username", "root"), options.get("password", ""))) {
+            connection.setAutoCommit(false);
+            new DataSeeder(options).run(connection);
+        }
+    }
+
+    private void run(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        loadExistingCategories(connection);
+        seedCategories(connection, options.getInt("categories", 20));
+        seedProducts(connection, options.getInt("products", 5000), options.getInt("max-images", 4));
+        seedUsers(connection, options.getInt("users", 20000));
+        seedOrders(connection, options.getInt("orders", 200000), options.getInt("days", 365));
+        System.out.printf("数据生成完成，耗时 %.1f 秒%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    // ==================== 分类 ====================
+
+    private void loadExistingCategories(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id, code FROM categories WHERE status = 1")) {
+            while (rs.next()) {
+                categories.add(new Category(rs.getLong(1), rs.getString(2)));
+            }
+        }
+    }
+
+    private void seedCategories(Connection connection, int count) throws SQLException {
+        long nextId = maxId(connection, "categories") + 1;
+        int nextSort = categories.size() + 1;
+        try (MultiRowInserter inserter = new MultiRowInserter(connection, "categories", batchSize,
+                "id", "name", "code", "type", "sort_order", "status", "created_at", "updated_at")) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < count; i++) {
+                long id = nextId++;
+                boolean flower = random.nextDouble() < 0.8;
+                String name = flower
+                        ? COLORS[i % COLORS.length] + FLOWER_NAMES[(i / COLORS.length) % FLOWER_NAMES.length]
+                        : FORMS[i % FORMS.length] + "系列" + (i / FORMS.length + 1);
+                String code = "SEED_C" + id;
+                inserter.add(id, name, code, flower ? "FLOWER" : "PACKAGING", nextSort++, 1, now, now);
+                categories.add(new Category(id, code));
+            }
+            inserter.flush();
+            System.out.printf("categories: +%d%n", inserter.insertedRows());
+        }
+    }
+
+    // ==================== 商品与图片 ====================
+
+    private void seedProducts(Connection connection, int count, int maxImages) throws SQLException {
+        if (categories.isEmpty()) {
+            throw new IllegalStateException("没有可用分类，请先执行 init_data.sql 或指定 --categories");
+        }
+        // 分类热度同样长尾：少数分类（如玫瑰）拥有大部分商品
+        List<Category> rankedCategories = new ArrayList<>(categories);
+        ZipfSampler categorySampler = new ZipfSampler(rankedCategories.size(), 0.8);
+
+        long nextProductId = maxId(connection, "products") + 1;
+        long nextImageId = maxId(connection, "product_images") + 1;
+        LocalDateTime now = LocalDateTime.now();
+        try (MultiRowInserter productInserter = new MultiRowInserter(connection, "products", batchSize,
+                "id", "name", "description", "price", "original_price", "flower_language", "care_guide",
+                "category_id", "sort_order", "stock_quantity", "low_stock_threshold", "status", "featured",
+                "created_at", "updated_at");
+             MultiRowInserter imageInserter = new MultiRowInserter(connection, "product_images", batchSize,
+                "id", "product_id", "image_path", "image_type", "sort_order", "created_at", "updated_at")) {
+            for (int i = 0; i < count; i++) {
+                long id = nextProductId++;
+                Category category = rankedCategories.get(categorySampler.next(random));
+                String flower = FLOWER_NAMES[random.nextInt(FLOWER_NAMES.length)];
+                String name = COLORS[random.nextInt(COLORS.length)] + flower
+                        + FORMS[random.nextInt(FORMS.length)] + " " + id;
+                // 对数正态价格：大部分集中在 99~399，少量高端礼盒
+                BigDecimal price = BigDecimal.valueOf(Math.min(1999, Math.max(19, Math.exp(5.2 + random.nextGaussian() * 0.6))))
+                        .setScale(0, RoundingMode.HALF_UP).subtract(BigDecimal.valueOf(0.01));
+                BigDecimal originalPrice = random.nextDouble() < 0.4
+                        ? price.multiply(BigDecimal.valueOf(1.2)).setScale(2, RoundingMode.HALF_UP)
+                        : null;
+                double stockRoll = random.nextDouble();
+                int stock = stockRoll < 0.05 ? 0 : stockRoll < 0.13 ? 1 + random.nextInt(5) : 10 + random.nextInt(490);
+                int status = random.nextDouble() < 0.95 ? 1 : 0;
+                int featured = random.nextDouble() < 0.03 ? 1 : 0;
+                Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+
+                productInserter.add(id, name, "精选" + flower + "，产地直送，当天采摘。", price, originalPrice,
+                        MEANINGS[random.nextInt(MEANINGS.length)], "每天换水并斜剪根部 1-2 厘米，避免阳光直射。",
+                        category.id(), random.nextInt(100), stock, 5, status, featured, createdAt, createdAt);
+                Product product = new Product(id, name, price, category.id(), status == 1);
+                products.add(product);
+
+                int images = 1 + random.nextInt(Math.max(1, maxImages));
+                for (int sort = 0; sort < images; sort++) {
+                    imageInserter.add(nextImageId++, id, "/uploads/seed/" + id + "_" + sort + ".jpg",
+                            sort == 0 ? 1 : 2, sort, createdAt, createdAt);
+                }
+
+                if (productInserter.pendingRows() >= batchSize) {
+                    productInserter.flush();
+                    imageInserter.flush();
+                }
+            }
+            productInserter.flush();
+            imageInserter.flush();
+            System.out.printf("products: +%d, product_images: +%d%n",
+                    productInserter.insertedRows(), imageInserter.insertedRows());
+        }
+    }
+
+    // ==================== 用户 ====================
+
+    private void seedUsers(Connection connection, int count) throws SQLException {
+        // 所有生成用户共用一个密码哈希，避免逐个 BCrypt 拖慢生成
+        String passwordHash = new BCryptPasswordEncoder().encode(options.get("user-password", "Passw0rd!"));
+        long nextId = maxId(connection, "users") + 1;
+        LocalDateTime now = LocalDateTime.now();
+        try (MultiRowInserter inserter = new MultiRowInserter(connection, "users", batchSize,
+                "id", "username", "password", "email", "phone", "role", "is_active", "last_login",
+                "created_at", "updated_at")) {
+            for (int i = 0; i < count; i++) {
+                long id = nextId++;
+                String username = "seed_u" + id;
+                String phone = phoneFor(id);
+                Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+                Timestamp lastLogin = random.nextDouble() < 0.7
+                        ? Timestamp.valueOf(now.minusMinutes(random.nextInt(30 * 24 * 60)))
+                        : null;
+                inserter.add(id, username, passwordHash, username + "@example.com", phone, "ROLE_CUSTOMER",
+                        random.nextDouble() < 0.98 ? 1 : 0, lastLogin, createdAt, createdAt);
+                userIds.add(id);
+                userPhones.add(phone);
+                if (inserter.pendingRows() >= batchSize) {
+                    inserter.flush();
+                }
+            }
+            inserter.flush();
+            System.out.printf("users: +%d（用户名 seed_u<ID>）%n", inserter.insertedRows());
+        }
+    }
+
+    // ==================== 订单 ====================
+
+    private void seedOrders(Connection connection, int count, int days) throws SQLException {
+        List<Product> online = products.stream().filter(Product::online).toList();
+        if (online.isEmpty() || count <= 0) {
+            return;
+        }
+        // 商品热度与编号无关：打乱后再按排名分配幂律权重
+        List<Product> rankedProducts = new ArrayList<>(online);
+        Collections.shuffle(rankedProducts, random);
+        double exponent = options.getDouble("popularity-exponent", 1.0);
+        ZipfSampler productSampler = new ZipfSampler(rankedProducts.size(), exponent);
+        Map<String, ThemePool> themes = buildThemePools(rankedProducts, exponent);
+        ZipfSampler customerSampler = userIds.isEmpty() ? null : new ZipfSampler(userIds.size(), 0.9);
+        double guestRatio = options.getDouble("guest-ratio", 0.35);
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(days - 1L);
+        double[] dayCumulative = dayWeights(firstDay, days);
+        double[] hourCumulative = cumulative(HOUR_WEIGHTS);
+        String runTag = Long.toString(System.currentTimeMillis() / 1000, 36).toUpperCase();
+
+        long nextOrderId = maxId(connection, "orders") + 1;
+        long nextItemId = maxId(connection, "order_items") + 1;
+        long nextAddressId = maxId(connection, "delivery_addresses") + 1;
+        LocalDateTime now = LocalDateTime.now();
+
+        try (MultiRowInserter orderInserter = new MultiRowInserter(connection, "orders", batchSize,
+                "id", "user_id", "order_no", "customer_name", "customer_phone", "total_amount", "delivery_fee",
+                "final_amount", "status", "payment_status", "payment_method", "notes", "card_content",
+                "card_sender", "delivery_slot", "delivery_start_time", "delivery_end_time", "created_at",
+                "updated_at");
+             MultiRowInserter addressInserter = new MultiRowInserter(connection, "delivery_addresses", batchSize,
+                "id", "order_id", "customer_name", "customer_phone", "address_text", "created_at");
+             MultiRowInserter itemInserter = new MultiRowInserter(connection, "order_items", batchSize,
+                "id", "order_id", "product_id", "product_name", "product_price", "quantity", "total_price",
+                "created_at")) {
+            for (int i = 0; i < count; i++) {
+                long orderId = nextOrderId++;
+                LocalDate day = firstDay.plusDays(pick(dayCumulative));
+                LocalDateTime createdAt = day.atTime(LocalTime.of(pick(hourCumulative), random.nextInt(60),
+                        random.nextInt(60)));
+                if (createdAt.isAfter(now)) {
+                    createdAt = now.minusMinutes(random.nextInt(60));
+                }
+                ThemePool theme = themes.get(themeOf(day));
+
+                // 订单项：1~4 个商品，热门商品更易被选中；节日当天偏向主题分类
+                int lineCount = 1 + (random.nextDouble() < 0.35 ? 1 + random.nextInt(3) : 0);
+                BigDecimal total = BigDecimal.ZERO;
+                Timestamp createdTs = Timestamp.valueOf(createdAt);
+                for (int line = 0; line < lineCount; line++) {
+                    Product product = theme != null && random.nextDouble() < 0.6
+                            ? theme.products().get(theme.sampler().next(random))
+                            : rankedProducts.get(productSampler.next(random));
+                    int quantity = theme != null ? 1 + random.nextInt(3) : random.nextDouble() < 0.8 ? 1 : 2;
+                    BigDecimal lineTotal = product.price().multiply(BigDecimal.valueOf(quantity));
+                    total = total.add(lineTotal);
+                    itemInserter.add(nextItemId++, orderId, product.id(), product.name(), product.price(),
+                            quantity, lineTotal, createdTs);
+                }
+
+                BigDecimal deliveryFee = total.compareTo(BigDecimal.valueOf(199)) >= 0
+                        ? BigDecimal.ZERO : BigDecimal.valueOf(10);
+                Long userId = null;
+                String phone;
+                if (customerSampler != null && random.nextDouble() >= guestRatio) {
+                    int rank = customerSampler.next(random);
+                    userId = userIds.get(rank);
+                    phone = userPhones.get(rank);
+                } else {
+                    phone = "13" + String.format("%09d", random.nextInt(1_000_000_000));
+                }
+                String customerName = SURNAMES[random.nextInt(SURNAMES.length)] + (random.nextBoolean() ? "先生" : "女士");
+                String[] state = orderState(createdAt, now);
+                String slot = SLOTS[random.nextInt(SLOTS.length)];
+                LocalDateTime[] window = deliveryWindow(slot, createdAt);
+                boolean withCard = theme != null || random.nextDouble() < 0.3;
+
+                orderInserter.add(orderId, userId, "SD" + runTag + String.format("%09d", i), customerName, phone,
+                        total, deliveryFee, total.add(deliveryFee), state[0], state[1], state[2], null,
+                        withCard ? CARD_TEXTS[random.nextInt(CARD_TEXTS.length)] : null,
+                        withCard ? customerName : null, slot, Timestamp.valueOf(window[0]),
+                        Timestamp.valueOf(window[1]), createdTs, createdTs);
+                addressInserter.add(nextAddressId++, orderId, customerName, phone,
+                        "北京市" + CITIES[random.nextInt(CITIES.length)] + "花园路 " + (1 + random.nextInt(300)) + " 号",
+                        createdTs);
+
+                // 先落订单，再落依赖订单的地址与订单项（外键）
+                if (orderInserter.pendingRows() >= batchSize) {
+                    orderInserter.flush();
+                    addressInserter.flush();
+                    itemInserter.flush();
+                    if (orderInserter.insertedRows() % (batchSize * 100L) == 0) {
+                        System.out.printf("orders: %d / %d%n", orderInserter.insertedRows(), count);
+                    }
+                }
+            }
+            orderInserter.flush();
+            addressInserter.flush();
+            itemInserter.flush();
+            System.out.printf("orders: +%d, delivery_addresses: +%d, order_items: +%d%n",
+                    orderInserter.insertedRows(), addressInserter.insertedRows(), itemInserter.insertedRows());
+        }
+    }
+
+    /**
+     * 节日主题商品池：情人节、520、七夕偏向玫瑰，母亲节偏向康乃馨
+     */
+    private Map<String, ThemePool> buildThemePools(List<Product> rankedProducts, double exponent) {
+        Map<Long, String> themeByCategory = new HashMap<>();
+        for (Category category : categories) {
+            if ("ROSE".equals(category.code())) {
+                themeByCategory.put(category.id(), "ROSE");
+            } else if ("CARNATION".equals(category.code())) {
+                themeByCategory.put(category.id(), "CARNATION");
+            }
+        }
+        Map<String, List<Product>> grouped = new HashMap<>();
+        for (Product product : rankedProducts) {
+            String theme = themeByCategory.get(product.categoryId());
+            if (theme != null) {
+                grouped.computeIfAbsent(theme, key -> new ArrayList<>()).add(product);
+            }
+        }
+        Map<String, ThemePool> pools = new HashMap<>();
+        grouped.forEach((theme, list) -> pools.put(theme, new ThemePool(list, new ZipfSampler(list.size(), exponent))));
+        return pools;
+    }
+
+    /**
+     * 按日期计算下单权重，返回累计分布
+     */
+    private double[] dayWeights(LocalDate firstDay, int days) {
+        double[] weights = new double[days];
+        for (int i = 0; i < days; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            double weight = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY ? 1.3 : 1.0;
+            weights[i] = weight * festivalMultiplier(day);
+        }
+        return cumulative(weights);
+    }
+
+    private double festivalMultiplier(LocalDate day) {
+        if (day.getMonth() == Month.FEBRUARY) {
+            int dom = day.getDayOfMonth();
+            if (dom == 14) {
+                return 15;
+            }
+            if (dom >= 10 && dom <= 13) {
+                return 2 + (dom - 10) * 1.5;
+            }
+        }
+        if (day.getMonth() == Month.MAY && day.getDayOfMonth() == 20) {
+            return 5;
+        }
+        LocalDate mothersDay = day.withMonth(5).withDayOfMonth(1)
+                .with(TemporalAdjusters.dayOfWeekInMonth(2, DayOfWeek.SUNDAY));
+        if (day.equals(mothersDay)) {
+            return 8;
+        }
+        if (day.isBefore(mothersDay) && !day.isBefore(mothersDay.minusDays(2))) {
+            return 3;
+        }
+        // 七夕为农历七月初七，按近年公历日期取值
+        if (day.getMonth() == Month.AUGUST && day.getDayOfMonth() == qixiDay(day.getYear())) {
+            return 6;
+        }
+        if (day.getMonth() == Month.DECEMBER && (day.getDayOfMonth() == 24 || day.getDayOfMonth() == 25)) {
+            return 2.5;
+        }
+        return 1;
+    }
+
+    private String themeOf(LocalDate day) {
+        if (day.getMonth() == Month.FEBRUARY && day.getDayOfMonth() >= 12 && day.getDayOfMonth() <= 14) {
+            return "ROSE";
+        }
+        if (day.getMonth() == Month.MAY && day.getDayOfMonth() == 20) {
+            return "ROSE";
+        }
+        if (day.getMonth() == Month.AUGUST && day.getDayOfMonth() == qixiDay(day.getYear())) {
+            return "ROSE";
+        }
+        LocalDate mothersDay = day.withMonth(5).withDayOfMonth(1)
+                .with(TemporalAdjusters.dayOfWeekInMonth(2, DayOfWeek.SUNDAY));
+        if (!day.isAfter(mothersDay) && !day.isBefore(mothersDay.minusDays(2))) {
+            return "CARNATION";
+        }
+        return null;
+    }
+
+    /**
+     * 近年七夕的公历日期（8 月），未覆盖的年份取 8 月 15 日近似
+     */
+    private static int qixiDay(int year) {
+        return switch (year) {
+            case 2024 -> 10;
+            case 2025 -> 29;
+            case 2026 -> 19;
+            case 2027 -> 8;
+            default -> 15;
+        };
+    }
+
+    /**
+     * 订单状态、支付状态、支付方式
+     */
+    private String[] orderState(LocalDateTime createdAt, LocalDateTime now) {
+        double payRoll = random.nextDouble();
+        String paymentMethod = payRoll < 0.45 ? "WECHAT" : payRoll < 0.9 ? "ALIPAY" : "ON_DELIVERY";
+        double roll = random.nextDouble();
+        if (createdAt.isBefore(now.minusDays(3))) {
+            if (roll < 0.92) {
+                return new String[] { "COMPLETED", "PAID", paymentMethod };
+            }
+            return new String[] { "CANCELLED", roll < 0.97 ? "PENDING" : "REFUNDED", paymentMethod };
+        }
+        if (roll < 0.25) {
+            return new String[] { "PENDING", "PENDING", paymentMethod };
+        }
+        if (roll < 0.5) {
+            return new String[] { "PREPARING", "PAID", paymentMethod };
+        }
+        if (roll < 0.7) {
+            return new String[] { "DELIVERING", "PAID", paymentMethod };
+        }
+        if (roll < 0.95) {
+            return new String[] { "COMPLETED", "PAID", paymentMethod };
+        }
+        return new String[] { "CANCELLED", "PENDING", paymentMethod };
+    }
+
+    private LocalDateTime[] deliveryWindow(String slot, LocalDateTime createdAt) {
+        if ("ASAP".equals(slot)) {
+            return new LocalDateTime[] { createdAt, createdAt.plusHours(2) };
+        }
+        LocalDate date = createdAt.toLocalDate().plusDays(1 + random.nextInt(2));
+        return switch (slot) {
+            case "MORNING" -> new LocalDateTime[] { date.atTime(9, 0), date.atTime(12, 0) };
+            case "AFTERNOON" -> new LocalDateTime[] { date.atTime(12, 0), date.atTime(18, 0) };
+            default -> new LocalDateTime[] { date.atTime(18, 0), date.atTime(21, 0) };
+        };
+    }
+
+    // ==================== 工具方法 ====================
+
+    private int pick(double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] result = new double[weights.length];
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            result[i] = running / sum;
+        }
+        return result;
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * 按用户ID生成唯一手机号（19 开头，避免与真实测试数据冲突）
+     */
+    private static String phoneFor(long userId) {
+        return "19" + String.format("%09d", userId % 1_000_000_000L);
+    }
+
+    private record Category(long id, String code) {
+    }
+
+    private record Product(long id, String name, BigDecimal price, long categoryId, boolean online) {
+    }
+
+    private record ThemePool(List<Product> products, ZipfSampler sampler) {
+    }
+}
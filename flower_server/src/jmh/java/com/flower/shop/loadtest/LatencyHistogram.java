@@ -0,0 +1,94 @@
+package com.flower.shop.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁延迟直方图（微秒）
+ *
+ * 对数分桶：64 微秒以内逐微秒计数，之后每个 2 的幂区间再细分 32 个子桶，相对误差约 3%；
+ * 记录只是一次 AtomicLongArray 自增，数千并发下不会成为压测端瓶颈。
+ */
+final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAdder sumMicros = new LongAdder();
+
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        sumMicros.add(value);
+        if (value > maxMicros.get()) {
+            maxMicros.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    double meanMillis() {
+        long count = total.sum();
+        return count == 0 ? 0 : sumMicros.sum() / 1000.0 / count;
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * 百分位延迟（毫秒），percentile 取值 0~100
+     */
+    double percentileMillis(double percentile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= Math.max(1, target)) {
+                return Math.min(valueOf(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_BUCKETS + (msb - 6) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * 桶的代表值（桶区间中点）
+     */
+    private static long valueOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int msb = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 6;
+        int sub = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (msb - SUB_BUCKET_BITS);
+        return (1L << msb) + sub * width + width / 2;
+    }
+}
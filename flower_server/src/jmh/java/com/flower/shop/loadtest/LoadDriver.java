@@ -0,0 +1,415 @@
+package com.flower.shop.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 可脚本化的 HTTP 压测驱动
+ *
+ * 每个虚拟用户（虚拟线程）循环执行按权重抽取的会话脚本，逐接口统计吞吐与延迟分位数：
+ * - browse：分类列表 → 商品搜索（随机分类/排序/页码）→ 1~2 个商品详情
+ * - checkout：browse 之后询价并下单
+ * - customer：会员登录 → 我的订单 → 商品搜索（需 --user-id-from/--user-id-to，对应 DataSeeder 生成的 seed_u&lt;ID&gt;）
+ * - admin：管理员登录一次后复用 Token，依次访问仪表盘统计、销售趋势、最近订单、订单搜索与订单详情
+ *
+ * 运行：
+ *   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.flower.shop.loadtest.LoadDriver \
+ *       -Dbench.args="--scenario=mixed --concurrency=500 --duration=120 --admin-password=*** --report=target/load-report.json"
+ *
+ * 参数（括号内为默认值）：
+ * --base-url(http://localhost:8080/api)
+ * --scenario(mixed)：storefront / admin / mixed 预设权重，或用 --mix=browse:80,checkout:5,customer:10,admin:5 自定义
+ * --concurrency(200)：并发虚拟用户数；--duration(60)、--warmup(10)：压测与预热秒数（预热期间不计入统计）
+ * --think-ms(0)：两个请求之间的思考时间；--timeout-ms(10000)：单请求超时
+ * --admin-username(admin) / --admin-password：admin 会话使用的管理员账号
+ * --user-id-from / --user-id-to / --user-password(Passw0rd!)：customer 会话登录的用户范围
+ * --report：JSON 报告输出路径（可选）
+ *
+ * 下单会占用配送时段容量，checkout 权重较高时应调大服务端
+ * flower-shop.delivery.slot.default-capacity，否则大量请求会以业务错误返回。
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String[] SORT_FIELDS = { "created_at", "price", "sales" };
+
+    private static final String[] DELIVERY_TIMES = { "09:00-12:00", "12:00-18:00", "18:00-21:00" };
+
+    private final CliOptions options;
+
+    private final String baseUrl;
+
+    private final HttpClient client;
+
+    private final Duration timeout;
+
+    private final long thinkMillis;
+
+    private final Map<String, Integer> mix;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    private volatile boolean recording;
+
+    private volatile String adminToken;
+
+    private LoadDriver(CliOptions options) {
+        this.options = options;
+        this.baseUrl = options.get("base-url", "http://localhost:8080/api");
+        this.timeout = Duration.ofMillis(options.getLong("timeout-ms", 10_000));
+        this.thinkMillis = options.getLong("think-ms", 0);
+        this.mix = parseMix(options);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver(new CliOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        int concurrency = options.getInt("concurrency", 200);
+        long warmupSeconds = options.getLong("warmup", 10);
+        long durationSeconds = options.getLong("duration", 60);
+
+        prepare();
+        System.out.printf("会话权重 %s，并发 %d，预热 %ds，压测 %ds%n", mix, concurrency, warmupSeconds, durationSeconds);
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + durationSeconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> runUser(end));
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+            recording = true;
+            long measureStart = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+            recording = false;
+            double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+            report(elapsedSeconds);
+        }
+    }
+
+    /**
+     * 预取分类，并在需要时登录管理员
+     */
+    private void prepare() throws IOException, InterruptedException {
+        JsonNode categories = send("categories", HttpRequest.newBuilder(uri("/categories/list")).GET(), null);
+        if (categories != null) {
+            for (JsonNode category : categories.path("data")) {
+                categoryIds.add(category.path("id").asLong());
+            }
+        }
+        if (mix.containsKey("admin") && options.get("admin-password", null) == null) {
+            System.out.println("未指定 --admin-password，跳过 admin 会话");
+            mix.remove("admin");
+        }
+        if (mix.containsKey("customer") && options.getLong("user-id-to", 0) <= 0) {
+            System.out.println("未指定 --user-id-from / --user-id-to，跳过 customer 会话");
+            mix.remove("customer");
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalStateException("没有可执行的会话");
+        }
+        if (mix.containsKey("admin")) {
+            ObjectNode login = MAPPER.createObjectNode()
+                    .put("username", options.get("admin-username", "admin"))
+                    .put("password", options.get("admin-password", null));
+            JsonNode response = post("admin.login", "/admin/auth/login", login, null);
+            adminToken = response != null ? response.path("data").path("token").asText(null) : null;
+            if (adminToken == null) {
+                throw new IllegalStateException("管理员登录失败，请检查 --admin-username / --admin-password");
+            }
+        }
+    }
+
+    private void runUser(long end) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        while (System.nanoTime() < end) {
+            int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+            String session = null;
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    session = entry.getKey();
+                    break;
+                }
+            }
+            try {
+                switch (session) {
+                    case "browse" -> browse(null);
+                    case "checkout" -> checkout();
+                    case "customer" -> customer();
+                    case "admin" -> admin();
+                    default -> throw new IllegalStateException("未知会话: " + session);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 单个会话失败已计入接口错误数，继续下一轮
+            }
+        }
+    }
+
+    // ==================== 会话脚本 ====================
+
+    private List<JsonNode> browse(String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        send("categories.list", HttpRequest.newBuilder(uri("/categories/list")).GET(), token);
+        think();
+
+        ObjectNode search = MAPPER.createObjectNode()
+                .put("status", 1)
+                .put("current", random.nextDouble() < 0.7 ? 1 : 2 + random.nextInt(4))
+                .put("size", 12)
+                .put("sortBy", SORT_FIELDS[random.nextInt(SORT_FIELDS.length)])
+                .put("sortOrder", "desc");
+        if (!categoryIds.isEmpty() && random.nextDouble() < 0.6) {
+            search.put("categoryId", categoryIds.get(random.nextInt(categoryIds.size())));
+        }
+        JsonNode page = post("products.search", "/products/search", search, token);
+        List<JsonNode> records = new ArrayList<>();
+        if (page != null) {
+            page.path("data").path("records").forEach(records::add);
+        }
+        think();
+
+        // 列表靠前的商品被点开的概率更高
+        int details = records.isEmpty() ? 0 : 1 + random.nextInt(2);
+        for (int i = 0; i < details; i++) {
+            int index = Math.min(records.size() - 1, (int) (records.size() * Math.pow(random.nextDouble(), 2)));
+            send("products.detail", HttpRequest.newBuilder(uri("/products/" + records.get(index).path("id").asLong()))
+                    .GET(), token);
+            think();
+        }
+        return records;
+    }
+
+    private void checkout() throws IOException, InterruptedException {
+        List<JsonNode> records = browse(null);
+        if (records.isEmpty()) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode quote = MAPPER.createObjectNode();
+        ArrayNode items = quote.putArray("items");
+        items.addObject()
+                .put("productId", records.get(random.nextInt(records.size())).path("id").asLong())
+                .put("quantity", 1 + random.nextInt(2));
+        post("orders.quote", "/orders/quote", quote, null);
+        think();
+
+        ObjectNode order = MAPPER.createObjectNode()
+                .put("recipientName", "压测客户")
+                .put("recipientPhone", "13" + String.format("%09d", random.nextInt(1_000_000_000)))
+                .put("recipientAddress", "北京市朝阳区压测路 " + random.nextInt(1000) + " 号")
+                .put("deliveryDate", LocalDate.now().plusDays(1 + random.nextInt(5)).toString())
+                .put("deliveryTime", DELIVERY_TIMES[random.nextInt(DELIVERY_TIMES.length)])
+                .put("paymentMethod", random.nextBoolean() ? "WECHAT" : "ALIPAY");
+        order.set("items", items);
+        post("orders.create", "/orders", order, null);
+    }
+
+    private void customer() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long from = options.getLong("user-id-from", 1);
+        long to = options.getLong("user-id-to", from);
+        ObjectNode login = MAPPER.createObjectNode()
+                .put("username", "seed_u" + random.nextLong(from, to + 1))
+                .put("password", options.get("user-password", "Passw0rd!"));
+        JsonNode response = post("auth.login", "/auth/login", login, null);
+        String token = response != null ? response.path("data").path("token").asText(null) : null;
+        if (token == null) {
+            return;
+        }
+        think();
+        send("orders.my", HttpRequest.newBuilder(uri("/orders/my?page=1&size=10")).GET(), token);
+        think();
+        browse(token);
+    }
+
+    private void admin() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        send("dashboard.stats", HttpRequest.newBuilder(uri("/dashboard/stats")).GET(), adminToken);
+        send("dashboard.salesTrend", HttpRequest.newBuilder(uri("/dashboard/sales-trend")).GET(), adminToken);
+        send("dashboard.recentOrders", HttpRequest.newBuilder(uri("/dashboard/recent-orders")).GET(), adminToken);
+        think();
+
+        ObjectNode search = MAPPER.createObjectNode()
+                .put("page", random.nextDouble() < 0.6 ? 1 : 2 + random.nextInt(20))
+                .put("size", 10);
+        if (random.nextDouble() < 0.3) {
+            search.put("status", random.nextBoolean() ? "PENDING" : "COMPLETED");
+        }
+        JsonNode page = post("orders.search", "/orders/search", search, adminToken);
+        think();
+
+        JsonNode records = page != null ? page.path("data").path("records") : null;
+        if (records != null && records.size() > 0) {
+            long orderId = records.get(random.nextInt(records.size())).path("id").asLong();
+            send("orders.detail", HttpRequest.newBuilder(uri("/orders/" + orderId)).GET(), adminToken);
+            think();
+        }
+
+        ObjectNode productSearch = MAPPER.createObjectNode()
+                .put("current", 1 + random.nextInt(5))
+                .put("size", 20)
+                .put("sortBy", "stock_quantity")
+                .put("sortOrder", "asc");
+        post("admin.products.search", "/products/search", productSearch, adminToken);
+        think();
+    }
+
+    // ==================== HTTP 与统计 ====================
+
+    private JsonNode post(String endpoint, String path, JsonNode body, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)));
+        return send(endpoint, builder, token);
+    }
+
+    /**
+     * 发送请求并记录延迟；HTTP 非 2xx 或 Result.code != 200 计为错误，返回 null
+     */
+    private JsonNode send(String endpoint, HttpRequest.Builder builder, String token)
+            throws IOException, InterruptedException {
+        builder.timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        EndpointStats endpointStats = recording ? stats.computeIfAbsent(endpoint, key -> new EndpointStats()) : null;
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long micros = (System.nanoTime() - start) / 1000;
+            JsonNode body = response.statusCode() / 100 == 2 ? MAPPER.readTree(response.body()) : null;
+            boolean ok = body != null && body.path("code").asInt() == 200;
+            if (endpointStats != null) {
+                endpointStats.latency.record(micros);
+                if (!ok) {
+                    endpointStats.errors.increment();
+                }
+            }
+            return ok ? body : null;
+        } catch (IOException e) {
+            if (endpointStats != null) {
+                endpointStats.latency.record((System.nanoTime() - start) / 1000);
+                endpointStats.errors.increment();
+            }
+            throw e;
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        Map<String, EndpointStats> sorted = new TreeMap<>(stats);
+        long totalCount = 0;
+        long totalErrors = 0;
+        System.out.printf("%n%-24s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("durationSeconds", elapsedSeconds);
+        ObjectNode endpoints = json.putObject("endpoints");
+        for (Map.Entry<String, EndpointStats> entry : sorted.entrySet()) {
+            LatencyHistogram latency = entry.getValue().latency;
+            long count = latency.count();
+            long errors = entry.getValue().errors.sum();
+            totalCount += count;
+            totalErrors += errors;
+            System.out.printf("%-24s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), count, errors, count / elapsedSeconds,
+                    latency.percentileMillis(50), latency.percentileMillis(90), latency.percentileMillis(99),
+                    latency.percentileMillis(99.9), latency.maxMillis());
+            endpoints.putObject(entry.getKey())
+                    .put("requests", count)
+                    .put("errors", errors)
+                    .put("throughput", count / elapsedSeconds)
+                    .put("meanMs", latency.meanMillis())
+                    .put("p50Ms", latency.percentileMillis(50))
+                    .put("p90Ms", latency.percentileMillis(90))
+                    .put("p99Ms", latency.percentileMillis(99))
+                    .put("p999Ms", latency.percentileMillis(99.9))
+                    .put("maxMs", latency.maxMillis());
+        }
+        System.out.printf("%n合计 %d 请求，%d 错误，吞吐 %.1f req/s%n", totalCount, totalErrors, totalCount / elapsedSeconds);
+        json.put("requests", totalCount).put("errors", totalErrors).put("throughput", totalCount / elapsedSeconds);
+
+        String reportPath = options.get("report", null);
+        if (reportPath != null) {
+            Path path = Path.of(reportPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), json);
+            System.out.println("报告已写入 " + path.toAbsolutePath());
+        }
+    }
+
+    private static Map<String, Integer> parseMix(CliOptions options) {
+        String preset = switch (options.get("scenario", "mixed")) {
+            case "storefront" -> "browse:85,checkout:5,customer:10";
+            case "admin" -> "admin:100";
+            case "mixed" -> "browse:80,checkout:5,customer:10,admin:5";
+            default -> throw new IllegalArgumentException("未知场景: " + options.get("scenario", ""));
+        };
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : options.get("mix", preset).split(",")) {
+            String[] pair = part.split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(pair[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("会话权重不能全为 0");
+        }
+        return weights;
+    }
+
+    private static final class EndpointStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder errors = new LongAdder();
+    }
+}
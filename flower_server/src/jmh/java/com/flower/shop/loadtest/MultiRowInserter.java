@@ -0,0 +1,112 @@
+package com.flower.shop.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多行 INSERT 批量写入
+ *
+ * 行先缓存在内存中，flush 时按 batchSize 拼成 INSERT ... VALUES (...),(...) 一次执行，
+ * 满批语句只 prepare 一次反复复用；每次 flush 后提交，避免大事务撑爆 undo log。
+ */
+final class MultiRowInserter implements AutoCloseable {
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final int batchSize;
+
+    private final List<Object[]> pending = new ArrayList<>();
+
+    private PreparedStatement fullBatchStatement;
+
+    private long inserted;
+
+    MultiRowInserter(Connection connection, String table, int batchSize, String... columns) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.batchSize = batchSize;
+    }
+
+    void add(Object... row) {
+        if (row.length != columns.length) {
+            throw new IllegalArgumentException(table + " 列数不匹配: 期望 " + columns.length + "，实际 " + row.length);
+        }
+        pending.add(row);
+    }
+
+    int pendingRows() {
+        return pending.size();
+    }
+
+    long insertedRows() {
+        return inserted;
+    }
+
+    void flush() throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        int offset = 0;
+        while (pending.size() - offset >= batchSize) {
+            if (fullBatchStatement == null) {
+                fullBatchStatement = connection.prepareStatement(buildSql(batchSize));
+            }
+            execute(fullBatchStatement, offset, batchSize);
+            offset += batchSize;
+        }
+        int rest = pending.size() - offset;
+        if (rest > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(buildSql(rest))) {
+                execute(statement, offset, rest);
+            }
+        }
+        pending.clear();
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    private void execute(PreparedStatement statement, int offset, int rows) throws SQLException {
+        int parameter = 1;
+        for (int i = offset; i < offset + rows; i++) {
+            for (Object value : pending.get(i)) {
+                statement.setObject(parameter++, value);
+            }
+        }
+        statement.executeUpdate();
+        inserted += rows;
+    }
+
+    private String buildSql(int rows) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columns.length; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (fullBatchStatement != null) {
+            fullBatchStatement.close();
+        }
+    }
+}
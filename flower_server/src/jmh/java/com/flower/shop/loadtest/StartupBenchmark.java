@@ -0,0 +1,178 @@
+package com.flower.shop.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 启动耗时基准
+ *
+ * 多次冷启动后端进程，从进程创建到目标接口首次返回 2xx 记为首请求耗时（time-to-first-request），
+ * 同时解析 Spring Boot 日志中的 "Started ... in X seconds"，分别输出最小值、中位数、平均值与最大值。
+ * 用同一组参数对比普通 jar 与 AppCDS + AOT 启动（见 docker/backend/Dockerfile）：
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.flower.shop.loadtest.StartupBenchmark \
+ *       -Dbench.args="--command=java --args=-jar,target/flower-shop-1.0.0.jar --runs=5"
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Dbench.main=com.flower.shop.loadtest.StartupBenchmark \
+ *       -Dbench.args="--command=docker --args=run,--rm,--network=host,--env-file=.env,flower-backend --runs=5"
+ *
+ * 参数（括号内为默认值）：
+ * --command(java)：启动命令；--args：命令参数，逗号分隔（bench.args 以空格拆分，参数内不能含空格）
+ * --url(http://localhost:8080/api/categories/list)：首请求地址，需要数据库可用
+ * --runs(5)：启动次数；--timeout-seconds(120)：单次启动超时
+ * --poll-ms(20)：探测间隔；--cooldown-ms(2000)：两次启动之间等待端口释放的时间
+ * --report：JSON 报告输出路径（可选）
+ */
+public final class StartupBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Pattern STARTED_PATTERN = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final CliOptions options;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark(CliOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(new CliOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(options.get("command", "java"));
+        String commandArgs = options.get("args", "");
+        if (!commandArgs.isEmpty()) {
+            command.addAll(Arrays.asList(commandArgs.split(",")));
+        }
+        URI url = URI.create(options.get("url", "http://localhost:8080/api/categories/list"));
+        int runs = options.getInt("runs", 5);
+        long cooldownMs = options.getLong("cooldown-ms", 2000);
+
+        System.out.printf("启动命令 %s，探测 %s，共 %d 次%n", String.join(" ", command), url, runs);
+        List<StartupResult> results = new ArrayList<>();
+        for (int i = 1; i <= runs; i++) {
+            StartupResult result = measure(command, url);
+            results.add(result);
+            System.out.printf("第 %d 次：首请求 %d ms，Spring 报告启动 %s%n", i, result.firstRequestMillis,
+                    result.startedSeconds >= 0 ? String.format("%.3f s", result.startedSeconds) : "未知");
+            Thread.sleep(cooldownMs);
+        }
+        report(command, url, results);
+    }
+
+    private StartupResult measure(List<String> command, URI url) throws IOException, InterruptedException {
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(options.getLong("timeout-seconds", 120));
+        long pollMillis = options.getLong("poll-ms", 20);
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        double[] startedSeconds = { -1 };
+        Thread reader = Thread.ofVirtual().start(() -> readOutput(process, startedSeconds));
+        try {
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("进程已退出，退出码 " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        // 等待启动日志输出完整
+                        reader.join(Duration.ofMillis(500));
+                        return new StartupResult(millis, startedSeconds[0]);
+                    }
+                } catch (IOException e) {
+                    // 端口尚未监听，继续探测
+                }
+                Thread.sleep(pollMillis);
+            }
+            throw new IllegalStateException("启动超时：" + url + " 未在限定时间内返回 2xx");
+        } finally {
+            stop(process);
+        }
+    }
+
+    private static void readOutput(Process process, double[] startedSeconds) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED_PATTERN.matcher(line);
+                if (startedSeconds[0] < 0 && matcher.find()) {
+                    startedSeconds[0] = Double.parseDouble(matcher.group(1));
+                }
+            }
+        } catch (IOException e) {
+            // 进程被结束，输出流关闭
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void report(List<String> command, URI url, List<StartupResult> results) throws IOException {
+        long[] firstRequest = results.stream().mapToLong(StartupResult::firstRequestMillis).sorted().toArray();
+        double[] started = results.stream().mapToDouble(StartupResult::startedSeconds).filter(s -> s >= 0).sorted().toArray();
+
+        System.out.printf("%n%-22s %9s %9s %9s %9s%n", "", "min", "median", "mean", "max");
+        System.out.printf("%-22s %9d %9d %9.0f %9d%n", "首请求(ms)", firstRequest[0], firstRequest[firstRequest.length / 2],
+                Arrays.stream(firstRequest).average().orElse(0), firstRequest[firstRequest.length - 1]);
+        if (started.length > 0) {
+            System.out.printf("%-22s %9.3f %9.3f %9.3f %9.3f%n", "Spring 启动(s)", started[0], started[started.length / 2],
+                    Arrays.stream(started).average().orElse(0), started[started.length - 1]);
+        }
+
+        String reportPath = options.get("report", null);
+        if (reportPath != null) {
+            ObjectNode json = MAPPER.createObjectNode();
+            json.put("command", String.join(" ", command));
+            json.put("url", url.toString());
+            json.put("firstRequestMedianMs", firstRequest[firstRequest.length / 2]);
+            ArrayNode runs = json.putArray("runs");
+            for (StartupResult result : results) {
+                runs.addObject()
+                        .put("firstRequestMs", result.firstRequestMillis)
+                        .put("startedSeconds", result.startedSeconds);
+            }
+            Path path = Path.of(reportPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), json);
+            System.out.println("报告已写入 " + path.toAbsolutePath());
+        }
+    }
+
+    private record StartupResult(long firstRequestMillis, double startedSeconds) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.flower.shop.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 幂律（Zipf）抽样器
+ *
+ * 第 k 名被抽中的权重为 1 / k^exponent；exponent ≈ 1 时约 20% 的元素承担 80% 的抽样，
+ * 用于模拟商品热度、老客复购等长尾分布。预先计算累计权重，抽样为一次二分查找。
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("抽样集合不能为空");
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    /**
+     * 返回排名下标（0 为最热）
+     */
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
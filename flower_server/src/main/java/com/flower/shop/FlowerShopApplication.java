@@ -3,12 +3,16 @@ package com.flower.shop;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 【花言花语】鲜花售卖系统 - 启动类
  */
 @SpringBootApplication
 @MapperScan("com.flower.shop.mapper")
+@EnableScheduling
+@EnableAsync
 public class FlowerShopApplication {
 
     public static void main(String[] args) {
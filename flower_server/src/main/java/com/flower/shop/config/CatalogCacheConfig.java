@@ -0,0 +1,54 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 商品目录读接口缓存配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.catalog-cache")
+public class CatalogCacheConfig {
+
+    /**
+     * 是否为目录读接口生成 ETag 并处理 If-None-Match
+     */
+    private boolean etagEnabled = true;
+
+    /**
+     * 按销量排序的结果随订单变化而不随目录版本变化，ETag 额外按该时间窗口（秒）滚动
+     */
+    private long salesWindowSeconds = 60;
+
+    /**
+     * 从数据库同步目录版本的间隔（毫秒）：其他节点的目录变更在该时间内反映到本节点的 ETag 与响应缓存
+     */
+    private long versionSyncIntervalMs = 5000;
+
+    /**
+     * 是否为匿名目录读请求启用服务端响应缓存
+     */
+    private boolean responseCacheEnabled = true;
+
+    /**
+     * 响应缓存总字节数上限（KB），超出时淘汰最久未访问的条目
+     */
+    private long responseCacheMaxKb = 64 * 1024;
+
+    /**
+     * 单个响应可缓存的最大字节数（KB），超出的大分页结果不缓存
+     */
+    private long responseCacheMaxEntryKb = 512;
+
+    /**
+     * 缓存条目最长存活时间（秒），兜底直接改库等未经服务层的目录变更
+     */
+    private long responseCacheTtlSeconds = 300;
+
+    /**
+     * 同一请求并发未命中时，跟随请求等待首个请求结果的最长时间（毫秒），超时后自行查询
+     */
+    private long responseCacheCoalesceWaitMs = 3000;
+}
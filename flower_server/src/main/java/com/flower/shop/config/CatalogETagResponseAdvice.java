@@ -0,0 +1,48 @@
+package com.flower.shop.config;
+
+import com.flower.shop.common.Result;
+import com.flower.shop.filter.CatalogETagFilter;
+import com.flower.shop.filter.CatalogResponseCacheFilter;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 目录读接口 ETag 响应头与响应缓存标记
+ *
+ * 只有业务成功（code 200）的响应才写入 ETag、才允许进入服务端响应缓存：
+ * 查询失败的临时错误不能被客户端按 304 复用，也不能缓存给其他访客。
+ * Cache-Control: no-cache 允许浏览器保存响应，但每次使用前都要带 If-None-Match 重新验证。
+ */
+@RestControllerAdvice
+public class CatalogETagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final int SUCCESS_CODE = 200;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return Result.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+
+        if (body instanceof Result<?> result && Integer.valueOf(SUCCESS_CODE).equals(result.getCode())
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(CatalogResponseCacheFilter.CACHEABLE_ATTRIBUTE, Boolean.TRUE);
+            Object etag = servletRequest.getServletRequest().getAttribute(CatalogETagFilter.ETAG_ATTRIBUTE);
+            if (etag != null) {
+                response.getHeaders().setETag((String) etag);
+                response.getHeaders().setCacheControl("no-cache");
+            }
+        }
+        return body;
+    }
+}
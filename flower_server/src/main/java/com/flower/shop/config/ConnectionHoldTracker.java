@@ -0,0 +1,205 @@
+package com.flower.shop.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据库连接持有时间跟踪
+ *
+ * 设计说明：
+ * - 包装各连接池，从取出物理连接到归还连接池按调用点（首个业务类方法）记录持有时间：
+ *   flower.db.connection.hold{pool, callsite}
+ * - 持有期间当前线程发生文件读写（ImageStagingService 调用 recordIo）时计数
+ *   flower.db.connection.io{callsite, operation}，并按调用点输出一次 WARN，
+ *   用于发现在事务内写盘、长时间占用连接的代码
+ * - 持有时间超过阈值时输出 WARN，附带调用点与期间的 I/O 次数
+ */
+@Slf4j
+public class ConnectionHoldTracker {
+
+    private static final String APP_PACKAGE = "com.flower.shop.";
+
+    private static final String CONFIG_PACKAGE = "com.flower.shop.config.";
+
+    /**
+     * 当前线程持有中的连接（REQUIRES_NEW 等场景下可能同时持有多个）
+     */
+    private static final ThreadLocal<Deque<Hold>> HELD = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final MeterRegistry meterRegistry;
+
+    private final long warnThresholdMs;
+
+    private final Set<String> reportedIoCallSites = ConcurrentHashMap.newKeySet();
+
+    public ConnectionHoldTracker(MeterRegistry meterRegistry, long warnThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.warnThresholdMs = warnThresholdMs;
+    }
+
+    /**
+     * 包装连接池，返回的连接在 close 时记录持有时间
+     */
+    public DataSource wrap(String pool, DataSource target) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return track(pool, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return track(pool, super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * 标记当前线程正在进行文件 I/O；若此时持有数据库连接则计入该连接的调用点
+     *
+     * @param operation I/O 类型，如 upload、move、delete
+     */
+    public static void recordIo(String operation) {
+        Deque<Hold> held = HELD.get();
+        if (held.isEmpty()) {
+            return;
+        }
+        for (Hold hold : held) {
+            hold.ioCount++;
+            hold.tracker.onIoWhileHolding(hold, operation);
+        }
+    }
+
+    private Connection track(String pool, Connection connection) {
+        Hold hold = new Hold(this, pool, resolveCallSite(), System.nanoTime());
+        HELD.get().push(hold);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new TrackingHandler(connection, hold));
+    }
+
+    private void onIoWhileHolding(Hold hold, String operation) {
+        Counter.builder("flower.db.connection.io")
+                .description("持有数据库连接期间发生的文件 I/O 次数")
+                .tag("callsite", hold.callSite)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+        if (reportedIoCallSites.add(hold.callSite + "#" + operation)) {
+            log.warn("持有数据库连接期间执行文件 I/O（{}），调用点: {}，连接池: {}，请将文件读写移出事务",
+                    operation, hold.callSite, hold.pool);
+        }
+    }
+
+    private void release(Hold hold) {
+        HELD.get().remove(hold);
+        long nanos = System.nanoTime() - hold.startNanos;
+        Timer.builder("flower.db.connection.hold")
+                .description("从取出到归还连接池的连接持有时间")
+                .tag("pool", hold.pool)
+                .tag("callsite", hold.callSite)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (warnThresholdMs > 0 && millis >= warnThresholdMs) {
+            log.warn("数据库连接持有 {}ms，调用点: {}，连接池: {}，期间文件 I/O {} 次",
+                    millis, hold.callSite, hold.pool, hold.ioCount);
+        }
+    }
+
+    /**
+     * 调用点：调用栈中第一个业务类方法（跳过配置类与 Spring 生成的代理类）
+     */
+    private static String resolveCallSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> {
+                    String className = frame.getClassName();
+                    return className.startsWith(APP_PACKAGE)
+                            && !className.startsWith(CONFIG_PACKAGE)
+                            && !className.contains("$$");
+                })
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .orElse("unknown"));
+    }
+
+    private static final class Hold {
+
+        private final ConnectionHoldTracker tracker;
+
+        private final String pool;
+
+        private final String callSite;
+
+        private final long startNanos;
+
+        private int ioCount;
+
+        private Hold(ConnectionHoldTracker tracker, String pool, String callSite, long startNanos) {
+            this.tracker = tracker;
+            this.pool = pool;
+            this.callSite = callSite;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final class TrackingHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final Hold hold;
+
+        private boolean released;
+
+        private TrackingHandler(Connection target, Hold hold) {
+            this.target = target;
+            this.hold = hold;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        hold.tracker.release(hold);
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Tracked[" + hold.callSite + "] " + target;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.flower.shop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * 数据源配置（读写分离连接池）
+ *
+ * 设计说明：
+ * - 写连接池（spring.datasource.hikari）：读写事务与无事务语句，包含下单、商品维护等长事务
+ * - 读连接池（flower-shop.datasource.read）：@Transactional(readOnly = true) 的查询，
+ *   默认连接同一个库，可通过 SPRING_DATASOURCE_READ_URL 指向只读副本
+ * - 两个池互不抢占，长事务耗尽写连接池时商城浏览仍有连接可用
+ * - 开启 hold-tracking-enabled 时两个池经 ConnectionHoldTracker 包装，按调用点记录连接持有时间；
+ *   每次取连接都要遍历调用栈，默认关闭，排查连接占用时再开启
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * 读连接池：连接信息默认与写连接池相同，按 flower-shop.datasource.read 覆盖
+     */
+    @Bean
+    @ConfigurationProperties("flower-shop.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ConnectionHoldTracker connectionHoldTracker(MeterRegistry meterRegistry,
+            @Value("${flower-shop.datasource.hold-warn-threshold-ms:200}") long warnThresholdMs) {
+        return new ConnectionHoldTracker(meterRegistry, warnThresholdMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+            @Qualifier("readDataSource") HikariDataSource readDataSource,
+            ConnectionHoldTracker connectionHoldTracker,
+            @Value("${flower-shop.datasource.hold-tracking-enabled:false}") boolean holdTrackingEnabled) {
+        DataSource write = holdTrackingEnabled
+                ? connectionHoldTracker.wrap(ReadWriteRoutingDataSource.WRITE, writeDataSource)
+                : writeDataSource;
+        DataSource read = holdTrackingEnabled
+                ? connectionHoldTracker.wrap(ReadWriteRoutingDataSource.READ, readDataSource)
+                : readDataSource;
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.WRITE, write,
+                ReadWriteRoutingDataSource.READ, read));
+        routing.setDefaultTargetDataSource(write);
+        routing.afterPropertiesSet();
+
+        // 显式给出连接默认属性（MySQL 默认自动提交、REPEATABLE READ），
+        // 否则代理初始化时会借用一个连接探测，启动阶段就要连上数据库
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(routing);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+}
@@ -0,0 +1,42 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 配送时段容量配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.delivery.slot")
+public class DeliverySlotConfig {
+
+    /**
+     * 每个时段默认可接单量
+     */
+    private int defaultCapacity = 20;
+
+    /**
+     * 按时段覆盖容量，key 为时段名称（MORNING/AFTERNOON/EVENING/ASAP）
+     */
+    private Map<String, Integer> capacity = new HashMap<>();
+
+    /**
+     * 按日期覆盖容量（节假日加派骑手），key 为 yyyy-MM-dd，对当天所有时段生效
+     */
+    private Map<String, Integer> dateCapacity = new HashMap<>();
+
+    /**
+     * 可预约天数（含今天）
+     */
+    private int bookingDays = 7;
+
+    /**
+     * 预约计数批量落库间隔（毫秒）
+     */
+    private long flushIntervalMs = 5000;
+}
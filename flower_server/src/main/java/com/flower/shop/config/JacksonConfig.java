@@ -0,0 +1,30 @@
+package com.flower.shop.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON 序列化配置（全局唯一的 ObjectMapper：响应体、multipart 商品数据、SSE 事件、目录响应缓存）
+ *
+ * - BlackbirdModule：属性读写改用运行时生成的访问器，替代反射调用（Result、Product、Order、OrderItem 等所有类型生效）
+ * - 读写缓冲区使用全局共享的回收池：默认按线程缓存，虚拟线程模式下每个请求都会重新分配
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jsonFactoryCustomizer() {
+        return builder -> builder.factory(JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                .build());
+    }
+}
@@ -0,0 +1,72 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 令牌配置（签名密钥、有效期、吊销列表）
+ *
+ * 密钥轮换：新增密钥并设为 active-key-id，旧密钥保留到 refresh-token-ttl-ms 之后再删除；
+ * 期间旧密钥签发的令牌仍可验证，新令牌全部用新密钥签名
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.jwt")
+public class JwtConfig {
+
+    /**
+     * 签名使用的密钥ID
+     */
+    private String activeKeyId = "k1";
+
+    /**
+     * 签名密钥（ID 或密钥为空的条目忽略），未配置任何密钥时使用启动时生成的临时密钥
+     */
+    private List<SigningKey> keys = new ArrayList<>();
+
+    /**
+     * 访问令牌有效期（毫秒）
+     */
+    private long accessTokenTtlMs = 15 * 60 * 1000;
+
+    /**
+     * 刷新令牌有效期（毫秒）
+     */
+    private long refreshTokenTtlMs = 7L * 24 * 60 * 60 * 1000;
+
+    /**
+     * 吊销列表布隆过滤器的预计元素数，超过后按实际数量重建
+     */
+    private int revocationExpectedInsertions = 100_000;
+
+    /**
+     * 吊销列表布隆过滤器的误判率（误判时回落到精确集合确认）
+     */
+    private double revocationFalsePositiveRate = 0.001;
+
+    /**
+     * 从数据库同步其他节点吊销记录的间隔（毫秒）
+     */
+    private long revocationSyncIntervalMs = 10_000;
+
+    /**
+     * 签名密钥
+     */
+    @Data
+    public static class SigningKey {
+
+        /**
+         * 密钥ID（写入令牌头部 kid）
+         */
+        private String id;
+
+        /**
+         * Base64 编码的 HS256 密钥，至少 32 字节（如 openssl rand -base64 32）
+         */
+        private String secret;
+    }
+}
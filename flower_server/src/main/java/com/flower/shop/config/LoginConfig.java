@@ -0,0 +1,44 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录性能配置（凭据缓存、最后登录时间批量落库、密码校验线程池）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.login")
+public class LoginConfig {
+
+    /**
+     * 用户凭据缓存有效期（毫秒），0 表示不缓存
+     */
+    private long credentialCacheTtlMs = 60_000;
+
+    /**
+     * 用户凭据缓存最大条目数
+     */
+    private int credentialCacheMaxEntries = 10_000;
+
+    /**
+     * 最后登录时间批量落库间隔（毫秒）
+     */
+    private long lastLoginFlushIntervalMs = 10_000;
+
+    /**
+     * 密码校验线程数，0 表示与 CPU 核数相同
+     */
+    private int passwordVerifyThreads = 0;
+
+    /**
+     * 密码校验等待队列长度，队列满时直接拒绝登录请求
+     */
+    private int passwordVerifyQueueSize = 64;
+
+    /**
+     * 请求线程等待密码校验结果的最长时间（毫秒）
+     */
+    private long passwordVerifyTimeoutMs = 3000;
+}
@@ -0,0 +1,29 @@
+package com.flower.shop.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 指标配置
+ *
+ * - TimedAspect：使 Service 方法上的 @Timed 生效（flower.service）
+ * - SqlMetricsInterceptor：MyBatis 插件，记录每条 Mapper 语句的耗时与行数，并输出慢 SQL 日志
+ * 指标通过管理端口的 /actuator/prometheus 导出（management.server.port，默认 8081）
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public SqlMetricsInterceptor sqlMetricsInterceptor(MeterRegistry meterRegistry,
+            @Value("${flower-shop.logging.slow-sql-threshold-ms:500}") long slowSqlThresholdMs) {
+        return new SqlMetricsInterceptor(meterRegistry, slowSqlThresholdMs);
+    }
+}
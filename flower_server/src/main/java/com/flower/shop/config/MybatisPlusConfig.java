@@ -16,10 +16,21 @@ public class MybatisPlusConfig {
      * 添加分页插件
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(QueryGuardConfig queryGuardConfig) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         // 添加分页拦截器，指定数据库类型为 MySQL
-        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.MYSQL);
+        // 单页上限兜底：接口层未校验的分页查询也不会一次取出整表
+        pagination.setMaxLimit(queryGuardConfig.getMaxPageSize());
+        interceptor.addInnerInterceptor(pagination);
         return interceptor;
     }
+
+    /**
+     * 按语句设置查询超时
+     */
+    @Bean
+    public StatementTimeoutInterceptor statementTimeoutInterceptor(QueryGuardConfig queryGuardConfig) {
+        return new StatementTimeoutInterceptor(queryGuardConfig.getStatementTimeoutSeconds());
+    }
 }
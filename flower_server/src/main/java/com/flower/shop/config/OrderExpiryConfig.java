@@ -0,0 +1,34 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 未支付订单超时取消配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.order.expiry")
+public class OrderExpiryConfig {
+
+    /**
+     * 是否启用超时自动取消
+     */
+    private boolean enabled = true;
+
+    /**
+     * 在线支付订单的支付超时时间（分钟）
+     */
+    private long paymentTimeoutMinutes = 30;
+
+    /**
+     * 每批取消的最大订单数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 到期检查间隔（毫秒）
+     */
+    private long checkIntervalMs = 1000;
+}
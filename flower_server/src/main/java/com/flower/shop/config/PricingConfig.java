@@ -0,0 +1,50 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 订单定价配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.pricing")
+public class PricingConfig {
+
+    /**
+     * 商品价格快照最长缓存时间（毫秒），兜底直接改库等未经服务层的价格变更
+     */
+    private long snapshotMaxAgeMs = 10 * 60 * 1000;
+
+    /**
+     * 满减活动列表，同一订单只享受优惠金额最大的一个
+     */
+    private List<Promotion> promotions = new ArrayList<>();
+
+    /**
+     * 满减活动
+     */
+    @Data
+    public static class Promotion {
+
+        /**
+         * 活动名称，如：满300减30
+         */
+        private String name;
+
+        /**
+         * 商品金额门槛
+         */
+        private BigDecimal threshold;
+
+        /**
+         * 优惠金额
+         */
+        private BigDecimal discount;
+    }
+}
@@ -0,0 +1,44 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 商品搜索配置（分面统计、搜索建议）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.search")
+public class ProductSearchConfig {
+
+    /**
+     * 价格分面的区间下限（元，升序），最后一个区间无上限
+     */
+    private List<BigDecimal> priceBuckets = new ArrayList<>(List.of(
+            BigDecimal.ZERO, new BigDecimal("100"), new BigDecimal("200"), new BigDecimal("300"), new BigDecimal("500")));
+
+    /**
+     * 内存索引最长使用时间（毫秒），兜底绕过服务层的商品变更
+     */
+    private long indexMaxAgeMs = 5 * 60 * 1000;
+
+    /**
+     * 搜索建议默认返回条数
+     */
+    private int suggestLimit = 8;
+
+    /**
+     * 搜索建议最多返回条数
+     */
+    private int suggestMaxLimit = 20;
+
+    /**
+     * 搜索建议索引的词条最大长度（字符），更长的输入按该长度截断匹配
+     */
+    private int suggestMaxTermLength = 24;
+}
@@ -0,0 +1,48 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 查询成本控制配置（分页上限、语句超时、搜索接口并发限制）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.query-guard")
+public class QueryGuardConfig {
+
+    /**
+     * 商品搜索每页最大数量
+     */
+    private int productSearchMaxSize = 60;
+
+    /**
+     * 订单查询（管理端搜索、我的订单、按手机号查询）每页最大数量
+     */
+    private int orderSearchMaxSize = 100;
+
+    /**
+     * 全局分页上限（分页插件兜底，超出时按该值查询）
+     */
+    private long maxPageSize = 200;
+
+    /**
+     * 按语句设置的查询超时（秒），键为 "Mapper简单类名.方法名"，如 ProductMapper.searchProductsWithMainImage；
+     * 分页插件生成的 COUNT 语句使用同一超时。未配置的语句使用 mybatis-plus.configuration.default-statement-timeout
+     */
+    private Map<String, Integer> statementTimeoutSeconds = new HashMap<>();
+
+    /**
+     * 单个客户端（登录用户或 IP）同时执行的搜索请求上限，超出返回 429
+     */
+    private int searchConcurrencyPerClient = 2;
+
+    /**
+     * 429 响应的 Retry-After（秒）
+     */
+    private int retryAfterSeconds = 1;
+}
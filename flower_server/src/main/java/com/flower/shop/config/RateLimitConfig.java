@@ -0,0 +1,79 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 接口限流配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.rate-limit")
+public class RateLimitConfig {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 令牌桶存储：local（进程内，单节点）或 jdbc（MySQL 共享，多节点部署时使用）
+     */
+    private String backend = "local";
+
+    /**
+     * 进程内令牌桶的最大数量，超出时先清理已回满的桶，仍无空位则拒绝新键的请求
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * 已回满令牌桶的清理间隔（毫秒）
+     */
+    private long sweepIntervalMs = 60_000;
+
+    /**
+     * 限流规则，一个请求匹配多条规则时逐条扣减，任意一条不足即拒绝
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * 单条限流规则
+     */
+    @Data
+    public static class Route {
+
+        /**
+         * 规则名称（令牌桶键前缀、指标标签）
+         */
+        private String name;
+
+        /**
+         * HTTP 方法，为空时匹配全部方法
+         */
+        private String method;
+
+        /**
+         * 路径（Ant 风格，不含 context-path），如 /admin/auth/login、/orders/**
+         */
+        private String path;
+
+        /**
+         * 限流维度：ip 按客户端 IP；user 按登录用户 ID，未登录时按 IP
+         */
+        private String key = "ip";
+
+        /**
+         * 桶容量（允许的突发请求数）
+         */
+        private int capacity = 10;
+
+        /**
+         * 每分钟补充的令牌数（持续速率）
+         */
+        private int perMinute = 60;
+    }
+}
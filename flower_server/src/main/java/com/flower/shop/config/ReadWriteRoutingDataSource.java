@@ -0,0 +1,24 @@
+package com.flower.shop.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离路由数据源
+ *
+ * 设计说明：
+ * - @Transactional(readOnly = true) 的事务走读连接池，其余（读写事务、无事务的单条语句）走写连接池
+ * - 需由 LazyConnectionDataSourceProxy 包装：事务开始时只读标记尚未设置，
+ *   延迟到第一条语句执行时再取物理连接，才能按只读标记路由
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String WRITE = "write";
+
+    public static final String READ = "read";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+    }
+}
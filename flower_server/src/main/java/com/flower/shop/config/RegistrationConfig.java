@@ -0,0 +1,29 @@
+package com.flower.shop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 注册配置（用户名、手机号可用性检查）
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flower-shop.registration")
+public class RegistrationConfig {
+
+    /**
+     * 可用性布隆过滤器预计元素数（用户名与手机号各一个过滤器），实际用户数超过后按实际数量重建
+     */
+    private int availabilityExpectedInsertions = 100_000;
+
+    /**
+     * 布隆过滤器误判率（误判时查询数据库确认）
+     */
+    private double availabilityFalsePositiveRate = 0.01;
+
+    /**
+     * 定时整体重建间隔（毫秒），兜底其他节点注册及直接改库的用户
+     */
+    private long availabilityRebuildIntervalMs = 600_000;
+}
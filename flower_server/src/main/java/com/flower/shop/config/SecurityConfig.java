@@ -41,6 +41,8 @@ public class SecurityConfig {
                         // 允许健康检查端点访问（Docker健康检查需要）
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/actuator/info").permitAll()
+                        // 允许 Prometheus 抓取指标（管理端点在独立的 management.server.port 上，不经 nginx 对外暴露）
+                        .requestMatchers("/actuator/prometheus").permitAll()
                         // 允许 Swagger API 文档访问
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         // 允许测试接口无需认证访问
@@ -53,6 +55,8 @@ public class SecurityConfig {
                         // 允许游客端商品接口无需认证访问
                         .requestMatchers("/products/**").permitAll()
                         .requestMatchers("/categories/**").permitAll()
+                        // 允许游客查询配送时段可用性
+                        .requestMatchers("/delivery/**").permitAll()
                         // 允许游客端订单接口无需认证访问（游客下单）
                         .requestMatchers("/orders/**").permitAll()
                         // 允许仪表盘接口访问（需要认证，但已在JWT过滤器中验证）
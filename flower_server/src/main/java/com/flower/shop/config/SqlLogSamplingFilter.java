@@ -0,0 +1,67 @@
+package com.flower.shop.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SQL 跟踪日志采样过滤器（logback TurboFilter）
+ *
+ * MyBatis 在获取连接、创建 Connection / PreparedStatement 日志代理时分别调用 isDebugEnabled()（format 为空），
+ * 同一条语句的多次探测必须得到相同结果，否则会出现只有 SQL 没有参数、或只有参数没有 SQL 的日志。
+ * 因此每条语句只在第一次探测时按采样率决定一次，结果保存在当前线程，
+ * 由 SqlMetricsInterceptor 在语句开始与结束时调用 {@link #resetStatement()} 清除。
+ * 未命中采样的语句不会创建代理、不拼接任何日志；命中后的日志（format 非空）全部放行，保证单条语句日志完整。
+ */
+public class SqlLogSamplingFilter extends TurboFilter {
+
+    /**
+     * 当前线程正在执行的语句的采样结果，null 表示尚未决定
+     */
+    private static final ThreadLocal<Boolean> STATEMENT_SAMPLED = new ThreadLocal<>();
+
+    /**
+     * 需要采样的 Logger 前缀（Mapper 接口所在包）
+     */
+    private String loggerPrefix = "com.flower.shop.mapper";
+
+    /**
+     * 采样率（0~1），1 表示全部记录，0 表示全部丢弃
+     */
+    private double sampleRate = 0.01;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level.isGreaterOrEqual(Level.INFO) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format != null) {
+            return FilterReply.NEUTRAL;
+        }
+        Boolean sampled = STATEMENT_SAMPLED.get();
+        if (sampled == null) {
+            sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+            STATEMENT_SAMPLED.set(sampled);
+        }
+        return sampled ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * 清除当前线程的采样结果：语句开始执行前与执行结束后调用
+     */
+    public static void resetStatement() {
+        STATEMENT_SAMPLED.remove();
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,118 @@
+package com.flower.shop.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 执行指标拦截器
+ *
+ * 按 Mapper 语句（MappedStatement ID，如 com.flower.shop.mapper.OrderMapper.searchOrders）记录：
+ * - flower.sql.statement：执行耗时（含结果映射），按 statement / type / outcome 打标签
+ * - flower.sql.rows：查询返回行数 / 更新影响行数
+ * 执行时间超过慢 SQL 阈值时输出一条 WARN 日志（logger: com.flower.shop.sql.slow）
+ */
+@Slf4j(topic = "com.flower.shop.sql.slow")
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class })
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 慢 SQL 阈值（纳秒），0 表示不记录
+     */
+    private final long slowThresholdNanos;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry, long slowThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        String statementId = statement.getId();
+        String type = statement.getSqlCommandType().name();
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        long rows = -1;
+        // 每条语句重新决定一次 SQL 日志采样，语句内的各行日志使用同一结果
+        SqlLogSamplingFilter.resetStatement();
+        try {
+            Object result = invocation.proceed();
+            rows = recordRows(statementId, type, result);
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            SqlLogSamplingFilter.resetStatement();
+            long elapsed = System.nanoTime() - start;
+            if (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) {
+                logSlowStatement(invocation, statement, elapsed, rows);
+            }
+            Timer.builder("flower.sql.statement")
+                    .description("Mapper 语句执行耗时")
+                    .tag("statement", statementId)
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long recordRows(String statementId, String type, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Integer count) {
+            rows = count;
+        } else {
+            return -1;
+        }
+        DistributionSummary.builder("flower.sql.rows")
+                .description("Mapper 语句返回/影响行数")
+                .baseUnit("rows")
+                .tag("statement", statementId)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(rows);
+        return rows;
+    }
+
+    /**
+     * 输出慢 SQL（只记录语句，不记录参数值，避免手机号等敏感数据落日志）
+     */
+    private void logSlowStatement(Invocation invocation, MappedStatement statement, long elapsedNanos, long rows) {
+        Object[] args = invocation.getArgs();
+        BoundSql boundSql = args.length == 6
+                ? (BoundSql) args[5]
+                : statement.getBoundSql(args[1]);
+        String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+        log.warn("慢SQL {}ms rows={} statement={} sql={}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, statement.getId(), sql);
+    }
+}
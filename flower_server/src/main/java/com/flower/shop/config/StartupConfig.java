@@ -0,0 +1,40 @@
+package com.flower.shop.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 启动优化配置
+ *
+ * prod 环境开启 spring.main.lazy-initialization：管理后台、统计等接口的 Bean 推迟到首次访问时创建。
+ * 以下 Bean 仍在启动时创建：
+ * - 含 @Scheduled 方法的 Bean（懒加载的 Bean 不会注册定时任务，如订单超时取消、配送时段计数落库）
+ * - 含 @PostConstruct 初始化逻辑的 Bean（如虚拟线程钉住诊断）
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasBackgroundMethod(beanType);
+    }
+
+    private static boolean hasBackgroundMethod(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, Schedules.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, PostConstruct.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.flower.shop.config;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 语句超时拦截器
+ *
+ * 按 QueryGuardConfig.statementTimeoutSeconds 为指定 Mapper 语句设置 JDBC 查询超时，
+ * 超时后驱动取消查询并抛出异常，避免单个大查询长期占用连接
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class })
+})
+public class StatementTimeoutInterceptor implements Interceptor {
+
+    private static final String COUNT_SUFFIX = "_mpCount";
+
+    private final Map<String, Integer> timeouts;
+
+    /**
+     * MappedStatement ID -> 超时秒数（0 表示未配置）
+     */
+    private final Map<String, Integer> resolved = new ConcurrentHashMap<>();
+
+    public StatementTimeoutInterceptor(Map<String, Integer> timeouts) {
+        this.timeouts = Map.copyOf(timeouts);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Statement statement = (Statement) invocation.proceed();
+        if (!timeouts.isEmpty()) {
+            StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+            MappedStatement mappedStatement = PluginUtils.mpStatementHandler(handler).mappedStatement();
+            int seconds = resolved.computeIfAbsent(mappedStatement.getId(), this::resolve);
+            if (seconds > 0) {
+                statement.setQueryTimeout(seconds);
+            }
+        }
+        return statement;
+    }
+
+    /**
+     * com.flower.shop.mapper.ProductMapper.searchProductsWithMainImage[_mpCount] -> ProductMapper.searchProductsWithMainImage
+     */
+    private int resolve(String statementId) {
+        String id = statementId.endsWith(COUNT_SUFFIX)
+                ? statementId.substring(0, statementId.length() - COUNT_SUFFIX.length())
+                : statementId;
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        Integer seconds = timeouts.get(id.substring(type + 1));
+        return seconds != null ? seconds : 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.flower.shop.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 虚拟线程钉住（pinning）诊断
+ *
+ * 启用虚拟线程时，通过 JFR 事件流监听 jdk.VirtualThreadPinned：
+ * 虚拟线程在 synchronized 块或本地方法中阻塞会占住载体线程，
+ * JDBC 驱动、连接池中的此类代码会让并发退化为载体线程数。
+ * 超过阈值的事件输出调用栈，并标记出 JDBC 路径上的帧。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    /**
+     * 调用栈最多输出的帧数
+     */
+    private static final int MAX_FRAMES = 15;
+
+    /**
+     * JDBC 路径上的包前缀（驱动、连接池、MyBatis）
+     */
+    private static final List<String> JDBC_PACKAGES = List.of(
+            "com.mysql.", "com.zaxxer.hikari.", "org.apache.ibatis.", "com.baomidou.mybatisplus.");
+
+    @Value("${flower-shop.diagnostics.pinned-threshold-ms:20}")
+    private long thresholdMs;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+        log.info("虚拟线程钉住诊断已启用，阈值: {}ms", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        StringBuilder frames = new StringBuilder();
+        boolean jdbcPath = false;
+        if (stackTrace != null) {
+            List<RecordedFrame> recordedFrames = stackTrace.getFrames();
+            for (int i = 0; i < recordedFrames.size(); i++) {
+                String frame = recordedFrames.get(i).getMethod().getType().getName()
+                        + "." + recordedFrames.get(i).getMethod().getName();
+                boolean jdbcFrame = JDBC_PACKAGES.stream().anyMatch(frame::startsWith);
+                jdbcPath |= jdbcFrame;
+                if (i < MAX_FRAMES) {
+                    frames.append("\n    at ").append(frame).append(jdbcFrame ? "  <-- JDBC" : "");
+                }
+            }
+        }
+        log.warn("虚拟线程被钉住 {}ms{}，线程: {}{}",
+                event.getDuration().toMillis(),
+                jdbcPath ? "（JDBC 路径）" : "",
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                frames);
+    }
+}
@@ -4,11 +4,13 @@ import com.flower.shop.dto.AdminInitRequest;
 import com.flower.shop.dto.LoginRequest;
 import com.flower.shop.dto.LoginResponse;
 import com.flower.shop.common.Result;
+import com.flower.shop.exception.BusinessException;
 import com.flower.shop.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -74,6 +76,9 @@ public class AdminController {
             return Result.success("登录成功", response);
         } catch (IllegalArgumentException e) {
             return Result.validationError(e.getMessage());
+        } catch (BusinessException e) {
+            // 密码校验线程池繁忙
+            return Result.error(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
         } catch (Exception e) {
             log.error("管理员登录失败", e);
             return Result.error("登录失败，请稍后重试");
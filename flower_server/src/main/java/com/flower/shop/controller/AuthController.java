@@ -2,13 +2,20 @@ package com.flower.shop.controller;
 
 import com.flower.shop.dto.LoginRequest;
 import com.flower.shop.dto.LoginResponse;
+import com.flower.shop.dto.RefreshTokenRequest;
+import com.flower.shop.dto.UserAvailabilityDTO;
 import com.flower.shop.common.Result;
+import com.flower.shop.exception.BusinessException;
 import com.flower.shop.dto.UserRegisterRequest;
+import com.flower.shop.service.TokenService;
 import com.flower.shop.service.UserService;
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,7 +29,10 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "用户认证", description = "普通用户注册登录接口")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final UserService userService;
+    private final TokenService tokenService;
 
     /**
      * 用户注册
@@ -41,6 +51,21 @@ public class AuthController {
         }
     }
 
+    /**
+     * 检查用户名、手机号是否可用（按 IP 限流，见 flower-shop.rate-limit.routes 中的 availability）
+     */
+    @GetMapping("/availability")
+    @Operation(summary = "检查用户名、手机号是否可用", description = "注册前提示，未传的参数不检查；最终以注册结果为准")
+    public Result<UserAvailabilityDTO> checkAvailability(@RequestParam(required = false) String username,
+            @RequestParam(required = false) String phone) {
+        try {
+            return Result.success(userService.checkAvailability(username, phone));
+        } catch (Exception e) {
+            log.error("检查用户名、手机号可用性失败", e);
+            return Result.error("检查失败，请稍后重试");
+        }
+    }
+
     /**
      * 用户登录
      */
@@ -52,9 +77,51 @@ public class AuthController {
             return Result.success("登录成功", response);
         } catch (IllegalArgumentException e) {
             return Result.validationError(e.getMessage());
+        } catch (BusinessException e) {
+            // 密码校验线程池繁忙
+            return Result.error(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
         } catch (Exception e) {
             log.error("用户登录失败", e);
             return Result.error("登录失败，请稍后重试");
         }
     }
+
+    /**
+     * 刷新令牌
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "刷新令牌", description = "用刷新令牌换取新的访问令牌与刷新令牌，旧刷新令牌随即失效")
+    public Result<LoginResponse> refresh(@RequestBody @Validated RefreshTokenRequest request) {
+        try {
+            LoginResponse response = tokenService.refresh(request.getRefreshToken());
+            return Result.success("刷新成功", response);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("刷新令牌无效: {}", e.getMessage());
+            return Result.error(HttpStatus.UNAUTHORIZED.value(), "登录已过期，请重新登录");
+        } catch (Exception e) {
+            log.error("刷新令牌失败", e);
+            return Result.error("刷新失败，请稍后重试");
+        }
+    }
+
+    /**
+     * 退出登录：吊销当前访问令牌与刷新令牌
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "退出登录", description = "吊销当前访问令牌与刷新令牌")
+    public Result<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        try {
+            if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                tokenService.revoke(authorization.substring(BEARER_PREFIX.length()));
+            }
+            if (request != null) {
+                tokenService.revoke(request.getRefreshToken());
+            }
+            return Result.success("退出成功", null);
+        } catch (Exception e) {
+            log.error("退出登录失败", e);
+            return Result.error("退出失败，请稍后重试");
+        }
+    }
 }
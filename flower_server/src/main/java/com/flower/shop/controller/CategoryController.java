@@ -1,7 +1,9 @@
 package com.flower.shop.controller;
 
 import com.flower.shop.common.Result;
+import com.flower.shop.dto.CategorySortItem;
 import com.flower.shop.entity.Category;
+import com.flower.shop.service.CategoryRegistry;
 import com.flower.shop.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,9 +15,9 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 商品分类控制器
@@ -38,15 +40,16 @@ import java.util.Map;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryRegistry categoryRegistry;
 
     /**
      * 获取所有分类列表
      */
     @GetMapping("/list")
-    @Operation(summary = "获取所有分类", description = "获取所有分类列表")
-    public Result<List<Category>> getAllCategories() {
+    @Operation(summary = "获取所有分类", description = "获取所有分类列表（按排序值排序），可按类型筛选")
+    public Result<List<Category>> getAllCategories(@RequestParam(value = "type", required = false) String type) {
         try {
-            List<Category> categories = categoryService.list();
+            List<Category> categories = type != null ? categoryRegistry.getByType(type) : categoryRegistry.all();
             return Result.success("获取分类列表成功", categories);
         } catch (Exception e) {
             log.error("获取分类列表失败", e);
@@ -64,7 +67,7 @@ public class CategoryController {
     @Operation(summary = "获取分类详情", description = "根据ID获取单个分类的详细信息")
     public Result<Category> getCategoryById(@PathVariable("id") @NotNull Long id) {
         try {
-            Category category = categoryService.getById(id);
+            Category category = categoryRegistry.getById(id);
             if (category == null) {
                 return Result.error("分类不存在");
             }
@@ -150,7 +153,7 @@ public class CategoryController {
     @PutMapping("/sort")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "更新分类排序", description = "管理员：批量更新分类的排序")
-    public Result<String> updateCategorySort(@RequestBody @Valid List<Map<String, Object>> sortData) {
+    public Result<String> updateCategorySort(@RequestBody @NotEmpty List<@Valid CategorySortItem> sortData) {
         try {
             boolean result = categoryService.updateCategorySort(sortData);
             if (result) {
@@ -158,6 +161,8 @@ public class CategoryController {
             } else {
                 return Result.error("更新分类排序失败");
             }
+        } catch (IllegalArgumentException e) {
+            return Result.validationError(e.getMessage());
         } catch (Exception e) {
             log.error("更新分类排序失败", e);
             return Result.error("更新分类排序失败");
@@ -5,12 +5,17 @@ import com.flower.shop.dto.DashboardStatsDTO;
 import com.flower.shop.dto.OrderDistributionDTO;
 import com.flower.shop.dto.SalesTrendDTO;
 import com.flower.shop.service.DashboardService;
+import com.flower.shop.service.OrderEventBroadcaster;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -25,6 +30,7 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final OrderEventBroadcaster orderEventBroadcaster;
 
     @Operation(summary = "获取核心统计数据")
     @GetMapping("/stats")
@@ -54,6 +60,15 @@ public class DashboardController {
         return Result.success(orders);
     }
 
+    @Operation(summary = "订阅订单实时事件", description = "SSE 推送新订单与订单状态变更，替代轮询最近订单（仅管理员）")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/order-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(HttpServletResponse response) {
+        // 关闭 nginx 等反向代理的响应缓冲，事件逐条送达
+        response.setHeader("X-Accel-Buffering", "no");
+        return orderEventBroadcaster.subscribe();
+    }
+
     @Operation(summary = "获取低库存商品列表")
     @GetMapping("/low-stock")
     public Result<List<Map<String, Object>>> getLowStockProducts() {
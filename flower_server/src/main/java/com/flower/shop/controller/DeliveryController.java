@@ -0,0 +1,42 @@
+package com.flower.shop.controller;
+
+import com.flower.shop.common.Result;
+import com.flower.shop.dto.DeliverySlotAvailabilityDTO;
+import com.flower.shop.service.DeliverySlotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 配送控制器
+ */
+@Slf4j
+@RestController
+@RequestMapping("/delivery")
+@RequiredArgsConstructor
+@Tag(name = "配送管理", description = "配送时段相关接口")
+public class DeliveryController {
+
+    private final DeliverySlotService deliverySlotService;
+
+    /**
+     * 查询配送时段可用性
+     */
+    @GetMapping("/slots")
+    @Operation(summary = "查询配送时段可用性", description = "查询指定日期各配送时段的剩余名额，结账页可轮询")
+    public Result<List<DeliverySlotAvailabilityDTO>> getSlotAvailability(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return Result.success(deliverySlotService.getAvailability(date));
+        } catch (Exception e) {
+            log.error("查询配送时段可用性失败", e);
+            return Result.error("查询配送时段失败");
+        }
+    }
+}
@@ -4,9 +4,13 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.flower.shop.dto.CreateOrderRequest;
 import com.flower.shop.dto.CancelOrderRequest;
 import com.flower.shop.dto.OrderSearchRequestDTO;
+import com.flower.shop.dto.PriceQuoteDTO;
+import com.flower.shop.dto.PriceQuoteRequest;
 import com.flower.shop.common.Result;
+import com.flower.shop.config.QueryGuardConfig;
 import com.flower.shop.entity.Order;
 import com.flower.shop.service.OrderService;
+import com.flower.shop.service.PricingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final PricingService pricingService;
+    private final QueryGuardConfig queryGuardConfig;
 
     /**
      * 创建订单
@@ -39,6 +45,19 @@ public class OrderController {
         }
     }
 
+    /**
+     * 订单报价（购物车预览）
+     */
+    @PostMapping("/quote")
+    @Operation(summary = "订单报价", description = "按服务端价格批量计算商品金额、配送费、优惠与实付金额")
+    public Result<PriceQuoteDTO> quoteOrder(@Valid @RequestBody PriceQuoteRequest request) {
+        try {
+            return Result.success(pricingService.quote(request.getItems()));
+        } catch (Exception e) {
+            return Result.error("计算报价失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 查询当前登录用户的订单（分页）
      */
@@ -53,6 +72,10 @@ public class OrderController {
             if (auth == null || !auth.isAuthenticated() || !(auth.getDetails() instanceof Long)) {
                 return Result.error("请先登录");
             }
+            String pageError = validatePage(page, size);
+            if (pageError != null) {
+                return Result.validationError(pageError);
+            }
 
             Long userId = (Long) auth.getDetails();
             IPage<Order> orders = orderService.getOrdersByUserId(userId, status, page, size);
@@ -75,6 +98,10 @@ public class OrderController {
             @RequestParam(value = "page", defaultValue = "1") Integer page,
             @RequestParam(value = "size", defaultValue = "10") Integer size) {
         try {
+            String pageError = validatePage(page, size);
+            if (pageError != null) {
+                return Result.validationError(pageError);
+            }
             IPage<Order> orders = orderService.getOrdersByPhone(phone, status, page, size);
             return Result.success(orders);
         } catch (Exception e) {
@@ -90,6 +117,10 @@ public class OrderController {
     @Operation(summary = "搜索订单", description = "管理端：按关键词、状态、日期范围搜索订单，支持分页和排序")
     public Result<IPage<Order>> searchOrders(@RequestBody OrderSearchRequestDTO request) {
         try {
+            String pageError = validatePage(request.getPage(), request.getSize());
+            if (pageError != null) {
+                return Result.validationError(pageError);
+            }
             IPage<Order> orders = orderService.searchOrders(
                     request.getKeyword(),
                     request.getStatus(),
@@ -187,4 +218,20 @@ public class OrderController {
             return Result.error("取消订单失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 校验分页参数，返回错误信息，合法时返回 null
+     */
+    private String validatePage(Integer page, Integer size) {
+        if (page == null || page < 1) {
+            return "页码必须大于0";
+        }
+        if (size == null || size < 1) {
+            return "每页数量必须大于0";
+        }
+        if (size > queryGuardConfig.getOrderSearchMaxSize()) {
+            return "每页数量不能超过" + queryGuardConfig.getOrderSearchMaxSize();
+        }
+        return null;
+    }
 }
@@ -1,14 +1,18 @@
 package com.flower.shop.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flower.shop.common.Result;
+import com.flower.shop.config.QueryGuardConfig;
+import com.flower.shop.dto.ProductFacetsDTO;
 import com.flower.shop.dto.ProductSearchRequest;
+import com.flower.shop.dto.ProductSuggestionDTO;
 import com.flower.shop.entity.Product;
+import com.flower.shop.service.ImageStagingService;
 import com.flower.shop.service.ProductService;
 import com.flower.shop.service.impl.ProductServiceImpl;
-import com.flower.shop.config.FileUploadConfig;
-import com.flower.shop.util.FileUploadUtil;
-import com.alibaba.fastjson.JSON;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +26,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -41,7 +46,9 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
-    private final FileUploadConfig fileUploadConfig;
+    private final ImageStagingService imageStagingService;
+    private final QueryGuardConfig queryGuardConfig;
+    private final ObjectMapper objectMapper;
 
     /**
      * 搜索商品（支持多条件查询）
@@ -54,6 +61,9 @@ public class ProductController {
             if (!request.hasValidPriceRange()) {
                 return Result.validationError("最低价格不能大于最高价格");
             }
+            if (request.getSize() > queryGuardConfig.getProductSearchMaxSize()) {
+                return Result.validationError("每页数量不能超过" + queryGuardConfig.getProductSearchMaxSize());
+            }
 
             IPage<Product> productPage = productService.searchProductsAdvanced(request);
             return Result.success("搜索商品成功", productPage);
@@ -65,6 +75,51 @@ public class ProductController {
         }
     }
 
+    /**
+     * 搜索商品（GET 查询参数，字段与 POST 请求体一致，可使用 ETag 条件请求）
+     */
+    @GetMapping("/search")
+    @Operation(summary = "搜索商品（查询参数）", description = "与 POST /products/search 相同，目录未变化时可返回 304")
+    public Result<IPage<Product>> searchProductsByQuery(@Valid ProductSearchRequest request) {
+        return searchProducts(request);
+    }
+
+    /**
+     * 搜索分面统计（查询参数与搜索接口一致，分页和排序参数忽略）
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "搜索分面统计", description = "返回当前筛选条件下各分类、价格区间、库存状态、推荐选项的商品数")
+    public Result<ProductFacetsDTO> getSearchFacets(@Valid ProductSearchRequest request) {
+        try {
+            if (!request.hasValidPriceRange()) {
+                return Result.validationError("最低价格不能大于最高价格");
+            }
+
+            ProductFacetsDTO facets = productService.getSearchFacets(request);
+            return Result.success("获取分面统计成功", facets);
+        } catch (Exception e) {
+            log.error("获取分面统计失败", e);
+            return Result.error("获取分面统计失败");
+        }
+    }
+
+    /**
+     * 搜索建议（输入框联想，按名称、花语及其拼音、首字母前缀匹配）
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "搜索建议", description = "返回名称、花语或拼音以输入开头的上架商品，不查询数据库")
+    public Result<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam(value = "keyword", required = false) String keyword,
+            @RequestParam(value = "limit", required = false) @Min(1) Integer limit) {
+        try {
+            List<ProductSuggestionDTO> suggestions = productService.suggestProducts(keyword, limit);
+            return Result.success("获取搜索建议成功", suggestions);
+        } catch (Exception e) {
+            log.error("获取搜索建议失败", e);
+            return Result.error("获取搜索建议失败");
+        }
+    }
+
     /**
      * 根据ID获取商品详情
      */
@@ -106,13 +161,14 @@ public class ProductController {
             }
 
             // 解析JSON字符串为Product对象
-            Product product = JSON.parseObject(productJson, Product.class);
-
-            // 处理图片上传
-            List<String> imagePaths = FileUploadUtil.uploadFiles(images, fileUploadConfig.getUploadPath());
+            Product product = objectMapper.readValue(productJson, Product.class);
 
-            Product createdProduct = productService.createProductWithImages(product, imagePaths, mainImageIndex);
+            // 图片先在事务外暂存，商品与图片元数据提交后再转正，失败时清理暂存文件
+            Product createdProduct = imageStagingService.withStagedImages(images,
+                    imagePaths -> productService.createProductWithImages(product, imagePaths, mainImageIndex));
             return Result.success("创建商品成功", createdProduct);
+        } catch (JsonProcessingException e) {
+            return Result.validationError("商品数据格式错误");
         } catch (IllegalArgumentException e) {
             return Result.validationError(e.getMessage());
         } catch (Exception e) {
@@ -135,7 +191,7 @@ public class ProductController {
             @RequestPart(value = "imageFiles", required = false) List<MultipartFile> imageFiles) {
         try {
             // 解析商品基本信息
-            Product product = JSON.parseObject(productJson, Product.class);
+            Product product = objectMapper.readValue(productJson, Product.class);
             product.setId(id);
 
             // 构建更新请求
@@ -144,31 +200,35 @@ public class ProductController {
 
             // 解析现有图片信息
             if (existingImagesJson != null && !existingImagesJson.trim().isEmpty()) {
-                List<ProductServiceImpl.ExistingImageInfo> existingImages = JSON.parseArray(
-                    existingImagesJson, ProductServiceImpl.ExistingImageInfo.class);
+                List<ProductServiceImpl.ExistingImageInfo> existingImages = objectMapper.readValue(
+                    existingImagesJson, new TypeReference<List<ProductServiceImpl.ExistingImageInfo>>() {});
                 request.setExistingImages(existingImages);
             }
 
             // 解析新图片信息
+            List<MultipartFile> stagedFiles = Collections.emptyList();
             if (newImagesJson != null && !newImagesJson.trim().isEmpty() && imageFiles != null) {
-                List<ProductService.NewImageInfo> newImages = JSON.parseArray(
-                    newImagesJson, ProductService.NewImageInfo.class);
+                List<ProductService.NewImageInfo> newImages = objectMapper.readValue(
+                    newImagesJson, new TypeReference<List<ProductService.NewImageInfo>>() {});
 
                 // 验证文件数量匹配
                 if (newImages.size() != imageFiles.size()) {
                     throw new IllegalArgumentException("新图片信息数量与文件数量不匹配");
                 }
-
-                // 将文件与新图片信息关联（按顺序对应）
-                for (int i = 0; i < newImages.size(); i++) {
-                    newImages.get(i).setImageFile(imageFiles.get(i));
-                }
                 request.setNewImages(newImages);
+                stagedFiles = imageFiles;
             }
 
-            // 调用服务更新商品
-            Product updatedProduct = productService.updateProductWithImages(request);
+            // 新图片先在事务外暂存，事务内只更新元数据（按顺序对应暂存后的路径），提交后再转正
+            Product updatedProduct = imageStagingService.withStagedImages(stagedFiles, imagePaths -> {
+                for (int i = 0; i < imagePaths.size(); i++) {
+                    request.getNewImages().get(i).setImagePath(imagePaths.get(i));
+                }
+                return productService.updateProductWithImages(request);
+            });
             return Result.success("更新商品成功", updatedProduct);
+        } catch (JsonProcessingException e) {
+            return Result.validationError("商品数据格式错误");
         } catch (IllegalArgumentException e) {
             return Result.validationError(e.getMessage());
         } catch (Exception e) {
@@ -234,13 +294,7 @@ public class ProductController {
             @PathVariable("id") @NotNull Long id,
             @RequestParam("featured") @NotNull Integer featured) {
         try {
-            Product product = productService.getById(id);
-            if (product == null) {
-                return Result.error("商品不存在");
-            }
-
-            product.setFeatured(featured);
-            boolean result = productService.updateById(product);
+            boolean result = productService.setFeatured(id, featured);
 
             if (result) {
                 String featuredText = featured == 1 ? "设为推荐" : "取消推荐";
@@ -248,6 +302,8 @@ public class ProductController {
             } else {
                 return Result.error("更新推荐状态失败");
             }
+        } catch (IllegalArgumentException e) {
+            return Result.error(e.getMessage());
         } catch (Exception e) {
             log.error("更新推荐状态失败", e);
             return Result.error("更新推荐状态失败");
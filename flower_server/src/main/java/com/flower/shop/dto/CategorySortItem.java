@@ -0,0 +1,29 @@
+package com.flower.shop.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分类排序项DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySortItem {
+
+    /**
+     * 分类ID
+     */
+    @NotNull(message = "分类ID不能为空")
+    private Long id;
+
+    /**
+     * 排序值，数字越小越靠前
+     */
+    @NotNull(message = "排序值不能为空")
+    @Min(value = 0, message = "排序值不能小于0")
+    private Integer sortOrder;
+}
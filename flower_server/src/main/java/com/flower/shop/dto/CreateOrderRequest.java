@@ -39,6 +39,7 @@ public class CreateOrderRequest {
 
     // 订单项
     @NotEmpty(message = "订单项不能为空")
+    @Size(max = 50, message = "订单项不能超过50种")
     @Valid
     private List<OrderItemDTO> items;
 
@@ -51,7 +52,9 @@ public class CreateOrderRequest {
         @Min(value = 1, message = "商品数量至少为1")
         private Integer quantity;
 
-        @NotNull(message = "商品价格不能为空")
+        /**
+         * 客户端展示价格（仅供参考，下单金额以服务端价格快照为准）
+         */
         @DecimalMin(value = "0.01", message = "商品价格必须大于0")
         private BigDecimal price;
     }
@@ -0,0 +1,45 @@
+package com.flower.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 配送时段可用性DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliverySlotAvailabilityDTO {
+    /**
+     * 配送日期（格式：yyyy-MM-dd）
+     */
+    private String date;
+
+    /**
+     * 时段值（与下单时提交的 deliveryTime 一致，如 09:00-12:00）
+     */
+    private String value;
+
+    /**
+     * 时段名称（用于前端显示）
+     */
+    private String label;
+
+    /**
+     * 可接单量
+     */
+    private Integer capacity;
+
+    /**
+     * 剩余可预约数
+     */
+    private Integer remaining;
+
+    /**
+     * 是否可预约（未约满且未过截单时间）
+     */
+    private Boolean available;
+}
@@ -13,6 +13,16 @@ public class LoginResponse {
      */
     private String token;
 
+    /**
+     * 刷新令牌（访问令牌过期后换取新的令牌对）
+     */
+    private String refreshToken;
+
+    /**
+     * 访问令牌有效期（秒）
+     */
+    private Long expiresIn;
+
     /**
      * 用户ID
      */
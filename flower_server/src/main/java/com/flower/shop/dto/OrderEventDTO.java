@@ -0,0 +1,61 @@
+package com.flower.shop.dto;
+
+import com.flower.shop.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 订单实时事件DTO（管理端订单推送）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDTO {
+
+    /**
+     * 新订单
+     */
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+
+    /**
+     * 订单状态变更
+     */
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+    /**
+     * 事件类型：ORDER_CREATED / ORDER_STATUS_CHANGED
+     */
+    private String type;
+
+    private Long orderId;
+
+    private String orderNo;
+
+    private String customerName;
+
+    private String customerPhone;
+
+    private BigDecimal finalAmount;
+
+    private OrderStatus status;
+
+    private String statusText;
+
+    private String paymentStatus;
+
+    /**
+     * 下单时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 事件发生时间
+     */
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,63 @@
+package com.flower.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 订单报价结果DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteDTO {
+    /**
+     * 报价明细
+     */
+    private List<QuoteLine> lines;
+
+    /**
+     * 商品总金额
+     */
+    private BigDecimal totalAmount;
+
+    /**
+     * 配送费
+     */
+    private BigDecimal deliveryFee;
+
+    /**
+     * 优惠金额
+     */
+    private BigDecimal discountAmount;
+
+    /**
+     * 命中的优惠活动名称（无优惠时为空）
+     */
+    private String promotionName;
+
+    /**
+     * 实付金额（商品总金额 - 优惠金额 + 配送费）
+     */
+    private BigDecimal finalAmount;
+
+    /**
+     * 报价明细行
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteLine {
+        private Long productId;
+        private String productName;
+        private BigDecimal unitPrice;
+        private Integer quantity;
+        private BigDecimal subtotal;
+    }
+}
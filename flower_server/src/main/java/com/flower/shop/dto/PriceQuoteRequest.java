@@ -0,0 +1,39 @@
+package com.flower.shop.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 订单报价请求DTO（购物车预览）
+ */
+@Data
+public class PriceQuoteRequest {
+
+    /**
+     * 报价商品列表（限制条数，避免单次请求占用过多价格快照查询）
+     */
+    @NotEmpty(message = "报价商品不能为空")
+    @Size(max = 50, message = "报价商品不能超过50种")
+    @Valid
+    private List<QuoteItem> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteItem {
+        @NotNull(message = "商品ID不能为空")
+        private Long productId;
+
+        @NotNull(message = "商品数量不能为空")
+        @Min(value = 1, message = "商品数量至少为1")
+        private Integer quantity;
+    }
+}
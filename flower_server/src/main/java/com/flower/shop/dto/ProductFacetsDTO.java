@@ -0,0 +1,70 @@
+package com.flower.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 商品搜索分面统计DTO
+ *
+ * 每个分面的计数按"其他分面的已选条件 + 关键词/状态条件"统计（不受本分面自身已选值影响），
+ * 侧边栏可据此直接展示每个选项切换后的结果数，并禁用计数为 0 的选项
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDTO {
+
+    /**
+     * 满足全部条件的商品数
+     */
+    private Long total;
+
+    /**
+     * 分类分面（按分类排序值排序）
+     */
+    private List<FacetCount> categories;
+
+    /**
+     * 价格区间分面，value 形如 "100-199.99"，末尾区间形如 "500-"
+     */
+    private List<FacetCount> priceBuckets;
+
+    /**
+     * 库存状态分面：in_stock、low_stock、out_of_stock
+     */
+    private List<FacetCount> stockStatus;
+
+    /**
+     * 推荐分面：1-推荐、0-普通
+     */
+    private List<FacetCount> featured;
+
+    /**
+     * 分面选项计数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+
+        /**
+         * 选项值（对应搜索请求中的取值）
+         */
+        private String value;
+
+        /**
+         * 展示名称
+         */
+        private String label;
+
+        /**
+         * 商品数
+         */
+        private Long count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.flower.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 用户名、手机号可用性DTO（未查询的字段为 null）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAvailabilityDTO {
+
+    /**
+     * 用户名是否可用
+     */
+    private Boolean usernameAvailable;
+
+    /**
+     * 手机号是否可用
+     */
+    private Boolean phoneAvailable;
+}
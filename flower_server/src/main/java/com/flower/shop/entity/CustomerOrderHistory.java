@@ -0,0 +1,155 @@
+package com.flower.shop.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import com.flower.shop.enums.OrderStatus;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 客户订单历史投影实体类
+ *
+ * 设计说明：
+ * - 按手机号/用户ID反规范化的订单历史，一个订单对应一行
+ * - 下单时插入；订单状态流转时原地更新状态、支付状态与备注（其余字段下单后不变），不删除
+ * - 冗余商品摘要，订单历史页无需再查询订单项
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("customer_order_history")
+public class CustomerOrderHistory {
+
+    /**
+     * 主键
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 订单ID
+     */
+    @TableField("order_id")
+    private Long orderId;
+
+    /**
+     * 订单号
+     */
+    @TableField("order_no")
+    private String orderNo;
+
+    /**
+     * 关联的用户ID（游客订单为空）
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 客户姓名
+     */
+    @TableField("customer_name")
+    private String customerName;
+
+    /**
+     * 客户手机号
+     */
+    @TableField("customer_phone")
+    private String customerPhone;
+
+    /**
+     * 订单总金额
+     */
+    @TableField("total_amount")
+    private BigDecimal totalAmount;
+
+    /**
+     * 配送费
+     */
+    @TableField("delivery_fee")
+    private BigDecimal deliveryFee;
+
+    /**
+     * 优惠金额
+     */
+    @TableField("discount_amount")
+    private BigDecimal discountAmount;
+
+    /**
+     * 实付金额
+     */
+    @TableField("final_amount")
+    private BigDecimal finalAmount;
+
+    /**
+     * 订单状态
+     */
+    @TableField("status")
+    private OrderStatus status;
+
+    /**
+     * 支付方式: ALIPAY, WECHAT, ON_DELIVERY
+     */
+    @TableField("payment_method")
+    private String paymentMethod;
+
+    /**
+     * 支付状态: PENDING, PAID, REFUNDED
+     */
+    @TableField("payment_status")
+    private String paymentStatus;
+
+    /**
+     * 配送开始时间
+     */
+    @TableField("delivery_start_time")
+    private LocalDateTime deliveryStartTime;
+
+    /**
+     * 配送结束时间
+     */
+    @TableField("delivery_end_time")
+    private LocalDateTime deliveryEndTime;
+
+    /**
+     * 订单备注
+     */
+    @TableField("notes")
+    private String notes;
+
+    /**
+     * 贺卡内容
+     */
+    @TableField("card_content")
+    private String cardContent;
+
+    /**
+     * 贺卡署名
+     */
+    @TableField("card_sender")
+    private String cardSender;
+
+    /**
+     * 订单项数量
+     */
+    @TableField("item_count")
+    private Integer itemCount;
+
+    /**
+     * 商品摘要，如：红玫瑰花束 x2，百合 x1
+     */
+    @TableField("item_summary")
+    private String itemSummary;
+
+    /**
+     * 下单时间（与订单创建时间一致，用于排序）
+     */
+    @TableField("order_created_at")
+    private LocalDateTime orderCreatedAt;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "updated_at", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
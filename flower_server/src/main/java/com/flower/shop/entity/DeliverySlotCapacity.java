@@ -0,0 +1,57 @@
+package com.flower.shop.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 配送时段容量实体类
+ *
+ * 设计说明：
+ * - 每个配送日期 + 时段一行，记录容量与已预约数
+ * - 各节点以内存计数器预约，增量定时累加到此表，并从此表同步总数；重启时从此表恢复
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("delivery_slot_capacity")
+public class DeliverySlotCapacity {
+
+    /**
+     * 主键
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 配送日期
+     */
+    @TableField("delivery_date")
+    private LocalDate deliveryDate;
+
+    /**
+     * 时段名称：MORNING/AFTERNOON/EVENING/ASAP
+     */
+    @TableField("slot_code")
+    private String slotCode;
+
+    /**
+     * 可接单量
+     */
+    @TableField("capacity")
+    private Integer capacity;
+
+    /**
+     * 已预约数
+     */
+    @TableField("reserved")
+    private Integer reserved;
+
+    /**
+     * 更新时间
+     */
+    @TableField(value = "updated_at", fill = FieldFill.INSERT_UPDATE)
+    private LocalDateTime updatedAt;
+}
@@ -57,6 +57,18 @@ public class Order {
     @TableField("delivery_fee")
     private BigDecimal deliveryFee;
 
+    /**
+     * 优惠金额（命中满减活动时的减免金额）
+     */
+    @TableField("discount_amount")
+    private BigDecimal discountAmount;
+
+    /**
+     * 配送时段：MORNING/AFTERNOON/EVENING/ASAP
+     */
+    @TableField("delivery_slot")
+    private String deliverySlot;
+
     /**
      * 配送开始时间
      */
@@ -99,7 +111,7 @@ public class Order {
     private BigDecimal totalAmount;
 
     /**
-     * 最终金额（总金额 + 配送费）
+     * 最终金额（总金额 - 优惠金额 + 配送费）
      */
     @TableField("final_amount")
     private BigDecimal finalAmount;
@@ -158,6 +170,12 @@ public class Order {
     @TableField(exist = false)
     private Integer itemCount;
 
+    /**
+     * 商品摘要（临时存储，用于订单历史列表显示）
+     */
+    @TableField(exist = false)
+    private String itemSummary;
+
     /**
      * 订单状态文本
      */
@@ -0,0 +1,39 @@
+package com.flower.shop.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已吊销令牌实体类
+ */
+@Data
+@Accessors(chain = true)
+@TableName("revoked_token")
+public class RevokedToken {
+
+    /**
+     * 主键
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 令牌ID（jti）
+     */
+    private String jti;
+
+    /**
+     * 令牌原过期时间，过期后记录可删除
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * 吊销时间（数据库时间，节点间按该字段增量同步）
+     */
+    private LocalDateTime revokedAt;
+}
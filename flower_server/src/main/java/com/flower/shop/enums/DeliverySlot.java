@@ -0,0 +1,112 @@
+package com.flower.shop.enums;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 配送时段枚举
+ *
+ * 设计说明：
+ * - 预定义结账页可选的配送时段，value 与前端提交的 deliveryTime 一致
+ * - 下单时按 value 直接查表，不再逐次解析时间字符串
+ */
+public enum DeliverySlot {
+    /**
+     * 上午
+     */
+    MORNING("09:00-12:00", "上午", LocalTime.of(9, 0), LocalTime.of(12, 0)),
+
+    /**
+     * 下午
+     */
+    AFTERNOON("12:00-18:00", "下午", LocalTime.of(12, 0), LocalTime.of(18, 0)),
+
+    /**
+     * 晚上
+     */
+    EVENING("18:00-21:00", "晚上", LocalTime.of(18, 0), LocalTime.of(21, 0)),
+
+    /**
+     * 尽快送达（下单后2小时内）
+     */
+    ASAP("尽快送达", "尽快送达", null, null);
+
+    /**
+     * 当日时段截单缓冲（小时），与结账页保持一致
+     */
+    private static final int CUTOFF_BUFFER_HOURS = 1;
+
+    /**
+     * 尽快送达的配送窗口（小时）
+     */
+    private static final int ASAP_WINDOW_HOURS = 2;
+
+    private static final Map<String, DeliverySlot> BY_VALUE = new HashMap<>();
+
+    static {
+        for (DeliverySlot slot : values()) {
+            BY_VALUE.put(slot.value, slot);
+        }
+    }
+
+    private final String value;
+
+    private final String label;
+
+    private final LocalTime startTime;
+
+    private final LocalTime endTime;
+
+    DeliverySlot(String value, String label, LocalTime startTime, LocalTime endTime) {
+        this.value = value;
+        this.label = label;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isAsap() {
+        return this == ASAP;
+    }
+
+    /**
+     * 配送窗口开始时间
+     */
+    public LocalDateTime windowStart(LocalDate date, LocalDateTime now) {
+        return isAsap() ? now : LocalDateTime.of(date, startTime);
+    }
+
+    /**
+     * 配送窗口结束时间
+     */
+    public LocalDateTime windowEnd(LocalDate date, LocalDateTime now) {
+        return isAsap() ? now.plusHours(ASAP_WINDOW_HOURS) : LocalDateTime.of(date, endTime);
+    }
+
+    /**
+     * 判断该时段在指定时间点是否还可下单（当日时段需在结束前1小时下单）
+     */
+    public boolean isOpen(LocalDate date, LocalDateTime now) {
+        if (isAsap()) {
+            return true;
+        }
+        return now.plusHours(CUTOFF_BUFFER_HOURS).isBefore(LocalDateTime.of(date, endTime));
+    }
+
+    /**
+     * 根据前端提交的值获取时段，未知值返回 null
+     */
+    public static DeliverySlot fromValue(String value) {
+        return value == null ? null : BY_VALUE.get(value.trim());
+    }
+}
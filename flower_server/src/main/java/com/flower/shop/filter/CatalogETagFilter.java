@@ -0,0 +1,105 @@
+package com.flower.shop.filter;
+
+import com.flower.shop.config.CatalogCacheConfig;
+import com.flower.shop.service.CatalogVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * 商品目录 ETag 过滤器
+ *
+ * 功能说明：
+ * - 目录读接口（GET /products/search、/products/facets、/products/{id}、/categories/list、/categories/{id}）
+ *   的 ETag 由目录版本号计算，不依赖响应内容
+ * - If-None-Match 命中时直接返回 304，不进入控制器、不查询数据库
+ * - 未命中时把 ETag 放入请求属性，由 CatalogETagResponseAdvice 仅在业务成功时写入响应头
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+@RequiredArgsConstructor
+public class CatalogETagFilter extends OncePerRequestFilter {
+
+    /**
+     * 本次请求的 ETag（请求属性名）
+     */
+    public static final String ETAG_ATTRIBUTE = CatalogETagFilter.class.getName() + ".ETAG";
+
+    private static final Pattern CATALOG_PATH = Pattern.compile(
+            "/products/(search|facets|\\d+)|/categories/(list|\\d+)");
+
+    private static final String SORT_BY_SALES = "sales";
+
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheConfig catalogCacheConfig;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!catalogCacheConfig.isEtagEnabled() || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !CATALOG_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String etag = currentETag(request);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            return;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 弱 ETag：W/"c{目录版本}"，按销量排序时追加当前销量时间窗口
+     */
+    private String currentETag(HttpServletRequest request) {
+        StringBuilder etag = new StringBuilder("W/\"c").append(catalogVersionService.current());
+        if (SORT_BY_SALES.equals(request.getParameter("sortBy"))) {
+            long windowMs = Math.max(1, catalogCacheConfig.getSalesWindowSeconds()) * 1000;
+            etag.append("-s").append(System.currentTimeMillis() / windowMs);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * If-None-Match 使用弱比较，可携带多个以逗号分隔的 ETag
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,317 @@
+package com.flower.shop.filter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flower.shop.config.CatalogCacheConfig;
+import com.flower.shop.dto.ProductSearchRequest;
+import com.flower.shop.service.CatalogResponseCache;
+import com.flower.shop.service.CatalogResponseCache.CachedResponse;
+import com.flower.shop.service.CatalogVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * 商品目录响应缓存过滤器
+ *
+ * 功能说明：
+ * - 匿名访客的目录读请求（GET /products/search、/products/facets、/products/{id}、/categories/list、/categories/{id}
+ *   以及 POST /products/search）对所有人结果相同，命中时直接写出缓存的响应字节
+ * - 搜索请求按 ProductSearchRequest 归一化后作为 key，GET 查询参数与 POST 请求体条件相同即共用缓存
+ * - 只缓存业务成功的响应（由 CatalogETagResponseAdvice 标记），携带 Authorization 的请求不经过缓存
+ * - 在 CatalogETagFilter 之后执行：能返回 304 的请求不会走到这里
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 50)
+@RequiredArgsConstructor
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * 响应可缓存标记（请求属性名）
+     */
+    public static final String CACHEABLE_ATTRIBUTE = CatalogResponseCacheFilter.class.getName() + ".CACHEABLE";
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Pattern CATALOG_GET_PATH = Pattern.compile(
+            "/products/(search|facets|\\d+)|/categories/(list|\\d+)");
+
+    private static final String SEARCH_PATH = "/products/search";
+
+    private static final String SORT_BY_SALES = "sales";
+
+    /**
+     * 可参与缓存的搜索请求体上限，超出的请求直接放行
+     */
+    private static final int MAX_SEARCH_BODY_BYTES = 4096;
+
+    private final CatalogResponseCache catalogResponseCache;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheConfig catalogCacheConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!catalogCacheConfig.isResponseCacheEnabled()
+                || StringUtils.hasText(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            return true;
+        }
+        String path = pathOf(request);
+        return switch (request.getMethod()) {
+            case "GET" -> !CATALOG_GET_PATH.matcher(path).matches();
+            case "POST" -> !SEARCH_PATH.equals(path);
+            default -> true;
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        HttpServletRequest requestToUse = request;
+        ProductSearchRequest searchRequest = null;
+        String path = pathOf(request);
+
+        if ("POST".equals(request.getMethod())) {
+            int contentLength = request.getContentLength();
+            if (contentLength < 0 || contentLength > MAX_SEARCH_BODY_BYTES) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            byte[] body = request.getInputStream().readAllBytes();
+            requestToUse = new CachedBodyRequest(request, body);
+            searchRequest = readSearchRequest(body);
+        } else if (SEARCH_PATH.equals(path)) {
+            searchRequest = bindSearchRequest(request);
+        }
+
+        String key = buildKey(request, path, searchRequest);
+        if (key == null) {
+            filterChain.doFilter(requestToUse, response);
+            return;
+        }
+
+        CachedResponse cached = catalogResponseCache.get(key);
+        if (cached == null) {
+            CompletableFuture<CachedResponse> load = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> inFlight = catalogResponseCache.beginLoad(key, load);
+            if (inFlight == null) {
+                loadAndCache(requestToUse, response, filterChain, key, searchRequest, load);
+                return;
+            }
+            cached = awaitInFlight(inFlight);
+            if (cached == null) {
+                filterChain.doFilter(requestToUse, response);
+                return;
+            }
+        }
+        writeCached(request, response, cached);
+    }
+
+    /**
+     * 首个未命中的请求：执行查询、捕获响应字节并写入缓存，同时唤醒等待中的相同请求
+     */
+    private void loadAndCache(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+            String key, ProductSearchRequest searchRequest, CompletableFuture<CachedResponse> load)
+            throws ServletException, IOException {
+
+        long version = catalogVersionService.current();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        CachedResponse loaded = null;
+        try {
+            responseWrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+            filterChain.doFilter(request, responseWrapper);
+            if (Boolean.TRUE.equals(request.getAttribute(CACHEABLE_ATTRIBUTE))
+                    && responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+                loaded = catalogResponseCache.put(key, version, responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray(), expiresAt(searchRequest));
+            }
+        } finally {
+            catalogResponseCache.finishLoad(key, load, loaded);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private CachedResponse awaitInFlight(CompletableFuture<CachedResponse> inFlight) {
+        try {
+            return inFlight.get(catalogCacheConfig.getResponseCacheCoalesceWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+            throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.getContentType());
+        response.setContentLength(cached.getBody().length);
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        Object etag = request.getAttribute(CatalogETagFilter.ETAG_ATTRIBUTE);
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, (String) etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    /**
+     * 缓存 key：搜索请求为归一化后的查询条件，其他请求为路径加排序后的查询参数
+     */
+    private String buildKey(HttpServletRequest request, String path, ProductSearchRequest searchRequest) {
+        if (SEARCH_PATH.equals(path)) {
+            if (searchRequest == null) {
+                return null;
+            }
+            Map<String, Object> criteria = objectMapper.convertValue(searchRequest,
+                    new TypeReference<TreeMap<String, Object>>() {
+                    });
+            criteria.values().removeIf(value -> value == null || "".equals(value));
+            return "search " + criteria;
+        }
+        Map<String, String> params = new TreeMap<>();
+        request.getParameterMap().forEach((name, values) -> params.put(name, Arrays.toString(values)));
+        return "GET " + path + " " + params;
+    }
+
+    /**
+     * 按销量排序的结果随订单变化，与 ETag 使用相同的时间窗口过期
+     */
+    private long expiresAt(ProductSearchRequest searchRequest) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + catalogCacheConfig.getResponseCacheTtlSeconds() * 1000;
+        if (searchRequest != null && SORT_BY_SALES.equals(searchRequest.getSortBy())) {
+            long windowMs = Math.max(1, catalogCacheConfig.getSalesWindowSeconds()) * 1000;
+            expiresAt = Math.min(expiresAt, (now / windowMs + 1) * windowMs);
+        }
+        return expiresAt;
+    }
+
+    private ProductSearchRequest readSearchRequest(byte[] body) {
+        try {
+            return objectMapper.readValue(body, ProductSearchRequest.class);
+        } catch (IOException e) {
+            // 请求体无法解析时交给控制器返回校验错误，不缓存
+            return null;
+        }
+    }
+
+    private ProductSearchRequest bindSearchRequest(HttpServletRequest request) {
+        Map<String, String> params = new TreeMap<>();
+        request.getParameterMap().forEach((name, values) -> params.put(name, values[0]));
+        try {
+            return objectMapper.convertValue(params, ProductSearchRequest.class);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * 已读取请求体的请求包装，供后续过滤器与控制器重复读取
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * 请求体已全部在内存中：立即通知可读，读完后通知读取结束
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
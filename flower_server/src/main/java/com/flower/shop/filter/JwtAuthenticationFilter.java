@@ -1,11 +1,17 @@
 package com.flower.shop.filter;
 
+import com.flower.shop.service.TokenService;
 import com.flower.shop.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,71 +22,107 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT认证过滤器
  *
  * 功能说明：
  * - 从请求头中提取JWT Token
- * - 验证Token的有效性
+ * - 验证Token的有效性（签名、过期、令牌类型、是否已吊销，见 TokenService）
  * - 将用户信息设置到Spring Security上下文中
+ * - 记录认证耗时（flower.jwt.filter，按 outcome 打标签）
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String TOKEN_HEADER = "Authorization";
     private static final String TOKEN_PREFIX = "Bearer ";
 
+    /**
+     * SSE 订阅接口（浏览器 EventSource 无法设置请求头，允许通过查询参数传递Token）
+     */
+    private static final String EVENT_STREAM_PATH = "/dashboard/order-stream";
+    private static final String TOKEN_PARAM = "access_token";
+
+    /**
+     * 刷新令牌与登出接口：请求头中可能仍带着已过期的访问令牌，不做认证（令牌由接口自行处理）
+     */
+    private static final Set<String> TOKEN_PATHS = Set.of("/auth/refresh", "/auth/logout");
+
+    private final TokenService tokenService;
+    private final MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        String outcome = "anonymous";
         try {
             // 1. 从请求头中提取Token
             String token = extractTokenFromRequest(request);
 
             if (StringUtils.hasText(token)) {
-                // 2. 验证Token并提取用户信息
-                String username = JwtUtil.getUsernameFromToken(token);
-                String role = JwtUtil.getRoleFromToken(token);
-
-                // 3. 检查Token是否过期
-                if (!JwtUtil.isTokenExpired(token)) {
-                    // 4. 创建认证对象
-                    // 直接使用从JWT中获取的角色，它已经是ROLE_格式
-                    List<SimpleGrantedAuthority> authorities = List.of(
-                            new SimpleGrantedAuthority(role));
-
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            username, null, authorities);
-
-                    // 将userId放入details中，方便Service层获取
-                    Long userId = JwtUtil.getUserIdFromToken(token);
-                    authentication.setDetails(userId);
-
-                    // 5. 设置到Security上下文
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                    log.debug("JWT认证成功，用户: {}, 角色: {}", username, role);
-                } else {
-                    log.warn("JWT Token已过期: {}", username);
-                }
+                // 2. 验证Token（签名、过期、类型、吊销）并提取用户信息，只解析一次
+                Claims claims = tokenService.parseAccessToken(token);
+                String username = claims.getSubject();
+                String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+
+                // 3. 创建认证对象
+                // 直接使用从JWT中获取的角色，它已经是ROLE_格式
+                List<SimpleGrantedAuthority> authorities = List.of(
+                        new SimpleGrantedAuthority(role));
+
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        username, null, authorities);
+
+                // 将userId放入details中，方便Service层获取
+                authentication.setDetails(claims.get(JwtUtil.CLAIM_USER_ID, Long.class));
+
+                // 4. 设置到Security上下文
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                outcome = "authenticated";
+                log.debug("JWT认证成功，用户: {}, 角色: {}", username, role);
             }
+        } catch (ExpiredJwtException e) {
+            // 访问令牌过期：返回 401，客户端用刷新令牌换取新令牌
+            log.debug("JWT Token已过期: {}", e.getClaims().getSubject());
+            SecurityContextHolder.clearContext();
+            recordAuthentication(start, "expired");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
         } catch (Exception e) {
             log.error("JWT认证失败", e);
             // 清理认证上下文
             SecurityContextHolder.clearContext();
+            recordAuthentication(start, "invalid");
             // 返回 401 未授权状态码
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
+        recordAuthentication(start, outcome);
 
         // 继续过滤器链
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 记录Token解析与认证耗时（不含后续过滤器与业务处理）
+     */
+    private void recordAuthentication(long start, String outcome) {
+        Timer.builder("flower.jwt.filter")
+                .description("JWT认证耗时")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * 从请求中提取JWT Token
      */
@@ -91,6 +133,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return bearerToken.substring(TOKEN_PREFIX.length());
         }
 
+        if (request.getRequestURI().endsWith(EVENT_STREAM_PATH)) {
+            return request.getParameter(TOKEN_PARAM);
+        }
+
         return null;
     }
 
@@ -100,6 +146,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
+        if (TOKEN_PATHS.contains(path.substring(request.getContextPath().length()))) {
+            return true;
+        }
 
         // 跳过这些路径的JWT验证
         return path.startsWith("/test/") ||
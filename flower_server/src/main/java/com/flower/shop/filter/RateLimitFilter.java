@@ -0,0 +1,134 @@
+package com.flower.shop.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flower.shop.common.Result;
+import com.flower.shop.config.RateLimitConfig;
+import com.flower.shop.service.RateLimitBackend;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 接口限流过滤器
+ *
+ * 设计说明：
+ * - 按 flower-shop.rate-limit.routes 配置的规则限流（登录、注册、下单、按手机号查订单等公开接口），
+ *   令牌桶键为"规则名 + 客户端 IP / 登录用户 ID"，令牌不足时返回 429 + Retry-After
+ * - 在认证过滤器之后、目录缓存过滤器之前执行：可按用户限流，缓存命中的请求同样计入
+ * - 令牌桶存储可替换（RateLimitBackend），默认进程内，多节点部署时配置 backend=jdbc 共享
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 200)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final long MICROS_PER_MINUTE = TimeUnit.MINUTES.toMicros(1);
+
+    private final RateLimitConfig rateLimitConfig;
+    private final Map<String, RateLimitBackend> backends;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitConfig rateLimitConfig, List<RateLimitBackend> backends,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.backends = backends.stream().collect(Collectors.toMap(RateLimitBackend::name, Function.identity()));
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitConfig.isEnabled() || rateLimitConfig.getRoutes().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitBackend backend = null;
+        for (RateLimitConfig.Route route : rateLimitConfig.getRoutes()) {
+            if (!matches(route, request.getMethod(), path)) {
+                continue;
+            }
+            if (backend == null) {
+                backend = backend();
+            }
+            String key = route.getName() + ":" + clientKey(route, request);
+            long intervalMicros = MICROS_PER_MINUTE / Math.max(1, route.getPerMinute());
+            long waitMillis = backend.tryAcquire(key, intervalMicros, Math.max(1, route.getCapacity()));
+            if (waitMillis > 0) {
+                Counter.builder("flower.rate-limit.rejected")
+                        .description("被限流拒绝的请求")
+                        .tag("route", route.getName())
+                        .register(meterRegistry)
+                        .increment();
+                log.debug("请求被限流，规则: {}, 键: {}, 需等待 {}ms", route.getName(), key, waitMillis);
+                reject(response, waitMillis);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitBackend backend() {
+        RateLimitBackend backend = backends.get(rateLimitConfig.getBackend());
+        if (backend == null) {
+            throw new IllegalStateException("未知的限流存储：" + rateLimitConfig.getBackend());
+        }
+        return backend;
+    }
+
+    private static boolean matches(RateLimitConfig.Route route, String method, String path) {
+        return (route.getMethod() == null || route.getMethod().equalsIgnoreCase(method))
+                && PATH_MATCHER.match(route.getPath(), path);
+    }
+
+    /**
+     * user 维度按登录用户 ID，未登录及 ip 维度按客户端 IP（经反向代理时由 forward-headers-strategy 还原）
+     */
+    private static String clientKey(RateLimitConfig.Route route, HttpServletRequest request) {
+        if ("user".equals(route.getKey())) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && auth.getDetails() instanceof Long userId) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                Result.error(HttpStatus.TOO_MANY_REQUESTS.value(), "请求过于频繁，请稍后重试"));
+    }
+}
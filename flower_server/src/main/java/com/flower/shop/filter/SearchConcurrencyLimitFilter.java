@@ -0,0 +1,129 @@
+package com.flower.shop.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flower.shop.common.Result;
+import com.flower.shop.config.QueryGuardConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * 搜索接口并发限制过滤器
+ *
+ * 设计说明：
+ * - 商品搜索、分面统计和订单查询按条件扫描大量数据，同一客户端（登录用户 ID，匿名时为 IP）
+ *   同时执行的请求数超过上限时直接返回 429 + Retry-After，不排队占用线程和连接
+ * - 位于响应缓存过滤器之后：命中缓存或 304 的请求不计入
+ * - 计数表只保存有进行中请求的客户端，计数归零即移除，大小受并发请求数约束
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class SearchConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern LIMITED_PATH = Pattern.compile(
+            "/products/(search|facets)|/orders/(search|my|by-phone)");
+
+    private final QueryGuardConfig queryGuardConfig;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedCounter;
+
+    /**
+     * 客户端 -> 进行中的搜索请求数
+     */
+    private final ConcurrentHashMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    public SearchConcurrencyLimitFilter(QueryGuardConfig queryGuardConfig, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.queryGuardConfig = queryGuardConfig;
+        this.objectMapper = objectMapper;
+        this.rejectedCounter = Counter.builder("flower.search.rejected")
+                .description("超出单客户端并发上限被拒绝的搜索请求")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (queryGuardConfig.getSearchConcurrencyPerClient() <= 0) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !LIMITED_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String client = clientKey(request);
+        if (!tryAcquire(client)) {
+            rejectedCounter.increment();
+            log.debug("搜索请求超出并发上限，客户端: {}, 路径: {}", client, request.getRequestURI());
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            release(client);
+        }
+    }
+
+    private boolean tryAcquire(String client) {
+        int limit = queryGuardConfig.getSearchConcurrencyPerClient();
+        AtomicBoolean acquired = new AtomicBoolean();
+        inFlight.compute(client, (key, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= limit) {
+                return count;
+            }
+            acquired.set(true);
+            return current + 1;
+        });
+        return acquired.get();
+    }
+
+    private void release(String client) {
+        inFlight.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 登录用户按用户 ID，匿名请求按客户端 IP（经反向代理时由 forward-headers-strategy 还原）
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getDetails() instanceof Long userId) {
+            return "user:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(queryGuardConfig.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                Result.error(HttpStatus.TOO_MANY_REQUESTS.value(), "请求过于频繁，请稍后重试"));
+    }
+}
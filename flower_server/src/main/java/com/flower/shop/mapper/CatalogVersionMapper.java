@@ -0,0 +1,29 @@
+package com.flower.shop.mapper;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 商品目录版本Mapper接口（单行表，多节点共享目录版本号）
+ */
+@Mapper
+public interface CatalogVersionMapper {
+
+    @Select("SELECT version FROM catalog_version WHERE id = 1")
+    Long selectVersion();
+
+    /**
+     * 初始化版本行（已存在时忽略）
+     */
+    @Insert("INSERT IGNORE INTO catalog_version (id, version) VALUES (1, #{version})")
+    int insertIfAbsent(@Param("version") long version);
+
+    /**
+     * 版本号递增（调用方在独立的短事务中执行并立即提交，行锁只持有到该事务结束）
+     */
+    @Update("UPDATE catalog_version SET version = version + 1 WHERE id = 1")
+    int increment();
+}
@@ -1,8 +1,12 @@
 package com.flower.shop.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.flower.shop.dto.CategorySortItem;
 import com.flower.shop.entity.Category;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 商品分类Mapper接口
@@ -14,4 +18,11 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface CategoryMapper extends BaseMapper<Category> {
+
+    /**
+     * 批量更新分类排序值（单条 CASE WHEN 更新）
+     *
+     * @return 匹配的行数
+     */
+    int batchUpdateSortOrder(@Param("items") List<CategorySortItem> items);
 }
\ No newline at end of file
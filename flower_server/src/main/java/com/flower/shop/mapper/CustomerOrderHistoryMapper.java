@@ -0,0 +1,44 @@
+package com.flower.shop.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.flower.shop.entity.CustomerOrderHistory;
+import com.flower.shop.entity.Order;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 客户订单历史投影Mapper接口
+ *
+ * 功能说明：
+ * - 按手机号/用户ID分页查询订单历史（走 (customer_phone|user_id, order_created_at) 复合索引）
+ * - 订单状态流转时同步状态字段
+ */
+@Mapper
+public interface CustomerOrderHistoryMapper extends BaseMapper<CustomerOrderHistory> {
+
+    /**
+     * 根据客户手机号分页查询订单历史
+     */
+    IPage<Order> selectPageByPhone(IPage<Order> page, @Param("phone") String phone,
+                    @Param("status") String status);
+
+    /**
+     * 根据用户ID分页查询订单历史
+     */
+    IPage<Order> selectPageByUserId(IPage<Order> page, @Param("userId") Long userId,
+                    @Param("status") String status);
+
+    /**
+     * 同步订单状态与支付状态
+     */
+    int updateStatusByOrderId(@Param("orderId") Long orderId, @Param("status") String status,
+                    @Param("paymentStatus") String paymentStatus, @Param("notes") String notes);
+
+    /**
+     * 按订单表当前值批量同步状态、支付状态与备注
+     */
+    int syncStatusByOrderIds(@Param("orderIds") List<Long> orderIds);
+}
@@ -0,0 +1,29 @@
+package com.flower.shop.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.flower.shop.entity.DeliverySlotCapacity;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 配送时段容量Mapper接口
+ */
+@Mapper
+public interface DeliverySlotCapacityMapper extends BaseMapper<DeliverySlotCapacity> {
+
+    /**
+     * 查询指定日期及之后的时段容量（启动时恢复内存计数器）
+     */
+    @Select("SELECT id, delivery_date, slot_code, capacity, reserved, updated_at " +
+            "FROM delivery_slot_capacity WHERE delivery_date >= #{fromDate}")
+    List<DeliverySlotCapacity> selectFromDate(@Param("fromDate") LocalDate fromDate);
+
+    /**
+     * 批量累加时段预约数（多行 INSERT ... ON DUPLICATE KEY UPDATE），reserved 字段为本周期增量
+     */
+    int batchIncrement(@Param("list") List<DeliverySlotCapacity> list);
+}
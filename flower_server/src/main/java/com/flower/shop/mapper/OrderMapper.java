@@ -184,4 +184,35 @@ public interface OrderMapper extends BaseMapper<Order> {
          */
         Order selectOrderDetail(@Param("orderId") Long orderId);
 
-}
\ No newline at end of file
+        /**
+         * 查询等待在线支付的订单（用于启动时恢复超时取消队列）
+         */
+        @Select("SELECT id, created_at FROM orders " +
+                        "WHERE status = 'PENDING' AND payment_status = 'PENDING' " +
+                        "AND payment_method <> 'ON_DELIVERY'")
+        List<Order> selectAwaitingPaymentOrders();
+
+        /**
+         * 查询指定订单中仍在等待在线支付的订单（超时取消未命中时重新入队）
+         */
+        @Select("<script>SELECT id, created_at FROM orders " +
+                        "WHERE id IN <foreach collection='orderIds' item='orderId' open='(' separator=',' close=')'>#{orderId}</foreach> " +
+                        "AND status = 'PENDING' AND payment_status = 'PENDING' " +
+                        "AND payment_method &lt;&gt; 'ON_DELIVERY'</script>")
+        List<Order> selectAwaitingPaymentByIds(@Param("orderIds") List<Long> orderIds);
+
+        /**
+         * 锁定一批已超时仍未支付的订单（只返回释放配送时段与推送事件所需字段）
+         */
+        List<Order> selectExpiredUnpaidForUpdate(@Param("orderIds") List<Long> orderIds,
+                        @Param("cutoff") LocalDateTime cutoff);
+
+        /**
+         * 批量取消已超时仍未支付的订单（条件更新，已支付或已处理的订单不受影响）
+         *
+         * @return 取消的订单数
+         */
+        int cancelExpiredUnpaid(@Param("orderIds") List<Long> orderIds,
+                        @Param("cutoff") LocalDateTime cutoff, @Param("reason") String reason);
+
+}
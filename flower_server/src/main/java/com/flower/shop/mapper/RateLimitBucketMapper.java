@@ -0,0 +1,38 @@
+package com.flower.shop.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 限流令牌桶Mapper接口（多节点共享限流，tat 为理论到达时间，单位微秒）
+ */
+@Mapper
+public interface RateLimitBucketMapper {
+
+    /**
+     * 扣减一个令牌：补充与扣减在一条 UPDATE 中完成，令牌不足时不更新（返回 0）
+     */
+    @Update("UPDATE rate_limit_bucket SET tat = GREATEST(tat, #{now}) + #{interval} " +
+            "WHERE bucket_key = #{key} AND GREATEST(tat, #{now}) - #{now} <= #{tolerance}")
+    int consume(@Param("key") String key, @Param("now") long now,
+                @Param("interval") long interval, @Param("tolerance") long tolerance);
+
+    /**
+     * 新建令牌桶（已存在时忽略，返回 0）
+     */
+    @Insert("INSERT IGNORE INTO rate_limit_bucket (bucket_key, tat) VALUES (#{key}, #{tat})")
+    int insertIfAbsent(@Param("key") String key, @Param("tat") long tat);
+
+    @Select("SELECT tat FROM rate_limit_bucket WHERE bucket_key = #{key}")
+    Long selectTat(@Param("key") String key);
+
+    /**
+     * 删除已回满的令牌桶（分批）
+     */
+    @Delete("DELETE FROM rate_limit_bucket WHERE tat <= #{now} LIMIT #{limit}")
+    int deleteRefilled(@Param("now") long now, @Param("limit") int limit);
+}
@@ -0,0 +1,38 @@
+package com.flower.shop.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.flower.shop.entity.RevokedToken;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 已吊销令牌Mapper接口
+ */
+@Mapper
+public interface RevokedTokenMapper extends BaseMapper<RevokedToken> {
+
+    /**
+     * 查询 since 之后吊销且未过期的记录（增量同步，since 为空时查询全部）
+     */
+    @Select("<script>SELECT id, jti, expires_at, revoked_at FROM revoked_token WHERE expires_at &gt; #{now}" +
+            "<if test='since != null'> AND revoked_at &gt;= #{since}</if></script>")
+    List<RevokedToken> selectActiveSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * 写入吊销记录（重复吊销忽略）
+     */
+    @Insert("INSERT IGNORE INTO revoked_token (jti, expires_at) VALUES (#{jti}, #{expiresAt})")
+    int insertIgnore(@Param("jti") String jti, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 删除已过期的吊销记录
+     */
+    @Delete("DELETE FROM revoked_token WHERE expires_at <= #{now}")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
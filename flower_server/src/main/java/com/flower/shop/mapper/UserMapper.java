@@ -3,10 +3,18 @@ package com.flower.shop.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.flower.shop.entity.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 用户Mapper
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
-}
\ No newline at end of file
+
+    /**
+     * 批量更新最后登录时间（只使用 id、lastLogin 字段）
+     */
+    int batchUpdateLastLogin(@Param("items") List<User> items);
+}
@@ -6,7 +6,6 @@ import com.flower.shop.dto.LoginRequest;
 import com.flower.shop.dto.LoginResponse;
 import com.flower.shop.entity.User;
 import com.flower.shop.mapper.UserMapper;
-import com.flower.shop.util.JwtUtil;
 import com.flower.shop.util.PasswordUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,6 +21,10 @@ import java.time.format.DateTimeFormatter;
 public class AdminService {
 
     private final UserMapper userMapper;
+    private final UserCredentialCache userCredentialCache;
+    private final PasswordVerifier passwordVerifier;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final TokenService tokenService;
 
     /**
      * 检查系统是否已初始化（是否有管理员）
@@ -69,18 +72,14 @@ public class AdminService {
      * 管理员登录
      */
     public LoginResponse login(LoginRequest request) {
-        // 查找用户
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("username", request.getUsername());
-        queryWrapper.eq("is_active", true);
-
-        User user = userMapper.selectOne(queryWrapper);
+        // 查找用户（凭据缓存）
+        User user = userCredentialCache.getActiveUser(request.getUsername());
         if (user == null) {
             throw new IllegalArgumentException("用户名或密码错误");
         }
 
-        // 验证密码
-        if (!PasswordUtil.matches(request.getPassword(), user.getPassword())) {
+        // 验证密码（有界线程池）
+        if (!passwordVerifier.matches(request.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("用户名或密码错误");
         }
 
@@ -89,22 +88,24 @@ public class AdminService {
             throw new IllegalArgumentException("无权限访问管理员系统");
         }
 
-        // 更新最后登录时间
-        user.setLastLogin(LocalDateTime.now());
-        userMapper.updateById(user);
+        // 记录最后登录时间（批量异步落库）
+        LocalDateTime loginTime = LocalDateTime.now();
+        lastLoginRecorder.record(user.getId(), loginTime);
 
         // 生成JWT Token
-        String token = JwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
+        TokenService.TokenPair tokens = tokenService.issue(user);
 
         // 构建响应
         LoginResponse response = new LoginResponse();
-        response.setToken(token);
+        response.setToken(tokens.accessToken());
+        response.setRefreshToken(tokens.refreshToken());
+        response.setExpiresIn(tokens.expiresIn());
         response.setUserId(user.getId());
         response.setUsername(user.getUsername());
         response.setRole(user.getRole());
         response.setEmail(user.getEmail());
         response.setPhone(user.getPhone());
-        response.setLastLogin(user.getLastLogin().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        response.setLastLogin(loginTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
 
         return response;
     }
@@ -0,0 +1,221 @@
+package com.flower.shop.service;
+
+import com.flower.shop.config.CatalogCacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 商品目录响应缓存
+ *
+ * 设计说明：
+ * - 缓存已序列化的响应字节，命中时不再查询数据库、不再序列化
+ * - 每个条目记录生成时的目录版本，目录版本变化后整体失效
+ * - 按总字节数淘汰最久未访问的条目，超大响应不缓存
+ * - 同一 key 并发未命中时只放行一个请求查询，其余请求等待其结果（流量突增时避免击穿数据库）
+ * - 指标：flower.catalog.cache{result=hit|miss|coalesced}、flower.catalog.cache.bytes
+ */
+@Slf4j
+@Service
+public class CatalogResponseCache {
+
+    /**
+     * 淘汰时降到上限的该比例以下，避免每次写入都触发淘汰
+     */
+    private static final double EVICT_TARGET_RATIO = 0.9;
+
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheConfig catalogCacheConfig;
+
+    private final ConcurrentMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /**
+     * 当前缓存内容对应的目录版本
+     */
+    private volatile long cachedVersion;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+
+    public CatalogResponseCache(CatalogVersionService catalogVersionService,
+            CatalogCacheConfig catalogCacheConfig,
+            MeterRegistry meterRegistry) {
+        this.catalogVersionService = catalogVersionService;
+        this.catalogCacheConfig = catalogCacheConfig;
+        this.cachedVersion = catalogVersionService.current();
+        this.hitCounter = resultCounter(meterRegistry, "hit");
+        this.missCounter = resultCounter(meterRegistry, "miss");
+        this.coalescedCounter = resultCounter(meterRegistry, "coalesced");
+        Gauge.builder("flower.catalog.cache.bytes", totalBytes, AtomicLong::get)
+                .description("目录响应缓存占用字节数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 查询缓存，目录版本已变化或条目过期时视为未命中
+     */
+    public CachedResponse get(String key) {
+        syncVersion();
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            missCounter.increment();
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (cached.version != cachedVersion || now >= cached.expiresAt) {
+            remove(key, cached);
+            missCounter.increment();
+            return null;
+        }
+        cached.lastAccess = now;
+        hitCounter.increment();
+        return cached;
+    }
+
+    /**
+     * 登记对 key 的加载。返回 null 表示调用方负责加载，完成后必须调用 finishLoad；
+     * 否则返回正在进行的加载，调用方等待其结果
+     */
+    public CompletableFuture<CachedResponse> beginLoad(String key, CompletableFuture<CachedResponse> load) {
+        CompletableFuture<CachedResponse> existing = loading.putIfAbsent(key, load);
+        if (existing != null) {
+            coalescedCounter.increment();
+        }
+        return existing;
+    }
+
+    /**
+     * 结束加载并唤醒等待的请求；response 为 null 表示结果不可缓存，等待方需自行查询
+     */
+    public void finishLoad(String key, CompletableFuture<CachedResponse> load, CachedResponse response) {
+        loading.remove(key, load);
+        load.complete(response);
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key         请求 key
+     * @param version     开始处理请求时的目录版本
+     * @param contentType 响应类型
+     * @param body        已序列化的响应体
+     * @param expiresAt   过期时间戳
+     * @return 缓存条目；版本已变化或响应过大时仍返回条目供等待的请求使用，但不放入缓存
+     */
+    public CachedResponse put(String key, long version, String contentType, byte[] body, long expiresAt) {
+        CachedResponse response = new CachedResponse(version, contentType, body, expiresAt);
+        syncVersion();
+        if (version != cachedVersion || body.length > catalogCacheConfig.getResponseCacheMaxEntryKb() * 1024) {
+            return response;
+        }
+        CachedResponse previous = entries.put(key, response);
+        totalBytes.addAndGet(body.length - (previous != null ? previous.body.length : 0));
+        evictIfNeeded();
+        return response;
+    }
+
+    /**
+     * 目录版本变化后清空缓存（由读写路径惰性触发，无需订阅变更事件）
+     */
+    private void syncVersion() {
+        long current = catalogVersionService.current();
+        if (current == cachedVersion) {
+            return;
+        }
+        synchronized (this) {
+            if (current == cachedVersion) {
+                return;
+            }
+            cachedVersion = current;
+            int cleared = 0;
+            for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+                if (remove(entry.getKey(), entry.getValue())) {
+                    cleared++;
+                }
+            }
+            log.debug("目录版本更新为 {}，清空响应缓存 {} 条", current, cleared);
+        }
+    }
+
+    private void evictIfNeeded() {
+        long maxBytes = catalogCacheConfig.getResponseCacheMaxKb() * 1024;
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            if (totalBytes.get() <= maxBytes) {
+                return;
+            }
+            List<Map.Entry<String, CachedResponse>> snapshot = new ArrayList<>(entries.entrySet());
+            snapshot.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            long target = (long) (maxBytes * EVICT_TARGET_RATIO);
+            int evicted = 0;
+            for (Map.Entry<String, CachedResponse> entry : snapshot) {
+                if (totalBytes.get() <= target) {
+                    break;
+                }
+                if (remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+            log.debug("响应缓存超出上限，淘汰 {} 条", evicted);
+        }
+    }
+
+    private boolean remove(String key, CachedResponse cached) {
+        if (entries.remove(key, cached)) {
+            totalBytes.addAndGet(-cached.body.length);
+            return true;
+        }
+        return false;
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("flower.catalog.cache")
+                .description("目录响应缓存查询次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 已序列化的缓存响应
+     */
+    public static final class CachedResponse {
+
+        private final long version;
+        private final String contentType;
+        private final byte[] body;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private CachedResponse(long version, String contentType, byte[] body, long expiresAt) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
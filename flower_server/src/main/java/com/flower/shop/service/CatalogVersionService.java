@@ -0,0 +1,21 @@
+package com.flower.shop.service;
+
+/**
+ * 商品目录版本服务接口
+ *
+ * 功能说明：
+ * - 商品、分类、库存任何变更都使版本号递增
+ * - 目录类接口的 ETag、响应缓存与分面索引以版本号判断数据是否变化，多个节点共享同一版本号
+ */
+public interface CatalogVersionService {
+
+    /**
+     * 当前目录版本
+     */
+    long current();
+
+    /**
+     * 目录发生变更，递增版本号（事务内调用时在提交后生效）
+     */
+    void bump();
+}
@@ -0,0 +1,154 @@
+package com.flower.shop.service;
+
+import com.flower.shop.entity.Category;
+import com.flower.shop.mapper.CategoryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 商品分类注册表
+ *
+ * 设计说明：
+ * - 分类数据量小且极少变化，全部读路径（分类列表、分类详情、商品搜索结果中的分类名称）都读内存快照
+ * - 快照不可变：按 ID、按编码、按类型（FLOWER/PACKAGING）的索引与按 sortOrder 排好序的列表一次构建
+ * - 分类写操作提交后重新加载并整体替换快照（写时复制），读操作无锁
+ * - 首次访问时加载，容器启动阶段不访问数据库；定时重新加载兜底直接改库和多实例部署
+ * - 快照中的实体为共享对象，调用方不得修改
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private static final Comparator<Category> SORT_ORDER = Comparator
+            .comparing(Category::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Category::getId);
+
+    private final CategoryMapper categoryMapper;
+    private final CatalogVersionService catalogVersionService;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 全部分类（按 sortOrder、ID 排序）
+     */
+    public List<Category> all() {
+        return current().sorted();
+    }
+
+    /**
+     * 指定类型的分类（按 sortOrder、ID 排序），类型不存在时返回空列表
+     */
+    public List<Category> getByType(String type) {
+        return current().byType().getOrDefault(type, Collections.emptyList());
+    }
+
+    public Category getById(Long id) {
+        return id != null ? current().byId().get(id) : null;
+    }
+
+    public Category getByCode(String code) {
+        return code != null ? current().byCode().get(code) : null;
+    }
+
+    /**
+     * 分类名称，分类不存在时返回 null
+     */
+    public String getName(Long id) {
+        Category category = getById(id);
+        return category != null ? category.getName() : null;
+    }
+
+    /**
+     * 分类写操作后调用：事务内在提交后重新加载，否则立即重新加载
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    /**
+     * 从数据库重新加载并替换快照（串行执行，后开始的加载一定读到更新的数据）
+     */
+    public synchronized void refresh() {
+        snapshot = load();
+        log.debug("分类注册表已刷新，共 {} 个分类", snapshot.sorted().size());
+    }
+
+    /**
+     * 定时重新加载：兜底绕过服务层的改动，内容变化时同时更新目录版本
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.category.registry-refresh-ms:300000}",
+            initialDelayString = "${flower-shop.category.registry-refresh-ms:300000}")
+    public synchronized void reloadIfChanged() {
+        Snapshot previous = snapshot;
+        Snapshot loaded = load();
+        if (previous == null || !previous.sorted().equals(loaded.sorted())) {
+            snapshot = loaded;
+            if (previous != null) {
+                log.info("分类数据在服务层之外发生变化，已重新加载");
+                catalogVersionService.bump();
+            }
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<Category> sorted = categoryMapper.selectList(null).stream()
+                .sorted(SORT_ORDER)
+                .toList();
+
+        Map<Long, Category> byId = sorted.stream()
+                .collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity()));
+        Map<String, Category> byCode = sorted.stream()
+                .filter(category -> category.getCode() != null)
+                .collect(Collectors.toUnmodifiableMap(Category::getCode, Function.identity(), (first, second) -> first));
+        Map<String, List<Category>> byType = sorted.stream()
+                .filter(category -> category.getType() != null)
+                .collect(Collectors.groupingBy(Category::getType, LinkedHashMap::new, Collectors.toUnmodifiableList()));
+
+        return new Snapshot(sorted, byId, byCode, Collections.unmodifiableMap(byType));
+    }
+
+    /**
+     * 不可变分类快照
+     */
+    private record Snapshot(List<Category> sorted,
+                            Map<Long, Category> byId,
+                            Map<String, Category> byCode,
+                            Map<String, List<Category>> byType) {
+    }
+}
@@ -1,10 +1,10 @@
 package com.flower.shop.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.flower.shop.dto.CategorySortItem;
 import com.flower.shop.entity.Category;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * 商品分类服务接口
@@ -41,9 +41,9 @@ public interface CategoryService extends IService<Category> {
     boolean toggleCategoryStatus(Long categoryId);
 
     /**
-     * 批量更新分类排序
+     * 批量更新分类排序（一条语句完成，任一分类不存在则整体回滚）
      */
-    boolean updateCategorySort(List<Map<String, Object>> sortData);
+    boolean updateCategorySort(List<CategorySortItem> items);
 
     /**
      * 根据名称查询分类
@@ -0,0 +1,42 @@
+package com.flower.shop.service;
+
+import com.flower.shop.dto.DeliverySlotAvailabilityDTO;
+import com.flower.shop.enums.DeliverySlot;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 配送时段容量服务接口
+ *
+ * 功能说明：
+ * - 按配送日期 + 时段控制可接单量，避免节假日超卖骑手运力
+ * - 预约/释放走内存原子计数器，增量定时批量累加到数据库，多节点共享总数
+ * - 为结账页提供可轮询的时段可用性查询
+ */
+public interface DeliverySlotService {
+
+    /**
+     * 预约一个配送时段名额
+     *
+     * @param date 配送日期
+     * @param slot 配送时段
+     * @throws com.flower.shop.exception.BusinessException 日期不可预约、时段已截单或已约满
+     */
+    void reserve(LocalDate date, DeliverySlot slot);
+
+    /**
+     * 释放一个配送时段名额（订单取消或下单事务回滚）
+     */
+    void release(LocalDate date, DeliverySlot slot);
+
+    /**
+     * 查询指定日期各时段的可用性（纯内存读取）
+     */
+    List<DeliverySlotAvailabilityDTO> getAvailability(LocalDate date);
+
+    /**
+     * 将本节点的预约增量批量累加到数据库，并同步各时段总数
+     */
+    void flush();
+}
@@ -0,0 +1,40 @@
+package com.flower.shop.service;
+
+import com.flower.shop.config.FileUploadConfig;
+import com.flower.shop.util.FileUploadUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 文件清理服务
+ * 在应用任务线程池（启用虚拟线程时为虚拟线程）中删除物理文件，不占用请求线程
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileCleanupService {
+
+    private final FileUploadConfig fileUploadConfig;
+
+    /**
+     * 异步删除物理文件，单个文件删除失败不影响其他文件
+     */
+    @Async
+    public void deleteFilesAsync(List<String> imagePaths) {
+        if (imagePaths == null || imagePaths.isEmpty()) {
+            return;
+        }
+        for (String imagePath : imagePaths) {
+            try {
+                FileUploadUtil.deleteFile(imagePath, fileUploadConfig.getUploadPath());
+                log.info("已删除图片文件: {}", imagePath);
+            } catch (Exception e) {
+                log.warn("删除图片文件失败: {}", imagePath, e);
+            }
+        }
+    }
+}
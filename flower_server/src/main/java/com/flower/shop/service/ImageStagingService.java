@@ -0,0 +1,26 @@
+package com.flower.shop.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 图片两阶段上传服务接口
+ *
+ * 功能说明：
+ * - 在事务之外暂存上传图片，数据库事务只写图片元数据
+ * - 事务成功后转正暂存文件，失败时清理，不留下孤儿文件
+ */
+public interface ImageStagingService {
+
+    /**
+     * 暂存图片后执行数据库操作，并按结果转正或清理暂存文件
+     *
+     * @param files  上传的图片（可为空）
+     * @param action 数据库操作（应为事务方法），参数为与 files 顺序一致的正式访问路径
+     * @return 数据库操作的返回值
+     */
+    <T> T withStagedImages(List<MultipartFile> files, Function<List<String>, T> action) throws IOException;
+}
@@ -0,0 +1,74 @@
+package com.flower.shop.service;
+
+import com.flower.shop.entity.User;
+import com.flower.shop.mapper.UserMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 最后登录时间记录
+ *
+ * 设计说明：
+ * - 登录时只在内存中记录，同一用户多次登录合并为最晚的一次
+ * - 定时用一条 CASE WHEN 语句批量落库，登录请求不再同步写用户表
+ * - 落库失败时放回内存等待下次重试；关闭前落库一次
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+
+    private final UserMapper userMapper;
+
+    private final ConcurrentHashMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次登录
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${flower-shop.login.last-login-flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<User> batch = new ArrayList<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            LocalDateTime loginTime = entry.getValue();
+            // 只移除取出时的值，期间再次登录的记录留到下一批
+            if (pending.remove(userId, loginTime)) {
+                batch.add(new User().setId(userId).setLastLogin(loginTime));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            userMapper.batchUpdateLastLogin(batch);
+            log.debug("最后登录时间落库完成，共 {} 个用户", batch.size());
+        } catch (Exception e) {
+            batch.forEach(user -> record(user.getId(), user.getLastLogin()));
+            log.error("最后登录时间落库失败，将在下次重试", e);
+        }
+    }
+
+    /**
+     * 关闭前落库，避免丢失最后一个周期的登录记录
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
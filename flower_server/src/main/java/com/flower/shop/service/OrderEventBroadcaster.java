@@ -0,0 +1,246 @@
+package com.flower.shop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flower.shop.dto.OrderEventDTO;
+import com.flower.shop.entity.Order;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 订单实时事件广播服务（管理端 SSE 推送）
+ *
+ * 设计说明：
+ * - 发布方只把事件放入每个连接自己的有界缓冲区，不做任何网络写入，不会被慢连接拖住
+ * - 缓冲区满时丢弃最旧的事件，并在下一次发送时通知前端重新拉取列表（resync）
+ * - 每个连接由各自的虚拟线程串行写出，一个慢连接的阻塞写不会延误其他连接；
+ *   写失败的连接直接移除，发送阻塞期间丢弃的事件超过一个缓冲区的连接视为慢连接并关闭（前端会重新订阅）
+ * - 经 nginx 反向代理时响应头 X-Accel-Buffering: no 关闭代理缓冲，事件立即送达
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderEventBroadcaster {
+
+    /**
+     * 每个连接最多缓存的未发送事件数
+     */
+    private static final int CLIENT_BUFFER_SIZE = 256;
+
+    /**
+     * 连接超时时间，超时后前端 EventSource 会自动重连
+     */
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    /**
+     * 心跳间隔，防止代理断开空闲连接并及时发现已断开的连接
+     */
+    private static final long HEARTBEAT_INTERVAL_MS = 15 * 1000L;
+
+    private static final FeedMessage HEARTBEAT = new FeedMessage(null, null);
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<FeedClient> clients = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService sendExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-feed-", 0).factory());
+
+    /**
+     * 建立订阅连接
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        FeedClient client = new FeedClient(emitter);
+        clients.add(client);
+
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+
+        client.offer(new FeedMessage("READY", "{}"));
+        log.debug("订单推送连接建立，当前连接数: {}", clients.size());
+        return emitter;
+    }
+
+    /**
+     * 发布新订单事件（事务内调用时提交后再推送）
+     */
+    public void publishOrderCreated(Order order) {
+        publishAfterCommit(toEvent(OrderEventDTO.ORDER_CREATED, order));
+    }
+
+    /**
+     * 发布订单状态变更事件（事务内调用时提交后再推送）
+     */
+    public void publishStatusChanged(Order order) {
+        publishAfterCommit(toEvent(OrderEventDTO.ORDER_STATUS_CHANGED, order));
+    }
+
+    /**
+     * 广播事件：事件只序列化一次，各连接共享同一份内容
+     */
+    public void publish(OrderEventDTO event) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("订单事件序列化失败: {}", event, e);
+            return;
+        }
+        FeedMessage message = new FeedMessage(event.getType(), payload);
+        for (FeedClient client : clients) {
+            client.offer(message);
+        }
+    }
+
+    /**
+     * 定时发送心跳
+     */
+    @Scheduled(fixedDelay = HEARTBEAT_INTERVAL_MS)
+    public void heartbeat() {
+        for (FeedClient client : clients) {
+            client.offer(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (FeedClient client : clients) {
+            client.emitter.complete();
+        }
+        clients.clear();
+        sendExecutor.shutdownNow();
+    }
+
+    private void publishAfterCommit(OrderEventDTO event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    private OrderEventDTO toEvent(String type, Order order) {
+        return OrderEventDTO.builder()
+                .type(type)
+                .orderId(order.getId())
+                .orderNo(order.getOrderNo())
+                .customerName(order.getCustomerName())
+                .customerPhone(order.getCustomerPhone())
+                .finalAmount(order.getFinalAmount())
+                .status(order.getStatus())
+                .statusText(order.getStatusText())
+                .paymentStatus(order.getPaymentStatus())
+                .createdAt(order.getCreatedAt())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 待发送消息，name 为空表示心跳
+     */
+    private record FeedMessage(String name, String data) {
+    }
+
+    /**
+     * 单个订阅连接及其有界缓冲区
+     */
+    private final class FeedClient {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<FeedMessage> buffer = new ArrayBlockingQueue<>(CLIENT_BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private final AtomicLong dropped = new AtomicLong();
+
+        private FeedClient(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * 非阻塞入队，缓冲区满时丢弃最旧的消息
+         */
+        private void offer(FeedMessage message) {
+            while (!buffer.offer(message)) {
+                if (buffer.poll() != null && dropped.incrementAndGet() > CLIENT_BUFFER_SIZE) {
+                    close("发送过慢");
+                    return;
+                }
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * 关闭慢连接：立即停止入队；emitter 的写入与结束互斥，结束放到发送线程执行，不阻塞发布方
+         */
+        private void close(String reason) {
+            if (clients.remove(this)) {
+                buffer.clear();
+                sendExecutor.execute(emitter::complete);
+                log.debug("订单推送连接已关闭: {}", reason);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (dropped.getAndSet(0) > 0) {
+                    emitter.send(SseEmitter.event().name("RESYNC").data("{}", MediaType.APPLICATION_JSON));
+                }
+                FeedMessage message;
+                while ((message = buffer.poll()) != null) {
+                    if (message.name() == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                clients.remove(this);
+                buffer.clear();
+                log.debug("订单推送连接已断开: {}", e.getMessage());
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // 发送期间有新消息入队但未能触发调度时，补一次调度
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
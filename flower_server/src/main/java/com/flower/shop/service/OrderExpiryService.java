@@ -0,0 +1,27 @@
+package com.flower.shop.service;
+
+import com.flower.shop.entity.Order;
+
+/**
+ * 未支付订单超时取消服务接口
+ *
+ * 功能说明：
+ * - 在线支付订单下单后登记到期时间，超时仍未支付则自动取消
+ * - 到期订单按批取消，每批一条条件更新
+ */
+public interface OrderExpiryService {
+
+    /**
+     * 登记等待支付的订单（事务内调用时，提交后才加入到期队列）
+     *
+     * @param order 已保存的订单
+     */
+    void register(Order order);
+
+    /**
+     * 取消已到期且仍未支付的订单
+     *
+     * @return 本次取消的订单数
+     */
+    int cancelExpiredOrders();
+}
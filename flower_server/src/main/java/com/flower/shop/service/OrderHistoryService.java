@@ -0,0 +1,49 @@
+package com.flower.shop.service;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.flower.shop.entity.Order;
+import com.flower.shop.entity.OrderItem;
+
+import java.util.List;
+
+/**
+ * 客户订单历史服务接口
+ *
+ * 功能说明：
+ * - 维护按手机号/用户ID反规范化的订单历史投影
+ * - 订单历史分页查询（无需关联订单项）
+ */
+public interface OrderHistoryService {
+
+    /**
+     * 下单时写入订单历史投影
+     *
+     * @param order 已保存的订单
+     * @param items 已保存的订单项
+     */
+    void recordOrderCreated(Order order, List<OrderItem> items);
+
+    /**
+     * 订单状态流转时同步投影中的状态字段
+     *
+     * @param order 更新后的订单
+     */
+    void syncOrderStatus(Order order);
+
+    /**
+     * 批量同步投影中的状态字段（按订单表当前值）
+     *
+     * @param orderIds 订单ID列表
+     */
+    void syncOrderStatuses(List<Long> orderIds);
+
+    /**
+     * 根据手机号分页查询订单历史
+     */
+    IPage<Order> getHistoryByPhone(String phone, String status, Integer page, Integer size);
+
+    /**
+     * 根据用户ID分页查询订单历史
+     */
+    IPage<Order> getHistoryByUserId(Long userId, String status, Integer page, Integer size);
+}
@@ -0,0 +1,92 @@
+package com.flower.shop.service;
+
+import com.flower.shop.config.LoginConfig;
+import com.flower.shop.exception.BusinessException;
+import com.flower.shop.util.PasswordUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码校验服务
+ *
+ * 设计说明：
+ * - BCrypt 校验是登录中最耗 CPU 的一步，放在固定大小的线程池中执行，同时进行的校验数不超过线程数
+ * - 等待队列有界：登录洪峰时队列满的请求立即失败，超时未完成的请求放弃等待，
+ *   请求线程不会无限堆积在 BCrypt 上，其他接口的 CPU 与线程不被耗尽
+ */
+@Slf4j
+@Service
+public class PasswordVerifier {
+
+    public static final String BUSY_CODE = "LOGIN_BUSY";
+
+    private final LoginConfig loginConfig;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejectedCounter;
+
+    public PasswordVerifier(LoginConfig loginConfig, MeterRegistry meterRegistry) {
+        this.loginConfig = loginConfig;
+        int threads = loginConfig.getPasswordVerifyThreads() > 0
+                ? loginConfig.getPasswordVerifyThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, loginConfig.getPasswordVerifyQueueSize())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejectedCounter = Counter.builder("flower.login.password.rejected")
+                .description("密码校验线程池繁忙被拒绝的登录请求")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 校验密码，线程池繁忙或等待超时时抛出 BusinessException(LOGIN_BUSY)
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> PasswordUtil.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw busy();
+        }
+        try {
+            return future.get(loginConfig.getPasswordVerifyTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("密码校验失败", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static BusinessException busy() {
+        return new BusinessException(BUSY_CODE, "登录人数较多，请稍后重试");
+    }
+}
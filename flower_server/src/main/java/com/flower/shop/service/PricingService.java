@@ -0,0 +1,25 @@
+package com.flower.shop.service;
+
+import com.flower.shop.dto.PriceQuoteDTO;
+import com.flower.shop.dto.PriceQuoteRequest;
+
+import java.util.List;
+
+/**
+ * 订单定价服务接口
+ *
+ * 功能说明：
+ * - 以服务端商品价格快照为准计算订单金额，不信任客户端价格
+ * - 应用配送费规则与满减活动
+ */
+public interface PricingService {
+
+    /**
+     * 计算报价
+     *
+     * @param items 商品及数量
+     * @return 报价结果（含明细、配送费、优惠与实付金额）
+     * @throws com.flower.shop.exception.BusinessException 商品不存在或已下架
+     */
+    PriceQuoteDTO quote(List<PriceQuoteRequest.QuoteItem> items);
+}
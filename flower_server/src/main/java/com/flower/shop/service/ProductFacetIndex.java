@@ -0,0 +1,341 @@
+package com.flower.shop.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.flower.shop.config.ProductSearchConfig;
+import com.flower.shop.dto.ProductFacetsDTO;
+import com.flower.shop.dto.ProductFacetsDTO.FacetCount;
+import com.flower.shop.dto.ProductSearchRequest;
+import com.flower.shop.entity.Category;
+import com.flower.shop.entity.Product;
+import com.flower.shop.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 商品分面索引
+ *
+ * 设计说明：
+ * - 内存中保存全部商品的筛选字段，商品按加载顺序编号（文档号），每个分面取值对应一个 BitSet 倒排表：
+ *   分类、价格区间、库存状态、推荐、上下架状态
+ * - 统计时先由状态倒排表与关键词得到候选集，再对候选集单次遍历，同时累加四个分面的计数；
+ *   某个分面的计数只应用其他分面的已选条件，与搜索接口的筛选语义一致
+ * - 目录版本变化或超过最长使用时间后重建索引；重建期间其他请求继续使用旧索引
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    private static final String[] STOCK_STATUS_VALUES = { "in_stock", "low_stock", "out_of_stock" };
+
+    private static final String[] STOCK_STATUS_LABELS = { "有货", "库存紧张", "缺货" };
+
+    private final ProductMapper productMapper;
+    private final CatalogVersionService catalogVersionService;
+    private final CategoryRegistry categoryRegistry;
+    private final ProductSearchConfig searchConfig;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Index index;
+
+    /**
+     * 按搜索条件统计分面计数（忽略分页与排序参数）
+     */
+    public ProductFacetsDTO facets(ProductSearchRequest request) {
+        return currentIndex().facets(request);
+    }
+
+    private Index currentIndex() {
+        Index current = index;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        if (current == null) {
+            // 首次使用：等待构建完成
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            // 其他请求正在重建，继续使用旧索引
+            return current;
+        }
+        try {
+            current = index;
+            if (current == null || isStale(current)) {
+                current = build();
+                index = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private boolean isStale(Index current) {
+        return current.version != catalogVersionService.current()
+                || System.currentTimeMillis() - current.builtAt > searchConfig.getIndexMaxAgeMs();
+    }
+
+    private Index build() {
+        long version = catalogVersionService.current();
+        long start = System.currentTimeMillis();
+        List<Product> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                .select(Product::getId, Product::getCategoryId, Product::getPrice, Product::getStockQuantity,
+                        Product::getLowStockThreshold, Product::getStatus, Product::getFeatured,
+                        Product::getName, Product::getDescription, Product::getFlowerLanguage));
+        Index built = new Index(version, start, products, searchConfig.getPriceBuckets());
+        log.debug("商品分面索引重建完成，商品 {} 个，耗时 {}ms", products.size(), System.currentTimeMillis() - start);
+        return built;
+    }
+
+    /**
+     * 不可变的索引快照
+     */
+    private final class Index {
+
+        private final long version;
+        private final long builtAt;
+        private final int size;
+
+        private final BigDecimal[] prices;
+        private final String[] texts;
+        private final int[] categoryOrdinals;
+        private final int[] priceBuckets;
+        private final int[] stockStatuses;
+        private final int[] featuredValues;
+
+        private final Map<Long, Integer> categoryOrdinalById = new HashMap<>();
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<BigDecimal> bucketFloors;
+
+        private final Map<Integer, BitSet> byStatus = new HashMap<>();
+        private final List<BitSet> byCategory = new ArrayList<>();
+        private final BitSet[] byStockStatus = new BitSet[STOCK_STATUS_VALUES.length];
+        private final BitSet[] byFeatured = { new BitSet(), new BitSet() };
+        private final BitSet all;
+
+        private Index(long version, long builtAt, List<Product> products, List<BigDecimal> bucketFloors) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.size = products.size();
+            this.bucketFloors = List.copyOf(bucketFloors);
+            this.prices = new BigDecimal[size];
+            this.texts = new String[size];
+            this.categoryOrdinals = new int[size];
+            this.priceBuckets = new int[size];
+            this.stockStatuses = new int[size];
+            this.featuredValues = new int[size];
+            for (int i = 0; i < byStockStatus.length; i++) {
+                byStockStatus[i] = new BitSet(size);
+            }
+            this.all = new BitSet(size);
+            all.set(0, size);
+
+            for (int doc = 0; doc < size; doc++) {
+                Product product = products.get(doc);
+                prices[doc] = product.getPrice();
+                texts[doc] = searchableText(product);
+
+                Long categoryId = product.getCategoryId();
+                int ordinal = categoryId == null ? -1 : categoryOrdinalById.computeIfAbsent(categoryId, id -> {
+                    categoryIds.add(id);
+                    byCategory.add(new BitSet(size));
+                    return categoryIds.size() - 1;
+                });
+                categoryOrdinals[doc] = ordinal;
+                if (ordinal >= 0) {
+                    byCategory.get(ordinal).set(doc);
+                }
+
+                priceBuckets[doc] = bucketOf(product.getPrice());
+
+                stockStatuses[doc] = stockStatusOf(product.getStockQuantity(), product.getLowStockThreshold());
+                if (stockStatuses[doc] >= 0) {
+                    byStockStatus[stockStatuses[doc]].set(doc);
+                }
+
+                featuredValues[doc] = Integer.valueOf(1).equals(product.getFeatured()) ? 1 : 0;
+                byFeatured[featuredValues[doc]].set(doc);
+
+                if (product.getStatus() != null) {
+                    byStatus.computeIfAbsent(product.getStatus(), status -> new BitSet(size)).set(doc);
+                }
+            }
+        }
+
+        private ProductFacetsDTO facets(ProductSearchRequest request) {
+            // 候选集：状态与关键词条件（不属于任何分面）
+            BitSet candidates = request.getStatus() != null
+                    ? (BitSet) byStatus.getOrDefault(request.getStatus(), new BitSet()).clone()
+                    : (BitSet) all.clone();
+            if (StringUtils.hasText(request.getKeyword())) {
+                String keyword = request.getKeyword().toLowerCase(Locale.ROOT);
+                for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                    if (!texts[doc].contains(keyword)) {
+                        candidates.clear(doc);
+                    }
+                }
+            }
+
+            // 各分面的已选条件，null 表示未筛选
+            BitSet categorySelected = null;
+            if (request.getCategoryId() != null) {
+                Integer ordinal = categoryOrdinalById.get(request.getCategoryId());
+                categorySelected = ordinal != null ? byCategory.get(ordinal) : new BitSet();
+            }
+            BitSet stockSelected = null;
+            if (request.getStockStatus() != null) {
+                int ordinal = List.of(STOCK_STATUS_VALUES).indexOf(request.getStockStatus());
+                stockSelected = ordinal >= 0 ? byStockStatus[ordinal] : new BitSet();
+            }
+            BitSet featuredSelected = request.getFeatured() != null
+                    ? byFeatured[Integer.valueOf(1).equals(request.getFeatured()) ? 1 : 0]
+                    : null;
+            boolean priceFiltered = request.getMinPrice() != null || request.getMaxPrice() != null;
+
+            long total = 0;
+            long[] categoryCounts = new long[categoryIds.size()];
+            long[] bucketCounts = new long[bucketFloors.size()];
+            long[] stockCounts = new long[STOCK_STATUS_VALUES.length];
+            long[] featuredCounts = new long[2];
+
+            // 单次遍历候选集，同时累加全部分面
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                boolean category = categorySelected == null || categorySelected.get(doc);
+                boolean price = !priceFiltered || inPriceRange(prices[doc], request);
+                boolean stock = stockSelected == null || stockSelected.get(doc);
+                boolean featured = featuredSelected == null || featuredSelected.get(doc);
+
+                if (category && price && stock && featured) {
+                    total++;
+                }
+                if (price && stock && featured && categoryOrdinals[doc] >= 0) {
+                    categoryCounts[categoryOrdinals[doc]]++;
+                }
+                if (category && stock && featured && priceBuckets[doc] >= 0) {
+                    bucketCounts[priceBuckets[doc]]++;
+                }
+                if (category && price && featured && stockStatuses[doc] >= 0) {
+                    stockCounts[stockStatuses[doc]]++;
+                }
+                if (category && price && stock) {
+                    featuredCounts[featuredValues[doc]]++;
+                }
+            }
+
+            return ProductFacetsDTO.builder()
+                    .total(total)
+                    .categories(categoryFacets(categoryCounts))
+                    .priceBuckets(priceFacets(bucketCounts))
+                    .stockStatus(stockFacets(stockCounts))
+                    .featured(List.of(
+                            new FacetCount("1", "推荐", featuredCounts[1]),
+                            new FacetCount("0", "普通", featuredCounts[0])))
+                    .build();
+        }
+
+        /**
+         * 分类分面按注册表中的排序输出，包含计数为 0 的分类
+         */
+        private List<FacetCount> categoryFacets(long[] counts) {
+            List<FacetCount> result = new ArrayList<>();
+            for (Category category : categoryRegistry.all()) {
+                Integer ordinal = categoryOrdinalById.get(category.getId());
+                long count = ordinal != null ? counts[ordinal] : 0;
+                result.add(new FacetCount(String.valueOf(category.getId()), category.getName(), count));
+            }
+            return result;
+        }
+
+        private List<FacetCount> priceFacets(long[] counts) {
+            List<FacetCount> result = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                BigDecimal floor = bucketFloors.get(i);
+                boolean last = i == counts.length - 1;
+                String value;
+                String label;
+                if (last) {
+                    value = floor.toPlainString() + "-";
+                    label = floor.toPlainString() + "元以上";
+                } else {
+                    BigDecimal ceiling = bucketFloors.get(i + 1);
+                    // 搜索接口的价格区间两端都包含，区间上限取下一档减 0.01 以免重叠
+                    value = floor.toPlainString() + "-" + ceiling.subtract(new BigDecimal("0.01")).toPlainString();
+                    label = floor.toPlainString() + "-" + ceiling.toPlainString() + "元";
+                }
+                result.add(new FacetCount(value, label, counts[i]));
+            }
+            return result;
+        }
+
+        private List<FacetCount> stockFacets(long[] counts) {
+            List<FacetCount> result = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                result.add(new FacetCount(STOCK_STATUS_VALUES[i], STOCK_STATUS_LABELS[i], counts[i]));
+            }
+            return result;
+        }
+
+        private int bucketOf(BigDecimal price) {
+            if (price == null) {
+                return -1;
+            }
+            int bucket = -1;
+            for (int i = 0; i < bucketFloors.size(); i++) {
+                if (price.compareTo(bucketFloors.get(i)) >= 0) {
+                    bucket = i;
+                } else {
+                    break;
+                }
+            }
+            return bucket;
+        }
+    }
+
+    private static boolean inPriceRange(BigDecimal price, ProductSearchRequest request) {
+        if (price == null) {
+            return false;
+        }
+        return (request.getMinPrice() == null || price.compareTo(request.getMinPrice()) >= 0)
+                && (request.getMaxPrice() == null || price.compareTo(request.getMaxPrice()) <= 0);
+    }
+
+    /**
+     * 库存状态，与 ProductMapper.xml 中 stockStatus 筛选条件一致；无法判断时返回 -1
+     */
+    private static int stockStatusOf(Integer stockQuantity, Integer lowStockThreshold) {
+        if (stockQuantity == null) {
+            return -1;
+        }
+        if (stockQuantity <= 0) {
+            return 2;
+        }
+        if (lowStockThreshold == null) {
+            return -1;
+        }
+        return stockQuantity > lowStockThreshold ? 0 : 1;
+    }
+
+    /**
+     * 关键词匹配文本：名称、描述、花语（与搜索接口的 LIKE 条件对应，忽略大小写）
+     */
+    private static String searchableText(Product product) {
+        StringBuilder text = new StringBuilder();
+        for (String field : new String[] { product.getName(), product.getDescription(), product.getFlowerLanguage() }) {
+            if (field != null) {
+                text.append(field.toLowerCase(Locale.ROOT)).append('\u0000');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.flower.shop.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.flower.shop.config.PricingConfig;
+import com.flower.shop.entity.Product;
+import com.flower.shop.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 商品价格快照服务
+ * 负责缓存下单与报价所需的商品价格，避免每次算价都查询商品表
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductPriceSnapshotService {
+
+    private final ProductMapper productMapper;
+    private final PricingConfig pricingConfig;
+
+    private final ConcurrentMap<Long, PriceSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 失效代数：加载期间发生失效时，丢弃本次加载结果，避免旧价格回填缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 批量获取商品价格快照，未命中的商品合并为一次查询
+     *
+     * @param productIds 商品ID集合
+     * @return 商品ID -> 价格快照（不存在的商品不在结果中）
+     */
+    public Map<Long, PriceSnapshot> getSnapshots(Collection<Long> productIds) {
+        Map<Long, PriceSnapshot> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long now = System.currentTimeMillis();
+
+        for (Long productId : productIds) {
+            PriceSnapshot snapshot = snapshots.get(productId);
+            if (snapshot != null && now - snapshot.loadedAt() < pricingConfig.getSnapshotMaxAgeMs()) {
+                result.put(productId, snapshot);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long loadGeneration = generation.get();
+            List<Product> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                    .select(Product::getId, Product::getName, Product::getPrice, Product::getStatus)
+                    .in(Product::getId, missing));
+
+            for (Product product : products) {
+                PriceSnapshot snapshot = new PriceSnapshot(
+                        product.getId(),
+                        product.getName(),
+                        product.getPrice().movePointRight(2).longValueExact(),
+                        product.isOnline(),
+                        now);
+                result.put(product.getId(), snapshot);
+                if (generation.get() == loadGeneration) {
+                    snapshots.put(product.getId(), snapshot);
+                }
+            }
+            log.debug("加载商品价格快照 {} 个", products.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * 商品变更后失效其价格快照（事务内调用时，提交后再失效一次）
+     */
+    public void invalidate(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        evict(productId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(productId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long productId) {
+        generation.incrementAndGet();
+        snapshots.remove(productId);
+    }
+
+    /**
+     * 商品价格快照
+     *
+     * @param productId  商品ID
+     * @param name       商品名称
+     * @param priceCents 售价（分）
+     * @param online     是否上架
+     * @param loadedAt   加载时间戳
+     */
+    public record PriceSnapshot(Long productId, String name, long priceCents, boolean online, long loadedAt) {
+    }
+}
@@ -2,7 +2,9 @@ package com.flower.shop.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.flower.shop.dto.ProductFacetsDTO;
 import com.flower.shop.dto.ProductSearchRequest;
+import com.flower.shop.dto.ProductSuggestionDTO;
 import com.flower.shop.entity.Product;
 
 import java.math.BigDecimal;
@@ -25,6 +27,18 @@ public interface ProductService extends IService<Product> {
      */
     IPage<Product> searchProductsAdvanced(ProductSearchRequest request);
 
+    /**
+     * 搜索分面统计（分类、价格区间、库存状态、推荐），筛选条件与搜索接口一致
+     */
+    ProductFacetsDTO getSearchFacets(ProductSearchRequest request);
+
+    /**
+     * 搜索建议（按商品名称、花语及其拼音前缀匹配上架商品）
+     *
+     * @param limit 返回条数，为空时使用默认值，超过上限时按上限返回
+     */
+    List<ProductSuggestionDTO> suggestProducts(String keyword, Integer limit);
+
     
     /**
      * 创建新商品
@@ -41,6 +55,11 @@ public interface ProductService extends IService<Product> {
      */
     boolean toggleProductStatus(Long productId, Integer status);
 
+    /**
+     * 设置/取消推荐商品
+     */
+    boolean setFeatured(Long productId, Integer featured);
+
     /**
      * 获取商品详情（包含分类和库存信息）
      */
@@ -86,7 +105,7 @@ public interface ProductService extends IService<Product> {
      */
     @lombok.Data
     class NewImageInfo {
-        private org.springframework.web.multipart.MultipartFile imageFile;
+        private String imagePath;     // 已暂存图片的正式访问路径（见 ImageStagingService）
         private Integer imageType;    // 1-主图, 2-副图
         private Integer sortOrder;
     }
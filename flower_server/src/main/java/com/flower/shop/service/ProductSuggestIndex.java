@@ -0,0 +1,317 @@
+package com.flower.shop.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.flower.shop.config.ProductSearchConfig;
+import com.flower.shop.dto.ProductSuggestionDTO;
+import com.flower.shop.entity.Product;
+import com.flower.shop.mapper.ProductMapper;
+import com.flower.shop.util.PinyinUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 商品搜索建议索引
+ *
+ * 设计说明：
+ * - 内存前缀树（字典树），词条来自商品名称、花语短语及其全拼、首字母，每个节点记录前缀命中的商品ID
+ * - 词条从每个汉字/音节位置起各索引一次，输入"玫瑰"、"meigui"、"mg"都能命中"红玫瑰花束"
+ * - 商品写操作提交后只替换该商品的词条（增量更新）；定时整体重建兜底直接改库
+ * - 查询只访问内存，不查询数据库；首次访问时加载，容器启动阶段不访问数据库
+ * - 读写锁保护前缀树：查询持读锁，更新只在替换节点时短暂持写锁；数据库读取在锁外串行执行
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSuggestIndex {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[\\s,，、;；。.!！?？/|·]+");
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparing((Entry entry) -> !Integer.valueOf(1).equals(entry.featured()))
+            .thenComparingInt(entry -> entry.name().length())
+            .thenComparing(Entry::id);
+
+    private final ProductMapper productMapper;
+    private final ProductSearchConfig searchConfig;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 前缀树与商品条目，受 lock 保护
+     */
+    private Node root = new Node();
+    private Map<Long, Entry> entries = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * 按输入前缀返回上架商品建议：名称以输入开头的优先，其次推荐商品、名称较短的商品
+     */
+    public List<ProductSuggestionDTO> suggest(String keyword, int limit) {
+        String prefix = normalize(keyword);
+        if (prefix.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (prefix.length() > searchConfig.getSuggestMaxTermLength()) {
+            prefix = prefix.substring(0, searchConfig.getSuggestMaxTermLength());
+        }
+        ensureLoaded();
+
+        List<Entry> leading = new ArrayList<>();
+        List<Entry> others = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            for (Long id : node.productIds) {
+                Entry entry = entries.get(id);
+                if (entry == null || !Integer.valueOf(1).equals(entry.status())) {
+                    continue;
+                }
+                (entry.startsWith(prefix) ? leading : others).add(entry);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        leading.sort(RANKING);
+        others.sort(RANKING);
+        List<ProductSuggestionDTO> result = new ArrayList<>(Math.min(limit, leading.size() + others.size()));
+        for (List<Entry> group : List.of(leading, others)) {
+            for (Entry entry : group) {
+                if (result.size() >= limit) {
+                    return result;
+                }
+                result.add(new ProductSuggestionDTO(entry.id(), entry.name(), entry.price()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 商品写操作后调用：事务内在提交后更新该商品的词条，否则立即更新
+     */
+    public void refreshAfterCommit(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshProduct(productId);
+                }
+            });
+        } else {
+            refreshProduct(productId);
+        }
+    }
+
+    /**
+     * 重新读取单个商品并替换其词条，商品已删除时移除（与整体重建串行执行）
+     */
+    public synchronized void refreshProduct(Long productId) {
+        if (!loaded) {
+            // 尚未加载，首次访问时会读到最新数据
+            return;
+        }
+        Product product = productMapper.selectById(productId);
+        Entry entry = product != null ? toEntry(product) : null;
+
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(productId);
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    remove(root, term, 0, productId);
+                }
+            }
+            if (entry != null) {
+                insert(root, entry);
+                entries.put(productId, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("搜索建议索引已更新商品 {}", productId);
+    }
+
+    /**
+     * 定时整体重建：兜底绕过服务层的商品变更
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.search.index-max-age-ms:300000}",
+            initialDelayString = "${flower-shop.search.index-max-age-ms:300000}")
+    public synchronized void rebuild() {
+        if (loaded) {
+            load();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 全量加载：锁外构建新的前缀树，再整体替换
+     */
+    private void load() {
+        long start = System.currentTimeMillis();
+        List<Product> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                .select(Product::getId, Product::getName, Product::getFlowerLanguage, Product::getPrice,
+                        Product::getStatus, Product::getFeatured));
+
+        Node newRoot = new Node();
+        Map<Long, Entry> newEntries = new HashMap<>(products.size() * 2);
+        for (Product product : products) {
+            Entry entry = toEntry(product);
+            insert(newRoot, entry);
+            newEntries.put(entry.id(), entry);
+        }
+
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            entries = newEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("搜索建议索引重建完成，商品 {} 个，耗时 {}ms", products.size(), System.currentTimeMillis() - start);
+    }
+
+    private void insert(Node root, Entry entry) {
+        for (String term : entry.terms()) {
+            Node node = root;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+                node.productIds.add(entry.id());
+            }
+        }
+    }
+
+    /**
+     * 从词条路径上移除商品，并剪掉不再有商品的节点；返回该节点是否可删除
+     */
+    private boolean remove(Node node, String term, int depth, Long productId) {
+        if (depth < term.length()) {
+            char c = term.charAt(depth);
+            Node child = node.children.get(c);
+            if (child != null && remove(child, term, depth + 1, productId)) {
+                node.children.remove(c);
+            }
+        }
+        node.productIds.remove(productId);
+        return node.productIds.isEmpty() && node.children.isEmpty();
+    }
+
+    private Entry toEntry(Product product) {
+        Set<String> terms = new LinkedHashSet<>();
+        Set<String> leading = new LinkedHashSet<>();
+        String name = product.getName() != null ? product.getName() : "";
+        addPhrase(name, terms, leading);
+        if (product.getFlowerLanguage() != null) {
+            for (String phrase : TERM_SEPARATOR.split(product.getFlowerLanguage())) {
+                addPhrase(phrase, terms, new HashSet<>());
+            }
+        }
+        return new Entry(product.getId(), name, product.getPrice(), product.getStatus(), product.getFeatured(),
+                List.copyOf(terms), List.copyOf(leading));
+    }
+
+    /**
+     * 短语的词条：从每个字符位置起的原文后缀、全拼后缀、首字母后缀；leading 收集从开头起的三种形式
+     */
+    private void addPhrase(String phrase, Set<String> terms, Set<String> leading) {
+        String text = normalize(phrase);
+        if (text.isEmpty()) {
+            return;
+        }
+        List<String> syllables = PinyinUtil.toSyllables(text);
+        for (int i = 0; i < text.length(); i++) {
+            StringBuilder full = new StringBuilder();
+            StringBuilder initials = new StringBuilder();
+            for (int j = i; j < syllables.size(); j++) {
+                full.append(syllables.get(j));
+                initials.append(syllables.get(j).charAt(0));
+            }
+            String[] forms = { text.substring(i), full.toString(), initials.toString() };
+            for (String form : forms) {
+                String term = truncate(form);
+                terms.add(term);
+                if (i == 0) {
+                    leading.add(term);
+                }
+            }
+        }
+    }
+
+    private String truncate(String term) {
+        int max = searchConfig.getSuggestMaxTermLength();
+        return term.length() > max ? term.substring(0, max) : term;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        private final Set<Long> productIds = new HashSet<>(4);
+    }
+
+    /**
+     * 商品条目：展示字段与已索引的词条（增量更新时按词条移除）
+     */
+    private record Entry(Long id, String name, BigDecimal price, Integer status, Integer featured,
+                         List<String> terms, List<String> leadingTerms) {
+
+        private boolean startsWith(String prefix) {
+            for (String term : leadingTerms) {
+                if (term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.flower.shop.service;
+
+/**
+ * 限流令牌桶存储
+ *
+ * 令牌桶以 GCRA（通用信元速率算法）形式保存：每个键只记录"理论到达时间"（TAT），
+ * 与容量 capacity、每个令牌间隔 interval 的令牌桶等价，一次原子比较即可完成补充与扣减。
+ * 实现需保证同一键的并发扣减不会超发；RateLimitConfig.backend 按 name() 选择实现
+ */
+public interface RateLimitBackend {
+
+    /**
+     * 存储名称（对应 flower-shop.rate-limit.backend）
+     */
+    String name();
+
+    /**
+     * 从令牌桶扣减一个令牌
+     *
+     * @param key            令牌桶键（规则名 + 限流维度取值）
+     * @param intervalMicros 补充一个令牌的间隔（微秒）
+     * @param capacity       桶容量
+     * @return 0 表示放行；大于 0 表示拒绝，值为下一个令牌可用前需等待的毫秒数
+     */
+    long tryAcquire(String key, long intervalMicros, int capacity);
+}
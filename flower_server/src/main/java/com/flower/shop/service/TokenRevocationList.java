@@ -0,0 +1,165 @@
+package com.flower.shop.service;
+
+import com.flower.shop.config.JwtConfig;
+import com.flower.shop.entity.RevokedToken;
+import com.flower.shop.mapper.RevokedTokenMapper;
+import com.flower.shop.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 令牌吊销列表
+ *
+ * 设计说明：
+ * - 吊销记录持久化到 revoked_token 表，内存中保存未过期记录的精确集合（jti -> 过期时间）和布隆过滤器
+ * - 每个请求的吊销检查先查布隆过滤器，绝大多数未吊销令牌在这里直接返回（几十纳秒，无锁）；
+ *   只有可能命中时才查精确集合，误判不会把正常令牌当成已吊销
+ * - 其他节点的吊销按 revoked_at 增量同步（带一分钟重叠），节点间最长延迟为同步间隔
+ * - 过期记录从集合与数据库中清理；布隆过滤器不支持删除，清理后按剩余记录重建
+ * - 在生命周期启动阶段加载（早于 Web 服务器接收请求），容器刷新阶段不访问数据库
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationList implements SmartLifecycle {
+
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private final RevokedTokenMapper revokedTokenMapper;
+    private final JwtConfig jwtConfig;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * 当前布隆过滤器的预计元素数
+     */
+    private volatile int bloomCapacity;
+
+    private volatile LocalDateTime lastSyncAt;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        sync();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * 令牌是否已吊销
+     */
+    public boolean isRevoked(String jti) {
+        BloomFilter filter = bloomFilter;
+        if (jti == null || filter == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * 吊销令牌（expiresAt 为令牌原过期时间，毫秒时间戳）
+     *
+     * @return 本次调用是否写入了吊销记录；令牌已被吊销（含其他节点、并发请求）或已过期时返回 false。
+     *         jti 唯一索引保证同一令牌只有一个调用方返回 true
+     */
+    public boolean revoke(String jti, long expiresAt) {
+        if (jti == null || expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        boolean inserted = revokedTokenMapper.insertIgnore(jti,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault())) > 0;
+        add(jti, expiresAt);
+        return inserted;
+    }
+
+    /**
+     * 同步其他节点的吊销记录
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.jwt.revocation-sync-interval-ms:10000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSyncAt != null ? lastSyncAt.minusSeconds(SYNC_OVERLAP_SECONDS) : null;
+        try {
+            List<RevokedToken> tokens = revokedTokenMapper.selectActiveSince(since, now);
+            for (RevokedToken token : tokens) {
+                add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            lastSyncAt = now;
+        } catch (Exception e) {
+            log.error("同步令牌吊销列表失败，将在下次重试", e);
+        }
+    }
+
+    /**
+     * 清理过期记录并重建布隆过滤器
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.jwt.access-token-ttl-ms:900000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        rebuild();
+        try {
+            revokedTokenMapper.deleteExpired(LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("删除过期的令牌吊销记录失败", e);
+        }
+    }
+
+    private void add(String jti, long expiresAt) {
+        if (revoked.put(jti, expiresAt) == null) {
+            BloomFilter filter = bloomFilter;
+            if (filter != null) {
+                filter.put(jti);
+            }
+            if (filter == null || revoked.size() > bloomCapacity) {
+                // 首次写入时创建；元素数超过预计值后误判率上升，按实际数量重建
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * 先发布新过滤器再补齐期间新增的记录：重建期间吊销的令牌在新旧过滤器中都能查到
+     */
+    private synchronized void rebuild() {
+        BloomFilter rebuilt = newBloomFilter(revoked.size());
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        revoked.keySet().forEach(rebuilt::put);
+        log.debug("令牌吊销列表布隆过滤器已重建，记录 {} 条", revoked.size());
+    }
+
+    private BloomFilter newBloomFilter(int size) {
+        int expected = Math.max(jwtConfig.getRevocationExpectedInsertions(), size * 2);
+        bloomCapacity = expected;
+        return BloomFilter.create(expected, jwtConfig.getRevocationFalsePositiveRate());
+    }
+}
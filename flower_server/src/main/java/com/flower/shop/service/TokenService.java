@@ -0,0 +1,44 @@
+package com.flower.shop.service;
+
+import com.flower.shop.dto.LoginResponse;
+import com.flower.shop.entity.User;
+import io.jsonwebtoken.Claims;
+
+/**
+ * 令牌服务接口
+ *
+ * 功能说明：
+ * - 签发短期访问令牌与长期刷新令牌
+ * - 解析并校验访问令牌（签名、过期、类型、吊销）
+ * - 刷新令牌一次性换取新的令牌对，登出时吊销令牌
+ */
+public interface TokenService {
+
+    /**
+     * 签发访问令牌与刷新令牌
+     */
+    TokenPair issue(User user);
+
+    /**
+     * 解析访问令牌（签名、过期、类型、吊销），无效时抛出 JwtException
+     */
+    Claims parseAccessToken(String token);
+
+    /**
+     * 用刷新令牌换取新的令牌对：旧刷新令牌吊销；用户已禁用或删除时拒绝，无效时抛出 JwtException
+     */
+    LoginResponse refresh(String refreshToken);
+
+    /**
+     * 吊销令牌（登出），已失效的令牌忽略
+     */
+    void revoke(String token);
+
+    /**
+     * 令牌对
+     *
+     * @param expiresIn 访问令牌有效期（秒）
+     */
+    record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.flower.shop.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.flower.shop.config.RegistrationConfig;
+import com.flower.shop.entity.User;
+import com.flower.shop.mapper.UserMapper;
+import com.flower.shop.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 用户名、手机号可用性索引
+ *
+ * 设计说明：
+ * - 用户名与手机号各一个布隆过滤器：过滤器中不存在即可用，绝大多数可用的输入不查询数据库；
+ *   可能存在时再按唯一索引查询确认，误判不会把可用的输入报告为已占用
+ * - 只用于注册前的提示，注册本身以数据库唯一索引为准（其他节点刚注册的用户可能尚未同步）
+ * - 本节点注册提交后加入过滤器；定时整体重建兜底其他节点的注册，用户数超过预计值后按实际数量重建
+ * - 首次访问时加载，容器启动阶段不访问数据库
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAvailabilityIndex {
+
+    private final UserMapper userMapper;
+    private final RegistrationConfig registrationConfig;
+
+    private volatile Filters filters;
+
+    /**
+     * 用户名是否可用（不区分大小写，与数据库排序规则一致）
+     */
+    public boolean isUsernameAvailable(String username) {
+        if (!ensureLoaded().usernames().mightContain(normalize(username))) {
+            return true;
+        }
+        return userMapper.selectCount(new LambdaQueryWrapper<User>().eq(User::getUsername, username)) == 0;
+    }
+
+    /**
+     * 手机号是否可用
+     */
+    public boolean isPhoneAvailable(String phone) {
+        if (!ensureLoaded().phones().mightContain(phone)) {
+            return true;
+        }
+        return userMapper.selectCount(new LambdaQueryWrapper<User>().eq(User::getPhone, phone)) == 0;
+    }
+
+    /**
+     * 注册后调用：事务内在提交后加入过滤器，否则立即加入
+     */
+    public void addAfterCommit(String username, String phone) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(username, phone);
+                }
+            });
+        } else {
+            add(username, phone);
+        }
+    }
+
+    /**
+     * 定时整体重建
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.registration.availability-rebuild-interval-ms:600000}",
+            initialDelayString = "${flower-shop.registration.availability-rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (filters != null) {
+            load();
+        }
+    }
+
+    private void add(String username, String phone) {
+        Filters current = filters;
+        if (current == null) {
+            // 尚未加载，首次访问时会读到最新数据
+            return;
+        }
+        current.usernames().put(normalize(username));
+        if (phone != null) {
+            current.phones().put(phone);
+        }
+        if (current.count().incrementAndGet() > current.capacity()) {
+            // 元素数超过预计值后误判率上升，按实际数量重建
+            load();
+        }
+    }
+
+    private Filters ensureLoaded() {
+        Filters current = filters;
+        if (current == null) {
+            synchronized (this) {
+                current = filters;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 全量加载：构建新的过滤器后整体替换（与首次加载串行执行）
+     */
+    private synchronized Filters load() {
+        long start = System.currentTimeMillis();
+        List<User> users = userMapper.selectList(new LambdaQueryWrapper<User>()
+                .select(User::getUsername, User::getPhone));
+
+        int capacity = Math.max(registrationConfig.getAvailabilityExpectedInsertions(), users.size() * 2);
+        double fpp = registrationConfig.getAvailabilityFalsePositiveRate();
+        Filters loaded = new Filters(BloomFilter.create(capacity, fpp), BloomFilter.create(capacity, fpp),
+                capacity, new AtomicInteger(users.size()));
+        for (User user : users) {
+            loaded.usernames().put(normalize(user.getUsername()));
+            if (user.getPhone() != null) {
+                loaded.phones().put(user.getPhone());
+            }
+        }
+        filters = loaded;
+        log.debug("用户可用性索引重建完成，用户 {} 个，耗时 {}ms", users.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 一次加载的过滤器与计数，整体替换
+     */
+    private record Filters(BloomFilter usernames, BloomFilter phones, int capacity, AtomicInteger count) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.flower.shop.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.flower.shop.config.LoginConfig;
+import com.flower.shop.entity.User;
+import com.flower.shop.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户凭据缓存
+ *
+ * 设计说明：
+ * - 登录按用户名查询启用状态的用户（含密码哈希），短时间内重复登录直接读缓存，不查询数据库
+ * - 只缓存存在且启用的用户；用户不存在不缓存，避免随机用户名撑满缓存
+ * - 修改密码、启用/禁用、角色变更后必须调用 invalidate（事务内在提交后失效），有效期兜底直接改库
+ * - 缓存的实体为共享对象，调用方不得修改
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserCredentialCache {
+
+    private final UserMapper userMapper;
+    private final LoginConfig loginConfig;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 按用户名获取启用状态的用户，不存在或已禁用时返回 null
+     */
+    public User getActiveUser(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.user();
+        }
+
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("username", username);
+        queryWrapper.eq("is_active", true);
+        User user = userMapper.selectOne(queryWrapper);
+
+        long ttl = loginConfig.getCredentialCacheTtlMs();
+        if (user == null || ttl <= 0) {
+            entries.remove(username);
+            return user;
+        }
+        if (entries.size() >= loginConfig.getCredentialCacheMaxEntries()) {
+            evictExpired();
+        }
+        if (entries.size() < loginConfig.getCredentialCacheMaxEntries()) {
+            entries.put(username, new Entry(user, now + ttl));
+        }
+        return user;
+    }
+
+    /**
+     * 用户凭据或状态变更后调用：事务内在提交后失效，否则立即失效
+     */
+    public void invalidate(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(username);
+                }
+            });
+        } else {
+            entries.remove(username);
+        }
+    }
+
+    /**
+     * 清理过期条目
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.login.credential-cache-ttl-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
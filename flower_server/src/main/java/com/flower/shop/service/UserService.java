@@ -2,6 +2,7 @@ package com.flower.shop.service;
 
 import com.flower.shop.dto.LoginRequest;
 import com.flower.shop.dto.LoginResponse;
+import com.flower.shop.dto.UserAvailabilityDTO;
 import com.flower.shop.dto.UserRegisterRequest;
 import com.flower.shop.entity.User;
 
@@ -18,6 +19,15 @@ public interface UserService {
      */
     Long register(UserRegisterRequest request);
 
+    /**
+     * 检查用户名、手机号是否可用（注册前提示，注册结果以唯一索引为准）
+     *
+     * @param username 用户名，为空时不检查
+     * @param phone    手机号，为空时不检查
+     * @return 可用性
+     */
+    UserAvailabilityDTO checkAvailability(String username, String phone);
+
     /**
      * 用户登录
      * 
@@ -0,0 +1,140 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.mapper.CatalogVersionMapper;
+import com.flower.shop.service.CatalogVersionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 商品目录版本服务实现类
+ *
+ * 设计说明：
+ * - 商品、分类、库存任何变更都使版本号递增，目录类接口的 ETag 与响应缓存以版本号为依据
+ * - 在事务内调用时于提交后递增：提交前读到旧版本的请求最多缓存到更新的数据，不会把旧数据挂在新版本下
+ * - 递增在独立的新事务（REQUIRES_NEW）中执行并立即提交：afterCommit 阶段外层事务的连接仍然绑定，
+ *   直接执行更新不会被提交，版本行的行锁会一直持有到连接清理
+ * - 版本号保存在 catalog_version 表，多个节点共享：本节点变更后立即递增并读回，
+ *   其他节点的变更按 flower-shop.catalog-cache.version-sync-interval-ms 定时同步，各节点 ETag 一致
+ * - 版本行初始值取创建时间（毫秒），重建数据库后旧 ETag 不会误命中；数据库不可用时退化为本节点计数
+ * - 在生命周期启动阶段加载，容器刷新阶段不访问数据库
+ */
+@Slf4j
+@Service
+public class CatalogVersionServiceImpl implements CatalogVersionService, SmartLifecycle {
+
+    private final CatalogVersionMapper catalogVersionMapper;
+
+    /**
+     * 版本递增使用的独立事务
+     */
+    private final TransactionTemplate incrementTransaction;
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * 数据库不可用期间发生过本节点递增，尚未写入共享版本
+     */
+    private volatile boolean pendingIncrement;
+
+    private volatile boolean running;
+
+    public CatalogVersionServiceImpl(CatalogVersionMapper catalogVersionMapper,
+            PlatformTransactionManager transactionManager) {
+        this.catalogVersionMapper = catalogVersionMapper;
+        this.incrementTransaction = new TransactionTemplate(transactionManager);
+        this.incrementTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void start() {
+        try {
+            catalogVersionMapper.insertIfAbsent(version.get());
+        } catch (Exception e) {
+            log.warn("初始化目录版本失败，使用本节点版本号", e);
+        }
+        sync();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public long current() {
+        return version.get();
+    }
+
+    @Override
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    /**
+     * 同步其他节点的目录变更；数据库恢复后先补上不可用期间本节点的递增
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.catalog-cache.version-sync-interval-ms:5000}")
+    public void sync() {
+        try {
+            if (pendingIncrement) {
+                incrementTransaction.executeWithoutResult(status -> catalogVersionMapper.increment());
+                pendingIncrement = false;
+            }
+            Long shared = catalogVersionMapper.selectVersion();
+            if (shared != null) {
+                version.set(shared);
+            }
+        } catch (Exception e) {
+            log.warn("同步目录版本失败，将在下次重试: {}", e.getMessage());
+        }
+    }
+
+    private void increment() {
+        try {
+            Long shared = incrementTransaction.execute(status -> {
+                catalogVersionMapper.increment();
+                return catalogVersionMapper.selectVersion();
+            });
+            if (shared != null) {
+                version.set(shared);
+                log.debug("商品目录版本更新为 {}", shared);
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("更新共享目录版本失败，仅本节点生效: {}", e.getMessage());
+        }
+        // 数据库不可用：本节点缓存立即失效，恢复后由 sync 补上共享版本的递增
+        pendingIncrement = true;
+        long newVersion = version.incrementAndGet();
+        log.debug("商品目录版本更新为 {}（本节点）", newVersion);
+    }
+}
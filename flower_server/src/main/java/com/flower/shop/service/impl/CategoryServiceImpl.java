@@ -2,8 +2,11 @@ package com.flower.shop.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.flower.shop.dto.CategorySortItem;
 import com.flower.shop.entity.Category;
 import com.flower.shop.mapper.CategoryMapper;
+import com.flower.shop.service.CatalogVersionService;
+import com.flower.shop.service.CategoryRegistry;
 import com.flower.shop.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * 商品分类服务实现类
@@ -26,6 +28,8 @@ import java.util.Map;
 public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService {
 
     private final CategoryMapper categoryMapper;
+    private final CatalogVersionService catalogVersionService;
+    private final CategoryRegistry categoryRegistry;
 
     
     
@@ -72,7 +76,11 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
             category.setSortOrder(getNextSortOrder(category.getType()));
         }
 
-        return save(category);
+        boolean result = save(category);
+        if (result) {
+            onCategoriesChanged();
+        }
+        return result;
     }
 
     @Override
@@ -109,7 +117,11 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
             }
         }
 
-        return updateById(category);
+        boolean result = updateById(category);
+        if (result) {
+            onCategoriesChanged();
+        }
+        return result;
     }
 
     @Override
@@ -122,7 +134,11 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         }
 
         // 直接删除，让数据库外键约束处理关联商品检查
-        return removeById(categoryId);
+        boolean result = removeById(categoryId);
+        if (result) {
+            onCategoriesChanged();
+        }
+        return result;
     }
 
     @Override
@@ -136,34 +152,41 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         Integer newStatus = category.getStatus() == 1 ? 0 : 1;
         category.setStatus(newStatus);
 
-        return updateById(category);
+        boolean result = updateById(category);
+        if (result) {
+            onCategoriesChanged();
+        }
+        return result;
     }
 
     @Override
     @Transactional
-    public boolean updateCategorySort(List<Map<String, Object>> sortData) {
-        try {
-            for (Map<String, Object> item : sortData) {
-                Long id = Long.valueOf(item.get("id").toString());
-                Integer sortOrder = Integer.valueOf(item.get("sortOrder").toString());
-
-                Category category = getById(id);
-                if (category != null) {
-                    category.setSortOrder(sortOrder);
-                    updateById(category);
-                }
-            }
+    public boolean updateCategorySort(List<CategorySortItem> items) {
+        if (items == null || items.isEmpty()) {
             return true;
-        } catch (Exception e) {
-            log.error("更新分类排序失败", e);
-            return false;
         }
+        long distinctIds = items.stream().map(CategorySortItem::getId).distinct().count();
+        if (distinctIds != items.size()) {
+            throw new IllegalArgumentException("排序数据中存在重复的分类ID");
+        }
+
+        int matched = categoryMapper.batchUpdateSortOrder(items);
+        if (matched != items.size()) {
+            // 有分类不存在：抛出异常让整批回滚，避免只更新一部分
+            throw new IllegalArgumentException("部分分类不存在，排序未更新");
+        }
+
+        onCategoriesChanged();
+        log.info("更新分类排序成功，共 {} 个分类", items.size());
+        return true;
     }
 
     @Override
     public Category getByName(String name) {
+        // 按名称查找与写入校验使用数据库：名称比较遵循列的排序规则（不区分大小写），且不受注册表刷新延迟影响
         return lambdaQuery()
                 .eq(Category::getName, name)
+                .last("limit 1")
                 .one();
     }
 
@@ -180,6 +203,14 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         return count(queryWrapper) > 0;
     }
 
+    /**
+     * 分类变更：提交后刷新分类注册表并更新目录版本
+     */
+    private void onCategoriesChanged() {
+        categoryRegistry.refreshAfterCommit();
+        catalogVersionService.bump();
+    }
+
     /**
      * 获取下一个排序值
      */
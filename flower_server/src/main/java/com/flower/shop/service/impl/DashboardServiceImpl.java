@@ -6,8 +6,10 @@ import com.flower.shop.entity.Product;
 import com.flower.shop.mapper.OrderMapper;
 import com.flower.shop.mapper.ProductMapper;
 import com.flower.shop.service.DashboardService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,6 +28,8 @@ public class DashboardServiceImpl implements DashboardService {
     private final ProductMapper productMapper;
 
     @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "flower.service", extraTags = { "method", "getStats" }, histogram = true)
     public DashboardStatsDTO getStats() {
         Integer todayOrderCount = orderMapper.countTodayOrders();
         BigDecimal todaySales = getTodaySalesAmount();
@@ -41,6 +45,7 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDistributionDTO> getOrderDistribution() {
         List<Map<String, Object>> statusCounts = orderMapper.countOrdersByStatus();
 
@@ -68,6 +73,7 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SalesTrendDTO> getSalesTrend() {
         LocalDate today = LocalDate.now();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MM-dd");
@@ -92,6 +98,7 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getRecentOrders() {
         List<Order> orders = orderMapper.selectList(
                 new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<Order>()
@@ -135,6 +142,7 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getLowStockProducts() {
         List<Product> products = productMapper.selectList(
                 new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<Product>()
@@ -0,0 +1,276 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.DeliverySlotConfig;
+import com.flower.shop.dto.DeliverySlotAvailabilityDTO;
+import com.flower.shop.entity.DeliverySlotCapacity;
+import com.flower.shop.enums.DeliverySlot;
+import com.flower.shop.exception.BusinessException;
+import com.flower.shop.mapper.DeliverySlotCapacityMapper;
+import com.flower.shop.service.DeliverySlotService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 配送时段容量服务实现类
+ *
+ * 设计说明：
+ * - 每个 (配送日期, 时段) 对应一个内存计数器，预约通过 CAS 无锁递增，不会超过本节点看到的容量
+ * - 计数器同时累计本节点尚未落库的增量，由定时任务合并为一条多行 upsert 累加到数据库（reserved = reserved + 增量），
+ *   多个节点各自累加，不会互相覆盖
+ * - 每次落库后从数据库读取各时段总数，刷新本节点计数器（总数 + 尚未落库的增量），其他节点的预约在一个周期内可见
+ * - 多节点时容量控制是近似的：同一周期内各节点并发预约最多超出容量（节点数 - 1）× 周期内预约数
+ * - 启动时从 delivery_slot_capacity 恢复计数器，关闭前再落库一次
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliverySlotServiceImpl implements DeliverySlotService, SmartLifecycle {
+
+    private final DeliverySlotCapacityMapper capacityMapper;
+    private final DeliverySlotConfig slotConfig;
+
+    private final ConcurrentMap<SlotKey, SlotCounter> counters = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    /**
+     * 在生命周期启动阶段恢复计数器（早于 Web 服务器接收请求）。
+     * 不放在 @PostConstruct 中：容器刷新阶段不访问数据库，CDS 训练运行（spring.context.exit=onRefresh）无需数据库
+     */
+    @Override
+    public void start() {
+        loadCounters();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * 启动时从数据库恢复今天及之后的预约计数
+     */
+    private void loadCounters() {
+        int loaded = syncFromDatabase();
+        log.info("已恢复 {} 个配送时段预约计数", loaded);
+    }
+
+    /**
+     * 从数据库读取今天及之后的预约总数，刷新本节点计数器
+     *
+     * @return 读取的时段数
+     */
+    private int syncFromDatabase() {
+        List<DeliverySlotCapacity> rows = capacityMapper.selectFromDate(LocalDate.now());
+        for (DeliverySlotCapacity row : rows) {
+            DeliverySlot slot;
+            try {
+                slot = DeliverySlot.valueOf(row.getSlotCode());
+            } catch (IllegalArgumentException e) {
+                log.warn("忽略未知配送时段: {}", row.getSlotCode());
+                continue;
+            }
+            SlotKey key = new SlotKey(row.getDeliveryDate(), slot);
+            int reserved = row.getReserved() != null ? row.getReserved() : 0;
+            counters.computeIfAbsent(key, k -> new SlotCounter(resolveCapacity(k), 0)).syncTotal(reserved);
+        }
+        return rows.size();
+    }
+
+    @Override
+    public void reserve(LocalDate date, DeliverySlot slot) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        if (date.isBefore(today) || !date.isBefore(today.plusDays(slotConfig.getBookingDays()))) {
+            throw new BusinessException("配送日期不在可预约范围内");
+        }
+        if (!slot.isOpen(date, now)) {
+            throw new BusinessException("该配送时段已截单，请选择其他时段");
+        }
+
+        SlotKey key = new SlotKey(date, slot);
+        SlotCounter counter = counters.computeIfAbsent(key, k -> new SlotCounter(resolveCapacity(k), 0));
+        if (!counter.tryReserve()) {
+            throw new BusinessException("该配送时段已约满，请选择其他时段");
+        }
+    }
+
+    @Override
+    public void release(LocalDate date, DeliverySlot slot) {
+        // 名额可能由其他节点预约，本节点没有计数器时也要记录 -1 增量
+        counters.computeIfAbsent(new SlotKey(date, slot), k -> new SlotCounter(resolveCapacity(k), 0)).release();
+    }
+
+    @Override
+    public List<DeliverySlotAvailabilityDTO> getAvailability(LocalDate date) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        boolean bookable = !date.isBefore(today) && date.isBefore(today.plusDays(slotConfig.getBookingDays()));
+
+        List<DeliverySlotAvailabilityDTO> result = new ArrayList<>();
+        for (DeliverySlot slot : DeliverySlot.values()) {
+            SlotKey key = new SlotKey(date, slot);
+            SlotCounter counter = counters.get(key);
+            int capacity = counter != null ? counter.capacity : resolveCapacity(key);
+            int remaining = Math.max(0, capacity - (counter != null ? counter.reserved.get() : 0));
+
+            result.add(DeliverySlotAvailabilityDTO.builder()
+                    .date(date.toString())
+                    .value(slot.getValue())
+                    .label(slot.getLabel())
+                    .capacity(capacity)
+                    .remaining(remaining)
+                    .available(bookable && remaining > 0 && slot.isOpen(date, now))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${flower-shop.delivery.slot.flush-interval-ms:5000}")
+    public void flush() {
+        LocalDate today = LocalDate.now();
+        List<DeliverySlotCapacity> batch = new ArrayList<>();
+        List<PendingDelta> flushed = new ArrayList<>();
+
+        for (Map.Entry<SlotKey, SlotCounter> entry : counters.entrySet()) {
+            SlotKey key = entry.getKey();
+            SlotCounter counter = entry.getValue();
+            int delta = counter.pending.getAndSet(0);
+            if (delta != 0) {
+                DeliverySlotCapacity row = new DeliverySlotCapacity();
+                row.setDeliveryDate(key.date());
+                row.setSlotCode(key.slot().name());
+                row.setCapacity(counter.capacity);
+                row.setReserved(delta);
+                batch.add(row);
+                flushed.add(new PendingDelta(counter, delta));
+            } else if (key.date().isBefore(today)) {
+                // 过期日期的计数器已落库，直接清理
+                counters.remove(key, counter);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                capacityMapper.batchIncrement(batch);
+                log.debug("配送时段预约计数落库完成，共 {} 条", batch.size());
+            } catch (Exception e) {
+                // 落库失败时把增量加回计数器，等待下次重试
+                flushed.forEach(pending -> pending.counter().pending.addAndGet(pending.delta()));
+                log.error("配送时段预约计数落库失败，将在下次重试", e);
+                return;
+            }
+        }
+
+        if (running) {
+            try {
+                syncFromDatabase();
+            } catch (Exception e) {
+                log.warn("同步配送时段预约总数失败，沿用本节点计数: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 关闭前落库，避免丢失最后一个周期的预约
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 解析时段容量：日期覆盖 > 时段覆盖 > 默认容量
+     */
+    private int resolveCapacity(SlotKey key) {
+        Integer byDate = slotConfig.getDateCapacity().get(key.date().toString());
+        if (byDate != null) {
+            return byDate;
+        }
+        return slotConfig.getCapacity().getOrDefault(key.slot().name(), slotConfig.getDefaultCapacity());
+    }
+
+    /**
+     * 计数器键：配送日期 + 时段
+     */
+    private record SlotKey(LocalDate date, DeliverySlot slot) {
+    }
+
+    /**
+     * 本周期取出的待落库增量（落库失败时加回）
+     */
+    private record PendingDelta(SlotCounter counter, int delta) {
+    }
+
+    /**
+     * 时段预约计数器
+     */
+    private static final class SlotCounter {
+        private final int capacity;
+        /**
+         * 本节点看到的已预约数（数据库总数 + 尚未落库的增量）
+         */
+        private final AtomicInteger reserved;
+        /**
+         * 尚未落库的增量
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private SlotCounter(int capacity, int reserved) {
+            this.capacity = capacity;
+            this.reserved = new AtomicInteger(reserved);
+        }
+
+        /**
+         * CAS 递增，已满时返回 false
+         */
+        private boolean tryReserve() {
+            int current;
+            do {
+                current = reserved.get();
+                if (current >= capacity) {
+                    return false;
+                }
+            } while (!reserved.compareAndSet(current, current + 1));
+            pending.incrementAndGet();
+            return true;
+        }
+
+        private void release() {
+            reserved.updateAndGet(value -> value > 0 ? value - 1 : 0);
+            pending.decrementAndGet();
+        }
+
+        /**
+         * 以数据库总数为基准刷新：总数尚未包含本节点未落库的增量
+         */
+        private void syncTotal(int total) {
+            reserved.set(Math.max(0, total + pending.get()));
+        }
+    }
+}
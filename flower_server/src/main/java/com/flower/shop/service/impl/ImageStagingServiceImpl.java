@@ -0,0 +1,111 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.ConnectionHoldTracker;
+import com.flower.shop.config.FileUploadConfig;
+import com.flower.shop.service.ImageStagingService;
+import com.flower.shop.util.FileUploadUtil;
+import com.flower.shop.util.FileUploadUtil.StagedFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 图片两阶段上传服务实现类
+ *
+ * 设计说明：
+ * - 第一阶段：在事务之外把上传文件写入暂存目录（不占用数据库连接）
+ * - 第二阶段：以正式访问路径执行短事务，只写图片元数据
+ * - 事务成功后把暂存文件移动到正式目录；事务失败则删除暂存文件，不留下孤儿文件
+ * - 每次文件读写前调用 ConnectionHoldTracker.recordIo，被调用方放进事务时可从指标中发现
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageStagingServiceImpl implements ImageStagingService {
+
+    /**
+     * 暂存文件最长保留时间，超过仍未转正视为遗留文件
+     */
+    private static final Duration STAGED_FILE_MAX_AGE = Duration.ofHours(1);
+
+    private final FileUploadConfig fileUploadConfig;
+
+    @Override
+    public <T> T withStagedImages(List<MultipartFile> files, Function<List<String>, T> action) throws IOException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("图片暂存在事务内执行，文件写入期间将持有数据库连接");
+        }
+
+        List<StagedFile> stagedFiles = stage(files);
+        T result;
+        try {
+            result = action.apply(stagedFiles.stream().map(StagedFile::relativePath).toList());
+        } catch (RuntimeException e) {
+            discard(stagedFiles);
+            throw e;
+        }
+
+        promote(stagedFiles);
+        return result;
+    }
+
+    /**
+     * 定期清理进程异常退出时遗留的暂存文件
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    public void purgeStaleStagedFiles() {
+        int deleted = FileUploadUtil.purgeStagedFiles(fileUploadConfig.getUploadPath(), STAGED_FILE_MAX_AGE);
+        if (deleted > 0) {
+            log.info("已清理 {} 个遗留的暂存图片", deleted);
+        }
+    }
+
+    private List<StagedFile> stage(List<MultipartFile> files) throws IOException {
+        if (files == null || files.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<StagedFile> stagedFiles = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                ConnectionHoldTracker.recordIo("upload");
+                stagedFiles.add(FileUploadUtil.stageFile(file, fileUploadConfig.getUploadPath()));
+            }
+        } catch (IOException | RuntimeException e) {
+            discard(stagedFiles);
+            throw e;
+        }
+        return stagedFiles;
+    }
+
+    private void discard(List<StagedFile> stagedFiles) {
+        for (StagedFile stagedFile : stagedFiles) {
+            ConnectionHoldTracker.recordIo("delete");
+            FileUploadUtil.discard(stagedFile);
+        }
+    }
+
+    /**
+     * 元数据已提交，转正失败不再回滚，只记录日志以便人工补救
+     */
+    private void promote(List<StagedFile> stagedFiles) {
+        for (StagedFile stagedFile : stagedFiles) {
+            try {
+                ConnectionHoldTracker.recordIo("move");
+                FileUploadUtil.promote(stagedFile);
+            } catch (IOException e) {
+                log.error("暂存图片转正失败，暂存文件: {}，目标路径: {}",
+                        stagedFile.stagedPath(), stagedFile.finalPath(), e);
+            }
+        }
+    }
+}
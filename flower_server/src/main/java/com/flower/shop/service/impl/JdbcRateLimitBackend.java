@@ -0,0 +1,79 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.RateLimitConfig;
+import com.flower.shop.mapper.RateLimitBucketMapper;
+import com.flower.shop.service.RateLimitBackend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MySQL 共享令牌桶存储（多节点）
+ *
+ * 设计说明：
+ * - 令牌桶保存在 rate_limit_bucket 表，扣减为一条带条件的 UPDATE（行锁保证原子性），
+ *   键不存在时 INSERT IGNORE 新建；只有被拒绝时才额外查询一次计算等待时间
+ * - 时间取各节点系统时钟（微秒），节点间需时钟同步
+ * - 每个受限请求访问一次主库，只适合登录、注册、下单等低频接口
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final RateLimitBucketMapper rateLimitBucketMapper;
+    private final RateLimitConfig rateLimitConfig;
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public long tryAcquire(String key, long intervalMicros, int capacity) {
+        long now = nowMicros();
+        long tolerance = intervalMicros * (capacity - 1);
+        if (rateLimitBucketMapper.consume(key, now, intervalMicros, tolerance) > 0) {
+            return 0;
+        }
+        if (rateLimitBucketMapper.insertIfAbsent(key, now + intervalMicros) > 0) {
+            return 0;
+        }
+        // 并发新建时另一节点先插入，重试一次扣减
+        if (rateLimitBucketMapper.consume(key, now, intervalMicros, tolerance) > 0) {
+            return 0;
+        }
+        Long tat = rateLimitBucketMapper.selectTat(key);
+        long wait = tat != null ? tat - now - tolerance : intervalMicros;
+        return Math.max(1, TimeUnit.MICROSECONDS.toMillis(wait));
+    }
+
+    /**
+     * 清理已回满的令牌桶
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!rateLimitConfig.isEnabled() || !name().equals(rateLimitConfig.getBackend())) {
+            return;
+        }
+        long now = nowMicros();
+        int deleted;
+        int total = 0;
+        do {
+            deleted = rateLimitBucketMapper.deleteRefilled(now, DELETE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == DELETE_BATCH_SIZE);
+        if (total > 0) {
+            log.debug("清理已回满的限流令牌桶 {} 个", total);
+        }
+    }
+
+    private static long nowMicros() {
+        return TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    }
+}
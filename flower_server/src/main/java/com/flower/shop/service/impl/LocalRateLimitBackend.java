@@ -0,0 +1,92 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.RateLimitConfig;
+import com.flower.shop.service.RateLimitBackend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内令牌桶存储（单节点）
+ *
+ * 设计说明：
+ * - 每个键一个 AtomicLong 保存理论到达时间（微秒，单调时钟），扣减为 CAS 循环，无锁
+ * - 理论到达时间不晚于当前时间的桶已经回满，与不存在等价，定时清理；
+ *   键数达到上限时先立即清理一次（每秒最多一次），仍超限则拒绝新键并告警：
+ *   放行新键会让伪造大量来源的攻击绕过全部限流，已有键不受影响，上限内的正常用户照常扣减
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private static final long OVERFLOW_SWEEP_INTERVAL_MICROS = TimeUnit.SECONDS.toMicros(1);
+
+    private final RateLimitConfig rateLimitConfig;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastOverflowSweep = new AtomicLong();
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public long tryAcquire(String key, long intervalMicros, int capacity) {
+        long now = nowMicros();
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= rateLimitConfig.getMaxKeys() && !sweepOnOverflow(now)) {
+                return TimeUnit.MICROSECONDS.toMillis(OVERFLOW_SWEEP_INTERVAL_MICROS);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long tolerance = intervalMicros * (capacity - 1);
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long wait = base - now - tolerance;
+            if (wait > 0) {
+                return Math.max(1, TimeUnit.MICROSECONDS.toMillis(wait));
+            }
+            if (tat.compareAndSet(current, base + intervalMicros)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 清理已回满的令牌桶（清理与扣减之间的竞争最多多放行一次请求）
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = nowMicros();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+    }
+
+    /**
+     * 键数达到上限：每秒最多清理一次，返回清理后是否有空位
+     */
+    private boolean sweepOnOverflow(long now) {
+        long last = lastOverflowSweep.get();
+        if (now - last >= OVERFLOW_SWEEP_INTERVAL_MICROS && lastOverflowSweep.compareAndSet(last, now)) {
+            sweep();
+            if (buckets.size() >= rateLimitConfig.getMaxKeys()) {
+                log.warn("限流令牌桶数量达到上限 {}，清理后仍无空位，暂时拒绝新客户端", rateLimitConfig.getMaxKeys());
+            }
+        }
+        return buckets.size() < rateLimitConfig.getMaxKeys();
+    }
+
+    private static long nowMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime());
+    }
+}
@@ -0,0 +1,219 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.OrderExpiryConfig;
+import com.flower.shop.entity.Order;
+import com.flower.shop.enums.DeliverySlot;
+import com.flower.shop.enums.OrderStatus;
+import com.flower.shop.mapper.OrderMapper;
+import com.flower.shop.service.DeliverySlotService;
+import com.flower.shop.service.OrderEventBroadcaster;
+import com.flower.shop.service.OrderExpiryService;
+import com.flower.shop.service.OrderHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 未支付订单超时取消服务实现类
+ *
+ * 设计说明：
+ * - 等待支付的订单按到期时间放入内存 DelayQueue，定时任务只取出已到期的元素
+ * - 每批订单在一个事务中加锁并用一条条件更新取消，已支付或已被处理的订单自然跳过
+ * - 提交后释放配送时段名额并推送订单状态变更事件
+ * - 启动时从订单表恢复队列，重启期间到期的订单会在第一次检查时取消
+ * - 取出后未被取消但仍在等待支付的订单（应用与数据库时钟不一致、入队时缺少创建时间等）
+ *   按数据库中的创建时间重新入队，不会因一次未命中而不再检查
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExpiryServiceImpl implements OrderExpiryService {
+
+    private static final String CANCEL_REASON = "取消原因: 超时未支付，系统自动取消";
+
+    /**
+     * 重新入队订单的最短等待时间，避免时钟偏差较大时反复查询同一批订单
+     */
+    private static final long REQUEUE_MIN_DELAY_MS = 5000;
+
+    private final OrderMapper orderMapper;
+    private final OrderHistoryService orderHistoryService;
+    private final DeliverySlotService deliverySlotService;
+    private final OrderEventBroadcaster orderEventBroadcaster;
+    private final OrderExpiryConfig expiryConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DelayQueue<ExpiringOrder> queue = new DelayQueue<>();
+
+    @Override
+    public void register(Order order) {
+        if (!expiryConfig.isEnabled() || order == null || order.getId() == null) {
+            return;
+        }
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+        ExpiringOrder expiring = new ExpiringOrder(order.getId(), expireAtMillis(createdAt));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.offer(expiring);
+                }
+            });
+        } else {
+            queue.offer(expiring);
+        }
+    }
+
+    /**
+     * 启动时恢复等待支付的订单
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAwaitingPaymentOrders() {
+        if (!expiryConfig.isEnabled()) {
+            return;
+        }
+        try {
+            List<Order> orders = orderMapper.selectAwaitingPaymentOrders();
+            for (Order order : orders) {
+                LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+                queue.offer(new ExpiringOrder(order.getId(), expireAtMillis(createdAt)));
+            }
+            log.info("已恢复 {} 个等待支付订单的超时取消任务", orders.size());
+        } catch (Exception e) {
+            log.error("恢复等待支付订单失败", e);
+        }
+    }
+
+    /**
+     * 定时取消到期订单
+     */
+    @Scheduled(fixedDelayString = "${flower-shop.order.expiry.check-interval-ms:1000}")
+    public void processExpiredOrders() {
+        if (!expiryConfig.isEnabled() || queue.isEmpty()) {
+            return;
+        }
+        try {
+            int cancelled = cancelExpiredOrders();
+            if (cancelled > 0) {
+                log.info("已自动取消 {} 个超时未支付订单", cancelled);
+            }
+        } catch (Exception e) {
+            log.error("自动取消超时订单失败", e);
+        }
+    }
+
+    @Override
+    public int cancelExpiredOrders() {
+        int total = 0;
+        List<ExpiringOrder> batch = new ArrayList<>();
+        while (queue.drainTo(batch, expiryConfig.getBatchSize()) > 0) {
+            List<Long> orderIds = batch.stream().map(ExpiringOrder::orderId).toList();
+            try {
+                total += cancelBatch(orderIds);
+            } catch (RuntimeException e) {
+                // 放回队列，下次检查时重试
+                queue.addAll(batch);
+                throw e;
+            }
+            batch.clear();
+        }
+        return total;
+    }
+
+    /**
+     * 在一个事务中取消一批订单，提交后释放配送时段名额
+     */
+    private int cancelBatch(List<Long> orderIds) {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(expiryConfig.getPaymentTimeoutMinutes());
+
+        List<Order> cancelled = transactionTemplate.execute(status -> {
+            List<Order> expired = orderMapper.selectExpiredUnpaidForUpdate(orderIds, cutoff);
+            if (expired.isEmpty()) {
+                return Collections.<Order>emptyList();
+            }
+            List<Long> expiredIds = expired.stream().map(Order::getId).toList();
+            orderMapper.cancelExpiredUnpaid(expiredIds, cutoff, CANCEL_REASON);
+            orderHistoryService.syncOrderStatuses(expiredIds);
+            return expired;
+        });
+
+        if (cancelled == null) {
+            cancelled = Collections.emptyList();
+        }
+        if (cancelled.size() < orderIds.size()) {
+            requeueStillAwaiting(orderIds, cancelled);
+        }
+        for (Order order : cancelled) {
+            releaseDeliverySlot(order);
+            order.setStatus(OrderStatus.CANCELLED);
+            orderEventBroadcaster.publishStatusChanged(order);
+        }
+        return cancelled.size();
+    }
+
+    /**
+     * 取出但未取消的订单中，仍在等待支付的按数据库创建时间重新入队；已支付或已处理的丢弃
+     */
+    private void requeueStillAwaiting(List<Long> orderIds, List<Order> cancelled) {
+        Set<Long> cancelledIds = cancelled.stream().map(Order::getId).collect(Collectors.toSet());
+        List<Long> remaining = orderIds.stream().filter(id -> !cancelledIds.contains(id)).toList();
+        long earliest = System.currentTimeMillis() + REQUEUE_MIN_DELAY_MS;
+        for (Order order : orderMapper.selectAwaitingPaymentByIds(remaining)) {
+            long expireAt = order.getCreatedAt() != null ? expireAtMillis(order.getCreatedAt()) : earliest;
+            queue.offer(new ExpiringOrder(order.getId(), Math.max(expireAt, earliest)));
+        }
+    }
+
+    private void releaseDeliverySlot(Order order) {
+        if (order.getDeliverySlot() == null || order.getDeliveryStartTime() == null) {
+            return;
+        }
+        try {
+            deliverySlotService.release(order.getDeliveryStartTime().toLocalDate(),
+                    DeliverySlot.valueOf(order.getDeliverySlot()));
+        } catch (IllegalArgumentException e) {
+            log.warn("订单配送时段无效，跳过释放: {}", order.getDeliverySlot());
+        }
+    }
+
+    private long expireAtMillis(LocalDateTime createdAt) {
+        return createdAt.plusMinutes(expiryConfig.getPaymentTimeoutMinutes())
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+
+    /**
+     * 到期队列元素
+     */
+    private record ExpiringOrder(Long orderId, long expireAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expireAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expireAt, ((ExpiringOrder) other).expireAt);
+        }
+    }
+}
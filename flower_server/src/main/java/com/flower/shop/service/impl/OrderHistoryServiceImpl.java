@@ -0,0 +1,108 @@
+package com.flower.shop.service.impl;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.flower.shop.entity.CustomerOrderHistory;
+import com.flower.shop.entity.Order;
+import com.flower.shop.entity.OrderItem;
+import com.flower.shop.mapper.CustomerOrderHistoryMapper;
+import com.flower.shop.service.OrderHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 客户订单历史服务实现类
+ *
+ * 设计说明：
+ * - 投影与订单在同一事务内写入，保证历史列表与订单一致
+ * - 投影上线前的历史订单由 sql/upgrade.sql 一次性补齐，启动时不再扫描订单表
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryServiceImpl implements OrderHistoryService {
+
+    /**
+     * 商品摘要最大长度（与 item_summary 列长度一致）
+     */
+    private static final int MAX_SUMMARY_LENGTH = 1000;
+
+    private final CustomerOrderHistoryMapper historyMapper;
+
+    @Override
+    public void recordOrderCreated(Order order, List<OrderItem> items) {
+        CustomerOrderHistory history = new CustomerOrderHistory();
+        history.setOrderId(order.getId());
+        history.setOrderNo(order.getOrderNo());
+        history.setUserId(order.getUserId());
+        history.setCustomerName(order.getCustomerName());
+        history.setCustomerPhone(order.getCustomerPhone());
+        history.setTotalAmount(order.getTotalAmount());
+        history.setDeliveryFee(order.getDeliveryFee());
+        history.setDiscountAmount(order.getDiscountAmount());
+        history.setFinalAmount(order.getFinalAmount());
+        history.setStatus(order.getStatus());
+        history.setPaymentMethod(order.getPaymentMethod());
+        history.setPaymentStatus(order.getPaymentStatus());
+        history.setDeliveryStartTime(order.getDeliveryStartTime());
+        history.setDeliveryEndTime(order.getDeliveryEndTime());
+        history.setNotes(order.getNotes());
+        history.setCardContent(order.getCardContent());
+        history.setCardSender(order.getCardSender());
+        history.setItemCount(items.size());
+        history.setItemSummary(buildItemSummary(items));
+        history.setOrderCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now());
+
+        historyMapper.insert(history);
+    }
+
+    @Override
+    public void syncOrderStatus(Order order) {
+        int updated = historyMapper.updateStatusByOrderId(
+                order.getId(), order.getStatus().getCode(), order.getPaymentStatus(), order.getNotes());
+        if (updated == 0) {
+            log.warn("订单历史投影不存在，订单ID: {}", order.getId());
+        }
+    }
+
+    @Override
+    public void syncOrderStatuses(List<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return;
+        }
+        historyMapper.syncStatusByOrderIds(orderIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IPage<Order> getHistoryByPhone(String phone, String status, Integer page, Integer size) {
+        return historyMapper.selectPageByPhone(new Page<>(page, size), phone, status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IPage<Order> getHistoryByUserId(Long userId, String status, Integer page, Integer size) {
+        return historyMapper.selectPageByUserId(new Page<>(page, size), userId, status);
+    }
+
+    /**
+     * 生成商品摘要，如：红玫瑰花束 x2，百合 x1
+     */
+    private String buildItemSummary(List<OrderItem> items) {
+        StringBuilder summary = new StringBuilder();
+        for (OrderItem item : items) {
+            if (summary.length() > 0) {
+                summary.append('，');
+            }
+            summary.append(item.getProductSnapshotName()).append(" x").append(item.getQuantity());
+        }
+        return summary.length() > MAX_SUMMARY_LENGTH
+                ? summary.substring(0, MAX_SUMMARY_LENGTH)
+                : summary.toString();
+    }
+}
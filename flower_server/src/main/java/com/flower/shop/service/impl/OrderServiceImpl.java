@@ -4,23 +4,36 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.flower.shop.dto.CreateOrderRequest;
+import com.flower.shop.dto.PriceQuoteDTO;
+import com.flower.shop.dto.PriceQuoteRequest;
 import com.flower.shop.entity.Order;
 import com.flower.shop.entity.OrderItem;
 import com.flower.shop.entity.Product;
+import com.flower.shop.enums.DeliverySlot;
 import com.flower.shop.enums.OrderStatus;
 import com.flower.shop.exception.BusinessException;
 import com.flower.shop.mapper.OrderItemMapper;
 import com.flower.shop.mapper.OrderMapper;
+import com.flower.shop.service.CatalogVersionService;
+import com.flower.shop.service.DeliverySlotService;
+import com.flower.shop.service.OrderEventBroadcaster;
+import com.flower.shop.service.OrderExpiryService;
+import com.flower.shop.service.OrderHistoryService;
 import com.flower.shop.service.OrderService;
+import com.flower.shop.service.PricingService;
 import com.flower.shop.service.ProductService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.security.core.Authentication;
@@ -34,9 +47,16 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
     private final OrderItemMapper orderItemMapper;
     private final ProductService productService;
     private final OrderMapper orderMapper;
+    private final OrderHistoryService orderHistoryService;
+    private final DeliverySlotService deliverySlotService;
+    private final PricingService pricingService;
+    private final OrderExpiryService orderExpiryService;
+    private final OrderEventBroadcaster orderEventBroadcaster;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
+    @Timed(value = "flower.service", extraTags = { "method", "createOrder" }, histogram = true)
     public Order createOrder(CreateOrderRequest request) {
         // 1. 创建订单对象
         Order order = new Order();
@@ -55,36 +75,17 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             log.warn("绑定用户下单失败: {}", e.getMessage());
         }
 
-        // 2. 设置配送信息
-        if (request.getDeliveryDate() != null && request.getDeliveryTime() != null) {
-            String timeStr = request.getDeliveryTime();
-            if (timeStr.contains("-")) {
-                // 处理时间段格式，如 "09:00-12:00"
-                String[] parts = timeStr.split("-");
-                try {
-                    java.time.LocalTime startTime = java.time.LocalTime.parse(parts[0]);
-                    java.time.LocalTime endTime = java.time.LocalTime.parse(parts[1]);
-                    order.setDeliveryStartTime(LocalDateTime.of(request.getDeliveryDate(), startTime));
-                    order.setDeliveryEndTime(LocalDateTime.of(request.getDeliveryDate(), endTime));
-                } catch (Exception e) {
-                    log.error("解析配送时间段失败: {}", timeStr);
-                }
-            } else if ("尽快送达".equals(timeStr)) {
-                // "尽快送达" 设为当前时间 到 当前时间+2小时
-                LocalDateTime now = LocalDateTime.now();
-                order.setDeliveryStartTime(now);
-                order.setDeliveryEndTime(now.plusHours(2));
-            } else {
-                // 尝试作为普通时间解析
-                try {
-                    java.time.LocalTime time = java.time.LocalTime.parse(timeStr);
-                    order.setDeliveryStartTime(LocalDateTime.of(request.getDeliveryDate(), time));
-                    order.setDeliveryEndTime(order.getDeliveryStartTime().plusHours(1)); // 默认给一小时窗口
-                } catch (Exception e) {
-                    log.error("解析配送时间失败: {}", timeStr);
-                }
-            }
+        // 2. 设置配送信息（预约配送时段名额）
+        DeliverySlot slot = DeliverySlot.fromValue(request.getDeliveryTime());
+        if (slot == null) {
+            throw new BusinessException("无效的配送时间段: " + request.getDeliveryTime());
         }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate deliveryDate = slot.isAsap() ? now.toLocalDate() : request.getDeliveryDate();
+        reserveDeliverySlot(deliveryDate, slot);
+        order.setDeliverySlot(slot.name());
+        order.setDeliveryStartTime(slot.windowStart(deliveryDate, now));
+        order.setDeliveryEndTime(slot.windowEnd(deliveryDate, now));
 
         // 3. 设置贺卡信息
         order.setCardContent(request.getCardContent());
@@ -101,16 +102,17 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
             order.setPaymentMethod("ON_DELIVERY"); // 默认使用到付
         }
 
-        // 6. 计算订单金额
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        // 6. 计算订单金额（以服务端价格快照为准，不信任客户端提交的价格）
+        List<PriceQuoteRequest.QuoteItem> quoteItems = new ArrayList<>(request.getItems().size());
         for (CreateOrderRequest.OrderItemDTO itemDTO : request.getItems()) {
-            BigDecimal itemTotal = itemDTO.getPrice().multiply(BigDecimal.valueOf(itemDTO.getQuantity()));
-            totalAmount = totalAmount.add(itemTotal);
+            quoteItems.add(new PriceQuoteRequest.QuoteItem(itemDTO.getProductId(), itemDTO.getQuantity()));
         }
+        PriceQuoteDTO quote = pricingService.quote(quoteItems);
 
-        order.setTotalAmount(totalAmount);
-        order.setDeliveryFee(BigDecimal.ZERO); // 暂时免运费
-        order.setFinalAmount(totalAmount);
+        order.setTotalAmount(quote.getTotalAmount());
+        order.setDeliveryFee(quote.getDeliveryFee());
+        order.setDiscountAmount(quote.getDiscountAmount());
+        order.setFinalAmount(quote.getFinalAmount());
 
         // 7. 设置订单状态
         // 对于到付订单，直接进入准备状态；对于在线支付订单，需要等待支付
@@ -126,39 +128,46 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         this.save(order);
 
         // 9. 保存订单项
-        for (CreateOrderRequest.OrderItemDTO itemDTO : request.getItems()) {
-            Product product = productService.getById(itemDTO.getProductId());
-            if (product == null) {
-                throw new BusinessException("商品不存在: " + itemDTO.getProductId());
-            }
-
+        List<OrderItem> orderItems = new ArrayList<>(quote.getLines().size());
+        for (PriceQuoteDTO.QuoteLine line : quote.getLines()) {
             OrderItem orderItem = new OrderItem();
             orderItem.setOrderId(order.getId());
-            orderItem.setProductId(product.getId());
-            orderItem.setProductSnapshotName(product.getName());
-            orderItem.setUnitPrice(itemDTO.getPrice());
-            orderItem.setQuantity(itemDTO.getQuantity());
-            orderItem.calculateSubtotal();
+            orderItem.setProductId(line.getProductId());
+            orderItem.setProductSnapshotName(line.getProductName());
+            orderItem.setUnitPrice(line.getUnitPrice());
+            orderItem.setQuantity(line.getQuantity());
+            orderItem.setSubtotal(line.getSubtotal());
 
             orderItemMapper.insert(orderItem);
+            orderItems.add(orderItem);
         }
 
+        // 10. 写入客户订单历史投影
+        orderHistoryService.recordOrderCreated(order, orderItems);
+
+        // 11. 在线支付订单登记支付超时，超时未支付自动取消
+        if (OrderStatus.PENDING.equals(order.getStatus())) {
+            orderExpiryService.register(order);
+        }
+
+        // 12. 推送新订单事件（管理端实时订单）
+        orderEventBroadcaster.publishOrderCreated(order);
+
         return order;
     }
 
     @Override
     public IPage<Order> getOrdersByPhone(String phone, String status, Integer page, Integer size) {
-        Page<Order> pageInfo = new Page<>(page, size);
-        return orderMapper.selectOrdersByCustomerPhone(pageInfo, phone, status);
+        return orderHistoryService.getHistoryByPhone(phone, status, page, size);
     }
 
     @Override
     public IPage<Order> getOrdersByUserId(Long userId, String status, Integer page, Integer size) {
-        Page<Order> pageInfo = new Page<>(page, size);
-        return orderMapper.selectOrdersByUserIdPage(pageInfo, userId, status);
+        return orderHistoryService.getHistoryByUserId(userId, status, page, size);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public IPage<Order> searchOrders(String keyword, String status, String startDate, String endDate,
             Integer page, Integer size, String sortBy, String sortOrder) {
         Page<Order> pageInfo = new Page<>(page, size);
@@ -166,6 +175,7 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Order getOrderDetail(Long orderId) {
         if (orderId == null) {
             return null;
@@ -186,6 +196,8 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
 
         order.setStatus(OrderStatus.PREPARING);
         this.updateById(order);
+        orderHistoryService.syncOrderStatus(order);
+        orderEventBroadcaster.publishStatusChanged(order);
         return order;
     }
 
@@ -202,6 +214,8 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
 
         order.setStatus(OrderStatus.DELIVERING);
         this.updateById(order);
+        orderHistoryService.syncOrderStatus(order);
+        orderEventBroadcaster.publishStatusChanged(order);
         return order;
     }
 
@@ -219,6 +233,8 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
         order.setStatus(OrderStatus.COMPLETED);
         order.setPaymentStatus("PAID");
         this.updateById(order);
+        orderHistoryService.syncOrderStatus(order);
+        orderEventBroadcaster.publishStatusChanged(order);
         return order;
     }
 
@@ -245,15 +261,66 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, Order> implements
                 productService.updateById(product);
             }
         }
+        if (!items.isEmpty()) {
+            // 库存变化影响商品详情与库存筛选
+            catalogVersionService.bump();
+        }
 
         order.setStatus(OrderStatus.CANCELLED);
         if (reason != null && !reason.trim().isEmpty()) {
             order.setNotes((order.getNotes() != null ? order.getNotes() + "\n" : "") + "取消原因: " + reason);
         }
         this.updateById(order);
+        orderHistoryService.syncOrderStatus(order);
+        orderEventBroadcaster.publishStatusChanged(order);
+
+        // 提交后释放配送时段名额
+        releaseDeliverySlotAfterCommit(order);
         return order;
     }
 
+    /**
+     * 预约配送时段名额，下单事务回滚时自动释放
+     */
+    private void reserveDeliverySlot(LocalDate deliveryDate, DeliverySlot slot) {
+        deliverySlotService.reserve(deliveryDate, slot);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        deliverySlotService.release(deliveryDate, slot);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 订单取消提交后释放其占用的配送时段名额
+     */
+    private void releaseDeliverySlotAfterCommit(Order order) {
+        if (order.getDeliverySlot() == null || order.getDeliveryStartTime() == null) {
+            return;
+        }
+        DeliverySlot slot;
+        try {
+            slot = DeliverySlot.valueOf(order.getDeliverySlot());
+        } catch (IllegalArgumentException e) {
+            log.warn("订单配送时段无效，跳过释放: {}", order.getDeliverySlot());
+            return;
+        }
+        LocalDate deliveryDate = order.getDeliveryStartTime().toLocalDate();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliverySlotService.release(deliveryDate, slot);
+            }
+        });
+    }
+
     /**
      * 生成订单号
      * 格式: FH + yyyyMMddHHmmss + 3位随机数
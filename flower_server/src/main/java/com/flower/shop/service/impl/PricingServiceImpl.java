@@ -0,0 +1,111 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.PricingConfig;
+import com.flower.shop.dto.PriceQuoteDTO;
+import com.flower.shop.dto.PriceQuoteRequest;
+import com.flower.shop.exception.BusinessException;
+import com.flower.shop.service.PricingService;
+import com.flower.shop.service.ProductPriceSnapshotService;
+import com.flower.shop.service.ProductPriceSnapshotService.PriceSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 订单定价服务实现类
+ *
+ * 设计说明：
+ * - 金额统一按分（long）在一次遍历中累加，最后再转换为 BigDecimal
+ * - 商品价格来自 ProductPriceSnapshotService，购物车频繁报价不会逐次查库
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PricingServiceImpl implements PricingService {
+
+    private final ProductPriceSnapshotService priceSnapshotService;
+    private final PricingConfig pricingConfig;
+
+    /**
+     * 默认配送费
+     */
+    @Value("${flower-shop.delivery.default-fee:0}")
+    private BigDecimal defaultDeliveryFee;
+
+    /**
+     * 免配送费门槛（商品金额达到后免配送费，0 表示不免）
+     */
+    @Value("${flower-shop.delivery.free-threshold:0}")
+    private BigDecimal freeDeliveryThreshold;
+
+    @Override
+    public PriceQuoteDTO quote(List<PriceQuoteRequest.QuoteItem> items) {
+        Map<Long, PriceSnapshot> snapshots = priceSnapshotService.getSnapshots(
+                items.stream().map(PriceQuoteRequest.QuoteItem::getProductId).collect(Collectors.toSet()));
+
+        List<PriceQuoteDTO.QuoteLine> lines = new ArrayList<>(items.size());
+        long totalCents = 0;
+        for (PriceQuoteRequest.QuoteItem item : items) {
+            PriceSnapshot snapshot = snapshots.get(item.getProductId());
+            if (snapshot == null) {
+                throw new BusinessException("商品不存在: " + item.getProductId());
+            }
+            if (!snapshot.online()) {
+                throw new BusinessException("商品已下架: " + snapshot.name());
+            }
+
+            long subtotalCents = Math.multiplyExact(snapshot.priceCents(), item.getQuantity().longValue());
+            totalCents = Math.addExact(totalCents, subtotalCents);
+
+            lines.add(PriceQuoteDTO.QuoteLine.builder()
+                    .productId(snapshot.productId())
+                    .productName(snapshot.name())
+                    .unitPrice(toAmount(snapshot.priceCents()))
+                    .quantity(item.getQuantity())
+                    .subtotal(toAmount(subtotalCents))
+                    .build());
+        }
+
+        // 满减：取优惠金额最大的活动
+        PricingConfig.Promotion promotion = null;
+        long discountCents = 0;
+        for (PricingConfig.Promotion candidate : pricingConfig.getPromotions()) {
+            long thresholdCents = toCents(candidate.getThreshold());
+            long candidateDiscount = Math.min(toCents(candidate.getDiscount()), totalCents);
+            if (totalCents >= thresholdCents && candidateDiscount > discountCents) {
+                promotion = candidate;
+                discountCents = candidateDiscount;
+            }
+        }
+
+        // 配送费：达到免配送费门槛时免收
+        long freeThresholdCents = toCents(freeDeliveryThreshold);
+        long deliveryFeeCents = freeThresholdCents > 0 && totalCents >= freeThresholdCents
+                ? 0
+                : toCents(defaultDeliveryFee);
+
+        return PriceQuoteDTO.builder()
+                .lines(lines)
+                .totalAmount(toAmount(totalCents))
+                .deliveryFee(toAmount(deliveryFeeCents))
+                .discountAmount(toAmount(discountCents))
+                .promotionName(promotion != null ? promotion.getName() : null)
+                .finalAmount(toAmount(totalCents - discountCents + deliveryFeeCents))
+                .build();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).longValue();
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -4,16 +4,24 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.flower.shop.config.ProductSearchConfig;
+import com.flower.shop.dto.ProductFacetsDTO;
 import com.flower.shop.dto.ProductSearchRequest;
+import com.flower.shop.dto.ProductSuggestionDTO;
 import com.flower.shop.dto.ImageDetailResult;
 import com.flower.shop.entity.Product;
 import com.flower.shop.entity.ProductImage;
 import com.flower.shop.mapper.ProductImageMapper;
 import com.flower.shop.mapper.ProductMapper;
+import com.flower.shop.service.CatalogVersionService;
+import com.flower.shop.service.CategoryRegistry;
+import com.flower.shop.service.ProductFacetIndex;
 import com.flower.shop.service.ProductService;
-import com.flower.shop.config.FileUploadConfig;
+import com.flower.shop.service.ProductSuggestIndex;
+import com.flower.shop.service.FileCleanupService;
 import com.flower.shop.service.ProductImageService;
-import com.flower.shop.util.FileUploadUtil;
+import com.flower.shop.service.ProductPriceSnapshotService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,12 +43,20 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
 
     
     private final ProductMapper productMapper;
-    private final FileUploadConfig fileUploadConfig;
     private final ProductImageMapper productImageMapper;
     private final ProductImageService productImageService;
+    private final ProductPriceSnapshotService priceSnapshotService;
+    private final FileCleanupService fileCleanupService;
+    private final CatalogVersionService catalogVersionService;
+    private final CategoryRegistry categoryRegistry;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductSearchConfig searchConfig;
 
     
     @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "flower.service", extraTags = { "method", "searchProductsAdvanced" }, histogram = true)
     public IPage<Product> searchProductsAdvanced(ProductSearchRequest request) {
         log.debug("搜索商品，请求参数: {}", request);
 
@@ -48,11 +64,28 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
 
         // 使用优化的查询，一次性获取主图信息，避免N+1查询
         IPage<Product> productPage = productMapper.searchProductsWithMainImage(page, request);
+        // 分类名称取自内存中的分类注册表，不再关联分类表
+        productPage.getRecords().forEach(product -> product.setCategoryName(categoryRegistry.getName(product.getCategoryId())));
 
         log.debug("搜索完成，返回{}个商品", productPage.getRecords().size());
         return productPage;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "flower.service", extraTags = { "method", "getSearchFacets" }, histogram = true)
+    public ProductFacetsDTO getSearchFacets(ProductSearchRequest request) {
+        // 内存分面索引，仅在目录版本变化后重建时查询数据库
+        return productFacetIndex.facets(request);
+    }
+
+    @Override
+    public List<ProductSuggestionDTO> suggestProducts(String keyword, Integer limit) {
+        int size = limit != null ? Math.min(limit, searchConfig.getSuggestMaxLimit()) : searchConfig.getSuggestLimit();
+        // 内存前缀树，不访问数据库（首次访问时加载）
+        return productSuggestIndex.suggest(keyword, size);
+    }
+
     
     @Override
     @Transactional
@@ -87,6 +120,8 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
 
         // 保存商品
         save(product);
+        catalogVersionService.bump();
+        productSuggestIndex.refreshAfterCommit(product.getId());
         log.info("创建商品成功：{}", product.getName());
 
         return getProductWithDetails(product.getId());
@@ -140,6 +175,9 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
 
             // 1. 更新商品基本信息
             updateById(request.getProduct());
+            priceSnapshotService.invalidate(productId);
+            catalogVersionService.bump();
+            productSuggestIndex.refreshAfterCommit(productId);
 
             // 2. 处理图片更新
             ImageUpdateResult updateResult = processImageUpdates(request, productId);
@@ -184,11 +222,8 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
             // 删除图片记录
             productImageMapper.deleteByProductId(productId);
 
-            // 删除物理文件
-            if (!imagePaths.isEmpty()) {
-                FileUploadUtil.deleteFiles(imagePaths, fileUploadConfig.getUploadPath());
-                log.info("已删除商品 {} 的 {} 个图片文件", productId, imagePaths.size());
-            }
+            // 事务提交后异步删除物理文件
+            scheduleFileDeletion(imagePaths);
         } catch (Exception e) {
             log.error("删除商品图片文件失败，商品ID: {}, 错误: {}", productId, e.getMessage());
             // 图片删除失败不影响商品删除操作
@@ -197,6 +232,9 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
         // 删除商品
         boolean result = removeById(productId);
         if (result) {
+            priceSnapshotService.invalidate(productId);
+            catalogVersionService.bump();
+            productSuggestIndex.refreshAfterCommit(productId);
             log.info("删除商品成功：{}", productId);
         }
         return result;
@@ -213,14 +251,36 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
         product.setStatus(status);
         boolean result = updateById(product);
         if (result) {
+            priceSnapshotService.invalidate(productId);
+            catalogVersionService.bump();
+            productSuggestIndex.refreshAfterCommit(productId);
             log.info("更新商品状态成功：productId={}, status={}", productId, status);
         }
         return result;
     }
 
+    @Override
+    @Transactional
+    public boolean setFeatured(Long productId, Integer featured) {
+        Product product = getById(productId);
+        if (product == null) {
+            throw new IllegalArgumentException("商品不存在");
+        }
+
+        product.setFeatured(featured);
+        boolean result = updateById(product);
+        if (result) {
+            catalogVersionService.bump();
+            productSuggestIndex.refreshAfterCommit(productId);
+            log.info("更新商品推荐状态成功：productId={}, featured={}", productId, featured);
+        }
+        return result;
+    }
+
 
 
     @Override
+    @Transactional(readOnly = true)
     public Product getProductWithDetails(Long productId) {
         log.debug("获取商品详情，商品ID: {}", productId);
 
@@ -230,11 +290,8 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
             return null;
         }
 
-        // 设置分类名称（临时存储）
-        if (product.getCategoryId() != null) {
-            // 这里应该从categoryService获取分类信息
-            // 简化处理
-        }
+        // 设置分类名称
+        product.setCategoryName(categoryRegistry.getName(product.getCategoryId()));
 
         // 委托给图片服务处理图片逻辑
         ImageDetailResult imageResult = productImageService.getProductImageDetails(productId);
@@ -254,22 +311,6 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
 
     
     
-    /**
-     * 删除物理文件
-     */
-    private void deletePhysicalFiles(List<String> imagePaths) {
-        if (imagePaths != null && !imagePaths.isEmpty()) {
-            for (String imagePath : imagePaths) {
-                try {
-                    FileUploadUtil.deleteFile(imagePath, fileUploadConfig.getUploadPath());
-                    log.info("已删除图片文件: {}", imagePath);
-                } catch (Exception e) {
-                    log.warn("删除图片文件失败: {}", imagePath, e);
-                }
-            }
-        }
-    }
-
     /**
      * 处理图片更新
      */
@@ -293,24 +334,20 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
             }
         }
 
-        // 处理新增图片
+        // 处理新增图片（文件已在事务外暂存，这里只写元数据）
         if (request.getNewImages() != null) {
             for (ProductService.NewImageInfo newImg : request.getNewImages()) {
-                try {
-                    String imagePath = FileUploadUtil.uploadFile(newImg.getImageFile(), fileUploadConfig.getUploadPath());
-                    addedImagePaths.add(imagePath);
-
-                    ProductImage productImage = new ProductImage();
-                    productImage.setProductId(productId);
-                    productImage.setImagePath(imagePath);
-                    productImage.setImageType(newImg.getImageType());
-                    productImage.setSortOrder(newImg.getSortOrder());
-                    productImageMapper.insert(productImage);
-
-                } catch (Exception e) {
-                    log.error("上传图片失败", e);
-                    throw new RuntimeException("图片上传失败: " + e.getMessage(), e);
+                if (newImg.getImagePath() == null) {
+                    throw new IllegalArgumentException("新图片缺少文件");
                 }
+                addedImagePaths.add(newImg.getImagePath());
+
+                ProductImage productImage = new ProductImage();
+                productImage.setProductId(productId);
+                productImage.setImagePath(newImg.getImagePath());
+                productImage.setImageType(newImg.getImageType());
+                productImage.setSortOrder(newImg.getSortOrder());
+                productImageMapper.insert(productImage);
             }
         }
 
@@ -329,7 +366,7 @@ public class ProductServiceImpl extends ServiceImpl<ProductMapper, Product> impl
             new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    deletePhysicalFiles(imagePaths);
+                    fileCleanupService.deleteFilesAsync(imagePaths);
                 }
             }
         );
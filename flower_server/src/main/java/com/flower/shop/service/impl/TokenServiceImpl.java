@@ -0,0 +1,133 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.JwtConfig;
+import com.flower.shop.dto.LoginResponse;
+import com.flower.shop.entity.User;
+import com.flower.shop.service.TokenRevocationList;
+import com.flower.shop.service.TokenService;
+import com.flower.shop.service.UserCredentialCache;
+import com.flower.shop.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 令牌服务实现类
+ *
+ * 设计说明：
+ * - 签名密钥来自配置（flower-shop.jwt.keys），多个节点使用同一组密钥，重启后已签发的令牌仍然有效；
+ *   未配置时使用启动时生成的临时密钥（仅适合本地开发）
+ * - 密钥轮换：按令牌头部 kid 选择验签密钥，新令牌只用 active-key-id 签名
+ * - 访问令牌有效期短，过期后用刷新令牌换取新的令牌对；刷新令牌一次性使用，换取后立即吊销
+ * - 每个令牌带 jti，登出时吊销访问令牌与刷新令牌，吊销检查见 TokenRevocationList
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private final JwtConfig jwtConfig;
+    private final TokenRevocationList revocationList;
+    private final UserCredentialCache userCredentialCache;
+
+    private final String activeKeyId;
+    private final Key activeKey;
+    private final JwtParser parser;
+
+    public TokenServiceImpl(JwtConfig jwtConfig, TokenRevocationList revocationList,
+            UserCredentialCache userCredentialCache) {
+        this.jwtConfig = jwtConfig;
+        this.revocationList = revocationList;
+        this.userCredentialCache = userCredentialCache;
+
+        Map<String, Key> keys = new HashMap<>();
+        for (JwtConfig.SigningKey signingKey : jwtConfig.getKeys()) {
+            if (StringUtils.hasText(signingKey.getId()) && StringUtils.hasText(signingKey.getSecret())) {
+                keys.put(signingKey.getId(), JwtUtil.hmacKey(signingKey.getSecret()));
+            }
+        }
+        if (keys.isEmpty()) {
+            log.warn("未配置 JWT 签名密钥（flower-shop.jwt.keys），使用临时密钥：重启后已签发的令牌失效，多节点之间令牌不通用");
+            keys.put(jwtConfig.getActiveKeyId(), JwtUtil.generateKey());
+        }
+        if (!keys.containsKey(jwtConfig.getActiveKeyId())) {
+            throw new IllegalStateException("未找到签名密钥：" + jwtConfig.getActiveKeyId());
+        }
+        this.activeKeyId = jwtConfig.getActiveKeyId();
+        this.activeKey = keys.get(activeKeyId);
+        this.parser = JwtUtil.parser(Map.copyOf(keys));
+    }
+
+    @Override
+    public TokenPair issue(User user) {
+        String accessToken = JwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole(),
+                JwtUtil.TOKEN_TYPE_ACCESS, UUID.randomUUID().toString(), jwtConfig.getAccessTokenTtlMs(),
+                activeKeyId, activeKey);
+        String refreshToken = JwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole(),
+                JwtUtil.TOKEN_TYPE_REFRESH, UUID.randomUUID().toString(), jwtConfig.getRefreshTokenTtlMs(),
+                activeKeyId, activeKey);
+        return new TokenPair(accessToken, refreshToken, jwtConfig.getAccessTokenTtlMs() / 1000);
+    }
+
+    @Override
+    public Claims parseAccessToken(String token) {
+        return parse(token, JwtUtil.TOKEN_TYPE_ACCESS);
+    }
+
+    @Override
+    public LoginResponse refresh(String refreshToken) {
+        Claims claims = parse(refreshToken, JwtUtil.TOKEN_TYPE_REFRESH);
+        User user = userCredentialCache.getActiveUser(claims.getSubject());
+        if (user == null || !Objects.equals(user.getId(), claims.get(JwtUtil.CLAIM_USER_ID, Long.class))) {
+            throw new JwtException("用户不存在或已禁用");
+        }
+        // 刷新令牌一次性使用：并发刷新或其他节点尚未同步的重放只有一个能写入吊销记录
+        if (!revocationList.revoke(claims.getId(), claims.getExpiration().getTime())) {
+            throw new JwtException("令牌已吊销");
+        }
+
+        TokenPair tokens = issue(user);
+        LoginResponse response = new LoginResponse();
+        response.setToken(tokens.accessToken());
+        response.setRefreshToken(tokens.refreshToken());
+        response.setExpiresIn(tokens.expiresIn());
+        response.setUserId(user.getId());
+        response.setUsername(user.getUsername());
+        response.setRole(user.getRole());
+        response.setEmail(user.getEmail());
+        response.setPhone(user.getPhone());
+        return response;
+    }
+
+    @Override
+    public void revoke(String token) {
+        if (!StringUtils.hasText(token)) {
+            return;
+        }
+        try {
+            Claims claims = JwtUtil.parseToken(parser, token);
+            revocationList.revoke(claims.getId(), claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("吊销令牌时令牌已无效: {}", e.getMessage());
+        }
+    }
+
+    private Claims parse(String token, String expectedType) {
+        Claims claims = JwtUtil.parseToken(parser, token);
+        if (!expectedType.equals(claims.get(JwtUtil.CLAIM_TOKEN_TYPE, String.class))) {
+            throw new JwtException("令牌类型错误");
+        }
+        if (revocationList.isRevoked(claims.getId())) {
+            throw new JwtException("令牌已吊销");
+        }
+        return claims;
+    }
+}
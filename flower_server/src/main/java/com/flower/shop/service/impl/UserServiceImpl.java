@@ -1,17 +1,23 @@
 package com.flower.shop.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.flower.shop.dto.LoginRequest;
 import com.flower.shop.dto.LoginResponse;
+import com.flower.shop.dto.UserAvailabilityDTO;
 import com.flower.shop.dto.UserRegisterRequest;
 import com.flower.shop.entity.User;
 import com.flower.shop.mapper.UserMapper;
+import com.flower.shop.service.LastLoginRecorder;
+import com.flower.shop.service.PasswordVerifier;
+import com.flower.shop.service.TokenService;
+import com.flower.shop.service.UserAvailabilityIndex;
+import com.flower.shop.service.UserCredentialCache;
 import com.flower.shop.service.UserService;
-import com.flower.shop.util.JwtUtil;
 import com.flower.shop.util.PasswordUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -23,7 +29,17 @@ import java.time.format.DateTimeFormatter;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    /**
+     * users.phone 唯一索引名（用于识别冲突字段，其余冲突为用户名）
+     */
+    private static final String PHONE_UNIQUE_KEY = "uk_users_phone";
+
     private final UserMapper userMapper;
+    private final UserCredentialCache userCredentialCache;
+    private final PasswordVerifier passwordVerifier;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final TokenService tokenService;
+    private final UserAvailabilityIndex userAvailabilityIndex;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -33,21 +49,7 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("两次输入的密码不一致");
         }
 
-        // 2. 校验用户名是否已存在
-        QueryWrapper<User> usernameWrapper = new QueryWrapper<>();
-        usernameWrapper.eq("username", request.getUsername());
-        if (userMapper.selectCount(usernameWrapper) > 0) {
-            throw new IllegalArgumentException("用户名已存在");
-        }
-
-        // 3. 校验手机号是否已存在
-        QueryWrapper<User> phoneWrapper = new QueryWrapper<>();
-        phoneWrapper.eq("phone", request.getPhone());
-        if (userMapper.selectCount(phoneWrapper) > 0) {
-            throw new IllegalArgumentException("该手机号已被注册");
-        }
-
-        // 4. 创建用户
+        // 2. 创建用户：用户名、手机号的唯一性由唯一索引保证，一次插入，并发注册不会重复
         User user = new User();
         user.setUsername(request.getUsername())
                 .setPassword(PasswordUtil.encode(request.getPassword()))
@@ -57,26 +59,35 @@ public class UserServiceImpl implements UserService {
                 .setIsActive(true) // 默认启用
                 .setLastLogin(null); // 尚未登录
 
-        userMapper.insert(user);
+        try {
+            userMapper.insert(user);
+        } catch (DuplicateKeyException e) {
+            // 3. 按冲突的唯一索引返回对应字段的提示
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            throw new IllegalArgumentException(cause.contains(PHONE_UNIQUE_KEY) ? "该手机号已被注册" : "用户名已存在");
+        }
+        userAvailabilityIndex.addAfterCommit(user.getUsername(), user.getPhone());
         return user.getId();
     }
 
+    @Override
+    public UserAvailabilityDTO checkAvailability(String username, String phone) {
+        return new UserAvailabilityDTO(
+                StringUtils.hasText(username) ? userAvailabilityIndex.isUsernameAvailable(username) : null,
+                StringUtils.hasText(phone) ? userAvailabilityIndex.isPhoneAvailable(phone) : null);
+    }
+
     @Override
     public LoginResponse login(LoginRequest request) {
-        // 1. 根据用户名查找用户
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("username", request.getUsername());
+        // 1. 根据用户名查找启用状态的用户（凭据缓存）
         // 注意：这里不限制角色，但通常前台入口只允许 CUSTOMER 登录，这里可以根据业务需求加校验
-        // 为了灵活性，我们暂时只校验状态
-        queryWrapper.eq("is_active", true);
-
-        User user = userMapper.selectOne(queryWrapper);
+        User user = userCredentialCache.getActiveUser(request.getUsername());
         if (user == null) {
             throw new IllegalArgumentException("用户名或密码错误");
         }
 
-        // 2. 校验密码
-        if (!PasswordUtil.matches(request.getPassword(), user.getPassword())) {
+        // 2. 校验密码（有界线程池）
+        if (!passwordVerifier.matches(request.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("用户名或密码错误");
         }
 
@@ -85,26 +96,24 @@ public class UserServiceImpl implements UserService {
         // throw new IllegalArgumentException("请通过管理员后台登录");
         // }
 
-        // 4. 更新最后登录时间
-        user.setLastLogin(LocalDateTime.now());
-        userMapper.updateById(user);
+        // 4. 记录最后登录时间（内存合并，定时批量落库）
+        LocalDateTime loginTime = LocalDateTime.now();
+        lastLoginRecorder.record(user.getId(), loginTime);
 
         // 5. 生成 Token
-        String token = JwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
+        TokenService.TokenPair tokens = tokenService.issue(user);
 
         // 6. 构建响应
         LoginResponse response = new LoginResponse();
-        response.setToken(token);
+        response.setToken(tokens.accessToken());
+        response.setRefreshToken(tokens.refreshToken());
+        response.setExpiresIn(tokens.expiresIn());
         response.setUserId(user.getId());
         response.setUsername(user.getUsername());
         response.setRole(user.getRole());
         response.setEmail(user.getEmail());
         response.setPhone(user.getPhone());
-        if (user.getLastLogin() != null) {
-            response.setLastLogin(user.getLastLogin().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-        } else {
-            response.setLastLogin("首次登录");
-        }
+        response.setLastLogin(loginTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
 
         return response;
     }
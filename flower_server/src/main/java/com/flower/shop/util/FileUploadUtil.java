@@ -1,19 +1,27 @@
 package com.flower.shop.util;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 文件上传工具类
@@ -28,6 +36,19 @@ public class FileUploadUtil {
     // 最大文件大小（5MB）
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
+    // 上传指标（注册到全局注册表，Spring Boot 会将其桥接到 Prometheus 导出）
+    private static final DistributionSummary UPLOAD_BYTES = DistributionSummary.builder("flower.upload.bytes")
+            .description("上传文件大小")
+            .baseUnit("bytes")
+            .register(Metrics.globalRegistry);
+
+    private static final Timer UPLOAD_TIMER = Timer.builder("flower.upload.duration")
+            .description("上传文件写盘耗时")
+            .register(Metrics.globalRegistry);
+
+    // 暂存目录名（位于上传根目录下，与正式目录在同一文件系统，转正时可原子移动）
+    private static final String STAGING_DIR = ".staging";
+
     /**
      * 上传单个文件
      *
@@ -36,6 +57,90 @@ public class FileUploadUtil {
      * @return 文件访问路径
      */
     public static String uploadFile(MultipartFile file, String uploadPath) throws IOException {
+        UploadTarget target = resolveTarget(file, uploadPath);
+        Files.createDirectories(target.finalPath().getParent());
+
+        // 保存文件
+        write(file, target.finalPath());
+
+        log.info("文件上传成功，相对路径: {}, 绝对路径: {}", target.relativePath(), target.finalPath());
+        return target.relativePath();
+    }
+
+    /**
+     * 暂存文件：写入暂存目录，但提前确定正式访问路径（用于写入数据库）
+     * 应在事务之外调用；事务提交后调用 promote 转正，失败时调用 discard 清理
+     *
+     * @param file       上传的文件
+     * @param uploadPath 上传目录
+     * @return 暂存文件信息
+     */
+    public static StagedFile stageFile(MultipartFile file, String uploadPath) throws IOException {
+        UploadTarget target = resolveTarget(file, uploadPath);
+        Path stagingDir = absoluteUploadPath(uploadPath).resolve(STAGING_DIR);
+        Files.createDirectories(stagingDir);
+
+        Path stagedPath = stagingDir.resolve(target.finalPath().getFileName());
+        write(file, stagedPath);
+        return new StagedFile(stagedPath, target.finalPath(), target.relativePath());
+    }
+
+    /**
+     * 将暂存文件移动到正式目录
+     */
+    public static void promote(StagedFile stagedFile) throws IOException {
+        Files.createDirectories(stagedFile.finalPath().getParent());
+        try {
+            Files.move(stagedFile.stagedPath(), stagedFile.finalPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(stagedFile.stagedPath(), stagedFile.finalPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        log.info("文件上传成功，相对路径: {}, 绝对路径: {}", stagedFile.relativePath(), stagedFile.finalPath());
+    }
+
+    /**
+     * 删除暂存文件（事务失败时调用），失败只记录日志
+     */
+    public static void discard(StagedFile stagedFile) {
+        try {
+            Files.deleteIfExists(stagedFile.stagedPath());
+        } catch (IOException e) {
+            log.warn("删除暂存文件失败: {}", stagedFile.stagedPath(), e);
+        }
+    }
+
+    /**
+     * 清理超过指定时长仍未转正的暂存文件（进程在转正前退出时遗留）
+     *
+     * @return 删除的文件数
+     */
+    public static int purgeStagedFiles(String uploadPath, Duration maxAge) {
+        Path stagingDir = absoluteUploadPath(uploadPath).resolve(STAGING_DIR);
+        if (!Files.isDirectory(stagingDir)) {
+            return 0;
+        }
+        long cutoff = System.currentTimeMillis() - maxAge.toMillis();
+        int deleted = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(stagingDir)) {
+            for (Path staged : stream) {
+                try {
+                    if (Files.getLastModifiedTime(staged).toMillis() < cutoff && Files.deleteIfExists(staged)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("清理暂存文件失败: {}", staged, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("遍历暂存目录失败: {}", stagingDir, e);
+        }
+        return deleted;
+    }
+
+    /**
+     * 校验文件并生成正式存储路径（按日期分目录，如：uploads/2025/11/23/xxx.jpg）
+     */
+    private static UploadTarget resolveTarget(MultipartFile file, String uploadPath) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("文件不能为空");
         }
@@ -62,25 +167,24 @@ public class FileUploadUtil {
 
         // 按日期创建子目录（如：uploads/2025/11/23/）
         String dateDir = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        Path finalPath = absoluteUploadPath(uploadPath).resolve(dateDir).resolve(newFileName);
 
-        // 确保使用绝对路径
-        Path path = Paths.get(uploadPath);
-        String absoluteUploadPath = path.isAbsolute() ? uploadPath : path.toAbsolutePath().toString();
-        Path uploadDir = Paths.get(absoluteUploadPath, dateDir);
-
-        if (!Files.exists(uploadDir)) {
-            Files.createDirectories(uploadDir);
-        }
-
-        // 保存文件
-        Path filePath = uploadDir.resolve(newFileName);
-        file.transferTo(filePath.toFile());
+        // Web可访问的相对路径（用于存储到数据库）
+        return new UploadTarget(finalPath, "/uploads/" + dateDir + "/" + newFileName);
+    }
 
-        // 返回Web可访问的相对路径（用于存储到数据库）
-        String relativePath = "/uploads/" + dateDir + "/" + newFileName;
-        log.info("文件上传成功，相对路径: {}, 绝对路径: {}", relativePath, filePath.toAbsolutePath());
+    private static void write(MultipartFile file, Path target) throws IOException {
+        long start = System.nanoTime();
+        file.transferTo(target.toFile());
+        UPLOAD_TIMER.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        UPLOAD_BYTES.record(file.getSize());
+    }
 
-        return relativePath;
+    /**
+     * 确保使用绝对路径
+     */
+    private static Path absoluteUploadPath(String uploadPath) {
+        return Paths.get(uploadPath).toAbsolutePath();
     }
 
     /**
@@ -177,4 +281,17 @@ public class FileUploadUtil {
     private static String generateFileName(String extension) {
         return UUID.randomUUID().toString().replace("-", "") + "." + extension;
     }
+
+    /**
+     * 暂存文件
+     *
+     * @param stagedPath   暂存文件绝对路径
+     * @param finalPath    转正后的绝对路径
+     * @param relativePath 转正后的Web访问路径（写入数据库）
+     */
+    public record StagedFile(Path stagedPath, Path finalPath, String relativePath) {
+    }
+
+    private record UploadTarget(Path finalPath, String relativePath) {
+    }
 }
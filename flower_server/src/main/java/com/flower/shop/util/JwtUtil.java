@@ -1,102 +1,97 @@
 package com.flower.shop.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Map;
 
 /**
  * JWT工具类
+ *
+ * 只负责令牌的签发与解析，密钥、有效期与吊销由 TokenService 管理。
+ * 令牌头部 kid 标识签名密钥，解析时按 kid 选择密钥，支持密钥轮换期间新旧密钥并存
  */
 public class JwtUtil {
 
-    // JWT密钥
-    private static final Key SECRET_KEY = Keys.secretKeyFor(io.jsonwebtoken.SignatureAlgorithm.HS256);
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_TYPE = "tokenType";
 
-    // Token有效期（24小时）
-    private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000;
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    private JwtUtil() {
+    }
 
     /**
      * 生成Token
+     *
+     * @param tokenType 令牌类型：access 或 refresh
+     * @param tokenId   令牌ID（jti），吊销时使用
      */
-    public static String generateToken(String username, Long userId, String role) {
+    public static String generateToken(String username, Long userId, String role, String tokenType,
+            String tokenId, long ttlMs, String keyId, Key key) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + EXPIRATION_TIME);
+        Date expiryDate = new Date(now.getTime() + ttlMs);
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .setId(tokenId)
                 .setSubject(username)
-                .claim("userId", userId)
-                .claim("role", role)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_TOKEN_TYPE, tokenType)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     /**
-     * 从Token中获取用户名
-     */
-    public static String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
-    }
-
-    /**
-     * 从Token中获取用户ID
+     * 创建解析器（线程安全，可复用）：按令牌头部 kid 从 keys 中选择验签密钥
      */
-    public static Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("userId", Long.class);
+    public static JwtParser parser(Map<String, Key> keys) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = header.getKeyId() != null ? keys.get(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new JwtException("未知的签名密钥: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
     /**
-     * 从Token中获取角色
+     * 解析并验证Token（签名、过期时间），失败时抛出 JwtException
      */
-    public static String getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("role", String.class);
+    public static Claims parseToken(JwtParser parser, String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * 验证Token是否过期
+     * 由 Base64 编码的密钥创建 HS256 密钥（至少 32 字节）
      */
-    public static boolean isTokenExpired(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return true;
-        }
+    public static Key hmacKey(String base64Secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
     }
 
     /**
-     * 验证Token
+     * 生成随机 HS256 密钥
      */
-    public static boolean validateToken(String token, String username) {
-        try {
-            String tokenUsername = getUsernameFromToken(token);
-            return tokenUsername.equals(username) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+    public static Key generateKey() {
+        return Keys.secretKeyFor(SignatureAlgorithm.HS256);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.flower.shop.util;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 拼音工具类
+ *
+ * 多音字取第一个读音；非汉字字符原样保留（字母转小写）
+ */
+public class PinyinUtil {
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    private PinyinUtil() {
+    }
+
+    /**
+     * 逐字转换为拼音音节，例如 "红玫瑰" -> [hong, mei, gui]
+     */
+    public static List<String> toSyllables(String text) {
+        List<String> syllables = new ArrayList<>(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String syllable = null;
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                try {
+                    String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+                    if (readings != null && readings.length > 0) {
+                        syllable = readings[0];
+                    }
+                } catch (BadHanyuPinyinOutputFormatCombination e) {
+                    // 格式组合固定且合法，不会出现
+                }
+            }
+            syllables.add(syllable != null ? syllable : String.valueOf(c).toLowerCase(Locale.ROOT));
+        }
+        return syllables;
+    }
+}
@@ -0,0 +1,168 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.DeliverySlotConfig;
+import com.flower.shop.entity.DeliverySlotCapacity;
+import com.flower.shop.enums.DeliverySlot;
+import com.flower.shop.exception.BusinessException;
+import com.flower.shop.mapper.DeliverySlotCapacityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 配送时段计数器测试（预约、释放、增量落库与多节点同步）
+ */
+class DeliverySlotServiceImplTest {
+
+    /**
+     * 明天上午：任何时刻都在可预约范围内且未截单
+     */
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    private static final DeliverySlot SLOT = DeliverySlot.MORNING;
+
+    private DeliverySlotCapacityMapper capacityMapper;
+
+    private DeliverySlotServiceImpl slotService;
+
+    @BeforeEach
+    void setUp() {
+        DeliverySlotConfig slotConfig = new DeliverySlotConfig();
+        slotConfig.setDefaultCapacity(2);
+
+        capacityMapper = mock(DeliverySlotCapacityMapper.class);
+        when(capacityMapper.selectFromDate(any())).thenReturn(List.of());
+        slotService = new DeliverySlotServiceImpl(capacityMapper, slotConfig);
+    }
+
+    @Test
+    void reserveStopsAtCapacity() {
+        slotService.reserve(DATE, SLOT);
+        slotService.reserve(DATE, SLOT);
+
+        assertThatThrownBy(() -> slotService.reserve(DATE, SLOT))
+                .isInstanceOf(BusinessException.class);
+        assertThat(remaining()).isZero();
+    }
+
+    @Test
+    void releaseFreesSlot() {
+        slotService.reserve(DATE, SLOT);
+        slotService.reserve(DATE, SLOT);
+        slotService.release(DATE, SLOT);
+
+        slotService.reserve(DATE, SLOT);
+        assertThat(remaining()).isZero();
+    }
+
+    @Test
+    void flushWritesNetDeltaOnce() {
+        slotService.reserve(DATE, SLOT);
+        slotService.reserve(DATE, SLOT);
+        slotService.release(DATE, SLOT);
+
+        slotService.flush();
+        slotService.flush();
+
+        List<DeliverySlotCapacity> batch = captureBatches(1).get(0);
+        assertThat(batch).hasSize(1);
+        assertThat(batch.get(0).getDeliveryDate()).isEqualTo(DATE);
+        assertThat(batch.get(0).getSlotCode()).isEqualTo(SLOT.name());
+        assertThat(batch.get(0).getReserved()).isEqualTo(1);
+    }
+
+    @Test
+    void flushRetriesDeltaAfterFailure() {
+        when(capacityMapper.batchIncrement(anyList()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+        slotService.reserve(DATE, SLOT);
+
+        slotService.flush();
+        slotService.flush();
+
+        List<List<DeliverySlotCapacity>> batches = captureBatches(2);
+        assertThat(batches.get(1).get(0).getReserved()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseWithoutLocalCounterIsFlushedAsNegativeDelta() {
+        slotService.release(DATE, SLOT);
+
+        slotService.flush();
+
+        assertThat(captureBatches(1).get(0).get(0).getReserved()).isEqualTo(-1);
+    }
+
+    @Test
+    void reservationsFromOtherNodesCountAgainstCapacity() {
+        when(capacityMapper.selectFromDate(any())).thenReturn(List.of(row(1)));
+        slotService.start();
+
+        slotService.reserve(DATE, SLOT);
+
+        assertThatThrownBy(() -> slotService.reserve(DATE, SLOT))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void syncKeepsReservationsMadeDuringFlush() {
+        slotService.start();
+        slotService.reserve(DATE, SLOT);
+        // 落库与同步之间本节点又预约了一个名额：同步到的总数不包含它，不能丢失
+        doAnswer(invocation -> {
+            slotService.reserve(DATE, SLOT);
+            return 1;
+        }).when(capacityMapper).batchIncrement(anyList());
+        when(capacityMapper.selectFromDate(any())).thenReturn(List.of(row(1)));
+
+        slotService.flush();
+
+        assertThat(remaining()).isZero();
+    }
+
+    @Test
+    void flushSkipsDatabaseWhenNothingChanged() {
+        slotService.flush();
+
+        verify(capacityMapper, never()).batchIncrement(anyList());
+    }
+
+    private int remaining() {
+        return slotService.getAvailability(DATE).stream()
+                .filter(slot -> slot.getValue().equals(SLOT.getValue()))
+                .findFirst()
+                .orElseThrow()
+                .getRemaining();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<DeliverySlotCapacity>> captureBatches(int times) {
+        ArgumentCaptor<List<DeliverySlotCapacity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(capacityMapper, times(times)).batchIncrement(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static DeliverySlotCapacity row(int reserved) {
+        DeliverySlotCapacity row = new DeliverySlotCapacity();
+        row.setDeliveryDate(DATE);
+        row.setSlotCode(SLOT.name());
+        row.setCapacity(2);
+        row.setReserved(reserved);
+        return row;
+    }
+}
@@ -0,0 +1,92 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.RateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 进程内 GCRA 令牌桶测试
+ */
+class LocalRateLimitBackendTest {
+
+    /**
+     * 每分钟 1 个令牌：测试期间不会补充
+     */
+    private static final long SLOW_INTERVAL_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private RateLimitConfig config;
+
+    private LocalRateLimitBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        config = new RateLimitConfig();
+        backend = new LocalRateLimitBackend(config);
+    }
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 3)).isZero();
+        }
+
+        long waitMillis = backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 3);
+        assertThat(waitMillis).isPositive()
+                .isLessThanOrEqualTo(TimeUnit.MICROSECONDS.toMillis(SLOW_INTERVAL_MICROS));
+    }
+
+    @Test
+    void rejectedRequestDoesNotConsumeToken() {
+        assertThat(backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 1)).isZero();
+        long firstWait = backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 1);
+        long secondWait = backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 1);
+
+        assertThat(firstWait).isPositive();
+        assertThat(secondWait).isPositive().isLessThanOrEqualTo(firstWait);
+    }
+
+    @Test
+    void keysAreIndependent() {
+        assertThat(backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 1)).isZero();
+        assertThat(backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 1)).isPositive();
+
+        assertThat(backend.tryAcquire("login:ip:2", SLOW_INTERVAL_MICROS, 1)).isZero();
+    }
+
+    @Test
+    void tokensRefillAfterInterval() throws InterruptedException {
+        long intervalMicros = TimeUnit.MILLISECONDS.toMicros(20);
+        assertThat(backend.tryAcquire("login:ip:1", intervalMicros, 1)).isZero();
+        assertThat(backend.tryAcquire("login:ip:1", intervalMicros, 1)).isPositive();
+
+        Thread.sleep(40);
+
+        assertThat(backend.tryAcquire("login:ip:1", intervalMicros, 1)).isZero();
+    }
+
+    @Test
+    void rejectsNewKeysWhenTableIsFull() {
+        config.setMaxKeys(1);
+
+        assertThat(backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 5)).isZero();
+
+        assertThat(backend.tryAcquire("login:ip:2", SLOW_INTERVAL_MICROS, 5)).isPositive();
+        // 已有的键不受上限影响
+        assertThat(backend.tryAcquire("login:ip:1", SLOW_INTERVAL_MICROS, 5)).isZero();
+    }
+
+    @Test
+    void sweepFreesRefilledBucketsForNewKeys() throws InterruptedException {
+        config.setMaxKeys(1);
+        assertThat(backend.tryAcquire("login:ip:1", TimeUnit.MILLISECONDS.toMicros(1), 1)).isZero();
+
+        Thread.sleep(20);
+        backend.sweep();
+
+        assertThat(backend.tryAcquire("login:ip:2", SLOW_INTERVAL_MICROS, 1)).isZero();
+    }
+}
@@ -0,0 +1,130 @@
+package com.flower.shop.service.impl;
+
+import com.flower.shop.config.JwtConfig;
+import com.flower.shop.dto.LoginResponse;
+import com.flower.shop.entity.User;
+import com.flower.shop.service.TokenRevocationList;
+import com.flower.shop.service.TokenService;
+import com.flower.shop.service.UserCredentialCache;
+import com.flower.shop.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 令牌签发与刷新令牌轮换测试
+ */
+class TokenServiceImplTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private TokenRevocationList revocationList;
+
+    private UserCredentialCache userCredentialCache;
+
+    private TokenServiceImpl tokenService;
+
+    private JwtParser parser;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig.SigningKey signingKey = new JwtConfig.SigningKey();
+        signingKey.setId("k1");
+        signingKey.setSecret(SECRET);
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setActiveKeyId("k1");
+        jwtConfig.setKeys(List.of(signingKey));
+
+        revocationList = mock(TokenRevocationList.class);
+        userCredentialCache = mock(UserCredentialCache.class);
+        tokenService = new TokenServiceImpl(jwtConfig, revocationList, userCredentialCache);
+        parser = JwtUtil.parser(Map.of("k1", JwtUtil.hmacKey(SECRET)));
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("alice");
+        user.setRole("ROLE_CUSTOMER");
+        when(userCredentialCache.getActiveUser("alice")).thenReturn(user);
+        when(revocationList.revoke(anyString(), anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void refreshRotatesTokensAndRevokesOldRefreshToken() {
+        TokenService.TokenPair tokens = tokenService.issue(user);
+        Claims oldClaims = JwtUtil.parseToken(parser, tokens.refreshToken());
+
+        LoginResponse response = tokenService.refresh(tokens.refreshToken());
+
+        verify(revocationList).revoke(eq(oldClaims.getId()), eq(oldClaims.getExpiration().getTime()));
+        assertThat(response.getUserId()).isEqualTo(7L);
+        assertThat(response.getRefreshToken()).isNotEqualTo(tokens.refreshToken());
+        Claims newClaims = JwtUtil.parseToken(parser, response.getRefreshToken());
+        assertThat(newClaims.getId()).isNotEqualTo(oldClaims.getId());
+        assertThat(tokenService.parseAccessToken(response.getToken()).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void refreshRejectsReplayWhenAnotherCallerRevokedFirst() {
+        TokenService.TokenPair tokens = tokenService.issue(user);
+        when(revocationList.revoke(anyString(), anyLong())).thenReturn(false);
+
+        assertThatThrownBy(() -> tokenService.refresh(tokens.refreshToken()))
+                .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void refreshRejectsRevokedToken() {
+        TokenService.TokenPair tokens = tokenService.issue(user);
+        when(revocationList.isRevoked(anyString())).thenReturn(true);
+
+        assertThatThrownBy(() -> tokenService.refresh(tokens.refreshToken()))
+                .isInstanceOf(JwtException.class);
+        verify(revocationList, never()).revoke(anyString(), anyLong());
+    }
+
+    @Test
+    void refreshRejectsAccessToken() {
+        TokenService.TokenPair tokens = tokenService.issue(user);
+
+        assertThatThrownBy(() -> tokenService.refresh(tokens.accessToken()))
+                .isInstanceOf(JwtException.class);
+        verify(revocationList, never()).revoke(anyString(), anyLong());
+    }
+
+    @Test
+    void refreshRejectsDisabledUser() {
+        TokenService.TokenPair tokens = tokenService.issue(user);
+        when(userCredentialCache.getActiveUser("alice")).thenReturn(null);
+
+        assertThatThrownBy(() -> tokenService.refresh(tokens.refreshToken()))
+                .isInstanceOf(JwtException.class);
+        verify(revocationList, never()).revoke(anyString(), anyLong());
+    }
+
+    @Test
+    void parseAccessTokenRejectsRefreshToken() {
+        TokenService.TokenPair tokens = tokenService.issue(user);
+
+        assertThatThrownBy(() -> tokenService.parseAccessToken(tokens.refreshToken()))
+                .isInstanceOf(JwtException.class);
+    }
+}
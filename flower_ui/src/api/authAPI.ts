@@ -1,6 +1,6 @@
 import api from './axiosClient';
 import { LoginRequest, LoginResponse } from '../models/auth';
-import { STORAGE_KEYS } from '../constants';
+import { STORAGE_KEYS, API_ENDPOINTS } from '../constants';
 import axios, { AxiosInstance } from 'axios';
 
 type ApiResponse<T> = { code: number; message: string; data: T; timestamp?: number };
@@ -21,6 +21,9 @@ export async function login(payload: LoginRequest): Promise<LoginResponse> {
   if (token) {
     // Persist token with consistent key name
     localStorage.setItem(STORAGE_KEYS.TOKEN, token);
+    if (loginData.refreshToken) {
+      localStorage.setItem(STORAGE_KEYS.REFRESH_TOKEN, loginData.refreshToken);
+    }
 
     // Set default header for subsequent requests
     const axiosInstance = api as AxiosInstance;
@@ -31,3 +34,18 @@ export async function login(payload: LoginRequest): Promise<LoginResponse> {
 
   return loginData;
 }
+
+/**
+ * 退出登录：服务端吊销访问令牌与刷新令牌（失败不影响本地退出），并清除本地令牌
+ */
+export async function logout(): Promise<void> {
+  const refreshToken = localStorage.getItem(STORAGE_KEYS.REFRESH_TOKEN);
+  try {
+    await api.post(API_ENDPOINTS.AUTH.LOGOUT, refreshToken ? { refreshToken } : {});
+  } catch (e) {
+    // 忽略：令牌可能已过期
+  }
+  localStorage.removeItem(STORAGE_KEYS.TOKEN);
+  localStorage.removeItem(STORAGE_KEYS.REFRESH_TOKEN);
+  localStorage.removeItem(STORAGE_KEYS.USER);
+}
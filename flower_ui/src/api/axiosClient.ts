@@ -1,5 +1,5 @@
 import axios, { AxiosInstance } from 'axios';
-import { STORAGE_KEYS, API_BASE_URL } from '../constants';
+import { STORAGE_KEYS, API_BASE_URL, API_ENDPOINTS } from '../constants';
 import { ApiErrorHandler } from '../utils/errorHandler';
 import { logger } from '../utils/logger';
 
@@ -31,6 +31,43 @@ instance.interceptors.request.use(
   }
 );
 
+// 进行中的刷新请求：并发的多个 401 只刷新一次
+let refreshing: Promise<string | null> | null = null;
+
+/**
+ * 用刷新令牌换取新的令牌对，失败时返回 null
+ * 使用独立的 axios 调用，不携带已过期的访问令牌，也不经过本拦截器
+ */
+export function refreshAccessToken(): Promise<string | null> {
+  const refreshToken = localStorage.getItem(STORAGE_KEYS.REFRESH_TOKEN);
+  if (!refreshToken) {
+    return Promise.resolve(null);
+  }
+  if (!refreshing) {
+    refreshing = axios
+      .post(`${API_BASE_URL}${API_ENDPOINTS.AUTH.REFRESH}`, { refreshToken }, { timeout: 10000 })
+      .then((res) => {
+        const data = res.data?.data;
+        if (res.data?.code !== 200 || !data?.token) {
+          return null;
+        }
+        localStorage.setItem(STORAGE_KEYS.TOKEN, data.token);
+        if (data.refreshToken) {
+          localStorage.setItem(STORAGE_KEYS.REFRESH_TOKEN, data.refreshToken);
+        }
+        if (instance.defaults?.headers?.common) {
+          instance.defaults.headers.common['Authorization'] = `Bearer ${data.token}`;
+        }
+        return data.token as string;
+      })
+      .catch(() => null)
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+}
+
 // Add response interceptor to handle auth errors and统一错误处理
 instance.interceptors.response.use(
   (response) => {
@@ -50,16 +87,28 @@ instance.interceptors.response.use(
     }
     return response;
   },
-  (error) => {
+  async (error) => {
     // 记录错误请求
     if (import.meta.env.DEV) {
       logger.error(`API error: ${error.config?.method?.toUpperCase()} ${error.config?.url}`, error);
     }
 
+    // 访问令牌过期：用刷新令牌换取新令牌后重试一次
+    const originalRequest = error.config;
+    if (error.response?.status === 401 && originalRequest && !originalRequest._retried) {
+      originalRequest._retried = true;
+      const token = await refreshAccessToken();
+      if (token) {
+        originalRequest.headers.Authorization = `Bearer ${token}`;
+        return instance(originalRequest);
+      }
+    }
+
     // 处理认证错误
     if (error.response?.status === 401 || error.response?.status === 403) {
       // 清除认证信息
       localStorage.removeItem(STORAGE_KEYS.TOKEN);
+      localStorage.removeItem(STORAGE_KEYS.REFRESH_TOKEN);
       localStorage.removeItem(STORAGE_KEYS.USER);
 
       // 根据当前路径判断跳转到哪个登录页
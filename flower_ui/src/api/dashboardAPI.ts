@@ -1,4 +1,33 @@
-import api from './axiosClient';
+import api, { refreshAccessToken } from './axiosClient';
+import { API_BASE_URL, STORAGE_KEYS } from '../constants';
+
+// SSE 断线后重连的等待时间
+const ORDER_STREAM_RETRY_MS = 3000;
+// 访问令牌剩余有效期不足该值时，重连前先刷新
+const TOKEN_REFRESH_MARGIN_MS = 60 * 1000;
+
+/**
+ * 读取访问令牌的过期时间（毫秒），无法解析时返回 0
+ */
+function tokenExpiresAt(token: string): number {
+    try {
+        const payload = JSON.parse(atob(token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/')));
+        return typeof payload.exp === 'number' ? payload.exp * 1000 : 0;
+    } catch (e) {
+        return 0;
+    }
+}
+
+/**
+ * 取得可用于建立 SSE 连接的访问令牌：即将过期时先用刷新令牌换取新令牌
+ */
+async function streamToken(): Promise<string> {
+    const token = localStorage.getItem(STORAGE_KEYS.TOKEN) || '';
+    if (token && tokenExpiresAt(token) - Date.now() > TOKEN_REFRESH_MARGIN_MS) {
+        return token;
+    }
+    return (await refreshAccessToken()) || token;
+}
 
 export interface DashboardStats {
     todayOrderCount: number;
@@ -40,6 +69,26 @@ export interface LowStockProduct {
     statusText: string;
 }
 
+export interface OrderEvent {
+    type: 'ORDER_CREATED' | 'ORDER_STATUS_CHANGED';
+    orderId: number;
+    orderNo: string;
+    customerName: string;
+    customerPhone: string;
+    finalAmount: number;
+    status: string;
+    statusText: string;
+    paymentStatus: string;
+    createdAt: string;
+    occurredAt: string;
+}
+
+export interface OrderEventHandlers {
+    onEvent: (event: OrderEvent) => void;
+    /** 推送缓冲区溢出丢失了事件，需要重新拉取订单列表 */
+    onResync?: () => void;
+}
+
 export const dashboardAPI = {
     getStats: async (): Promise<DashboardStats> => {
         const response = await api.get('/dashboard/stats');
@@ -61,6 +110,53 @@ export const dashboardAPI = {
         return response.data.data;
     },
 
+    /**
+     * 订阅订单实时事件（SSE），返回取消订阅函数
+     * 断线后不依赖 EventSource 自带的重连（它沿用 URL 中可能已过期的令牌，收到 401 后不再重试）：
+     * 关闭旧连接，必要时刷新令牌，用新令牌重新订阅，并触发 onResync 补齐断线期间的变化
+     */
+    subscribeOrderEvents: (handlers: OrderEventHandlers): (() => void) => {
+        let source: EventSource | null = null;
+        let retryTimer: ReturnType<typeof setTimeout> | null = null;
+        let closed = false;
+
+        const connect = async (reconnect: boolean) => {
+            const token = await streamToken();
+            if (closed) {
+                return;
+            }
+            source = new EventSource(
+                `${API_BASE_URL}/dashboard/order-stream?access_token=${encodeURIComponent(token)}`
+            );
+            const handleOrderEvent = (e: MessageEvent) => handlers.onEvent(JSON.parse(e.data));
+            source.addEventListener('ORDER_CREATED', handleOrderEvent);
+            source.addEventListener('ORDER_STATUS_CHANGED', handleOrderEvent);
+            source.addEventListener('RESYNC', () => handlers.onResync?.());
+            if (reconnect) {
+                source.addEventListener('open', () => handlers.onResync?.(), { once: true });
+            }
+            source.onerror = () => {
+                source?.close();
+                source = null;
+                if (!closed && retryTimer === null) {
+                    retryTimer = setTimeout(() => {
+                        retryTimer = null;
+                        void connect(true);
+                    }, ORDER_STREAM_RETRY_MS);
+                }
+            };
+        };
+
+        void connect(false);
+        return () => {
+            closed = true;
+            if (retryTimer !== null) {
+                clearTimeout(retryTimer);
+            }
+            source?.close();
+        };
+    },
+
     getLowStockProducts: async (): Promise<LowStockProduct[]> => {
         const response = await api.get('/dashboard/low-stock');
         return response.data.data;
@@ -26,6 +26,7 @@ export interface Order {
     totalAmount: number;
     finalAmount: number;
     deliveryFee: number;
+    discountAmount?: number;
     status: string; // "PENDING" | "PREPARING" | "DELIVERING" | "COMPLETED" | "CANCELLED"
     paymentMethod: string;
     paymentStatus: string;
@@ -39,6 +40,7 @@ export interface Order {
     updatedAt: string;
     // 管理端额外字段
     itemCount?: number; // 商品数量
+    itemSummary?: string; // 商品摘要（订单历史列表）
     addressText?: string; // 配送地址
     items?: OrderItemDetail[]; // 订单项详情
     orderItems?: OrderItemDetail[]; // API sometimes returns this
@@ -54,6 +56,32 @@ export interface OrderItemDetail {
     totalPrice: number;
 }
 
+export interface DeliverySlotAvailability {
+    date: string;
+    value: string; // 与 deliveryTime 一致，如 "09:00-12:00"
+    label: string;
+    capacity: number;
+    remaining: number;
+    available: boolean;
+}
+
+export interface PriceQuoteLine {
+    productId: number;
+    productName: string;
+    unitPrice: number;
+    quantity: number;
+    subtotal: number;
+}
+
+export interface PriceQuote {
+    lines: PriceQuoteLine[];
+    totalAmount: number;
+    deliveryFee: number;
+    discountAmount: number;
+    promotionName?: string;
+    finalAmount: number;
+}
+
 export interface OrderFilters {
     current?: number;
     size?: number;
@@ -82,6 +110,22 @@ export const orderAPI = {
         return response.data.data;
     },
 
+    /**
+     * 订单报价（购物车预览，金额以服务端为准）
+     */
+    quoteOrder: async (items: Pick<OrderItem, 'productId' | 'quantity'>[]): Promise<PriceQuote> => {
+        const response = await api.post('/orders/quote', { items });
+        return response.data.data;
+    },
+
+    /**
+     * 查询配送时段可用性（结账页轮询）
+     */
+    getDeliverySlots: async (date: string): Promise<DeliverySlotAvailability[]> => {
+        const response = await api.get('/delivery/slots', { params: { date } });
+        return response.data.data || [];
+    },
+
     /**
      * 根据手机号查询订单（分页）
      */
@@ -9,6 +9,8 @@ import {
   type ProductFormData,
   type ProductFilters,
   type ProductApiResponse,
+  type ProductFacets,
+  type ProductSuggestion,
   type ProductUpdateData,
   productSearchSchema,
   validateProductForm,
@@ -21,6 +23,8 @@ const ENDPOINTS = {
   PRODUCTS: '/products',
   PAGE: '/products/page',
   SEARCH: '/products/search',
+  FACETS: '/products/facets',
+  SUGGEST: '/products/suggest',
 } as const;
 
 // Response type for API calls
@@ -41,7 +45,29 @@ export const searchProducts = async (filters: ProductFilters): Promise<ProductAp
     ...filters,
   });
 
-  const response = await axiosClient.post<ApiResponse<ProductApiResponse>>(ENDPOINTS.SEARCH, searchParams);
+  // GET 查询：浏览器按 ETag 自动发起条件请求，目录未变化时服务端返回 304
+  const response = await axiosClient.get<ApiResponse<ProductApiResponse>>(ENDPOINTS.SEARCH, { params: searchParams });
+
+  return response.data.data;
+};
+
+/**
+ * Get facet counts (category, price bucket, stock status, featured) for the given filters
+ */
+export const getSearchFacets = async (filters: ProductFilters): Promise<ProductFacets> => {
+  const searchParams = productSearchSchema.parse(filters);
+  const response = await axiosClient.get<ApiResponse<ProductFacets>>(ENDPOINTS.FACETS, { params: searchParams });
+
+  return response.data.data;
+};
+
+/**
+ * Typeahead suggestions by name, flower language or pinyin prefix
+ */
+export const suggestProducts = async (keyword: string, limit?: number): Promise<ProductSuggestion[]> => {
+  const response = await axiosClient.get<ApiResponse<ProductSuggestion[]>>(ENDPOINTS.SUGGEST, {
+    params: { keyword, limit },
+  });
 
   return response.data.data;
 };
@@ -199,6 +225,8 @@ export const setProductFeatured = async (id: number, featured: 0 | 1): Promise<s
 // Export all API functions with error handling wrapper
 export const productAPI = {
   searchProducts: (filters: ProductFilters) => searchProducts(filters),
+  getSearchFacets: (filters: ProductFilters) => getSearchFacets(filters),
+  suggestProducts: (keyword: string, limit?: number) => suggestProducts(keyword, limit),
   getProductById: (id: number) => getProductById(id),
   createProduct: (formData: ProductFormData, mainImageIndex?: number) => createProduct(formData, mainImageIndex),
   deleteProduct: (id: number) => deleteProduct(id),
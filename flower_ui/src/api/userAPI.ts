@@ -14,6 +14,11 @@ export interface UserRegisterRequest {
     email?: string;
 }
 
+export interface UserAvailability {
+    usernameAvailable?: boolean | null;
+    phoneAvailable?: boolean | null;
+}
+
 export const userAPI = {
     /**
      * 用户注册
@@ -26,6 +31,17 @@ export const userAPI = {
         return res.data.data || res.data.message;
     },
 
+    /**
+     * 检查用户名、手机号是否可用（注册前提示）
+     */
+    checkAvailability: async (params: { username?: string; phone?: string }): Promise<UserAvailability> => {
+        const res = await api.get<ApiResponse<UserAvailability>>('/auth/availability', { params });
+        if (res.data.code !== 200) {
+            throw new Error(res.data.message || '检查失败');
+        }
+        return res.data.data;
+    },
+
     /**
      * 用户登录
      */
@@ -46,6 +62,9 @@ export const userAPI = {
         if (token) {
             // 保存Token到本地存储
             localStorage.setItem(STORAGE_KEYS.TOKEN, token);
+            if (loginData.refreshToken) {
+                localStorage.setItem(STORAGE_KEYS.REFRESH_TOKEN, loginData.refreshToken);
+            }
 
             // 设置Axios默认Header
             const axiosInstance = api as AxiosInstance;
@@ -14,7 +14,7 @@ import InventoryIcon from '@mui/icons-material/Inventory';
 import ShoppingBasketIcon from '@mui/icons-material/ShoppingBasket';
 import LogoutIcon from '@mui/icons-material/Logout';
 import api, { AxiosInstance } from '../../api/axiosClient';
-import { STORAGE_KEYS } from '../../constants';
+import { logout } from '../../api/authAPI';
 
 const DashboardLayout: React.FC<{ children: React.ReactNode }> = ({ children }) => {
   const navigate = useNavigate();
@@ -28,9 +28,8 @@ const DashboardLayout: React.FC<{ children: React.ReactNode }> = ({ children })
   ];
 
   const handleLogout = () => {
-    // 清除本地存储的 token
-    localStorage.removeItem(STORAGE_KEYS.TOKEN);
-    localStorage.removeItem(STORAGE_KEYS.USER);
+    // 服务端吊销令牌并清除本地存储的 token
+    void logout();
 
     // 移除 axios 默认 Authorization 头
     try {
@@ -303,6 +303,11 @@ const AdminOrderDetailDrawer: React.FC<AdminOrderDetailDrawerProps> = ({ open, o
                             <Typography variant="body2" color="text.secondary">
                                 配送费: ¥{(order.deliveryFee || 0).toFixed(2)}
                             </Typography>
+                            {(order.discountAmount || 0) > 0 && (
+                                <Typography variant="body2" color="text.secondary">
+                                    优惠: -¥{(order.discountAmount || 0).toFixed(2)}
+                                </Typography>
+                            )}
                             <Typography variant="body1" sx={{ color: '#D4AF37', fontWeight: 700 }}>
                                 总计: ¥{order.totalAmount?.toFixed(2)}
                             </Typography>
@@ -33,6 +33,7 @@ import { useNavigate, useLocation } from 'react-router-dom';
 import CartDrawer from './CartDrawer';
 import { useCartStore } from '../../store/cartStore';
 import { useAuthStore } from '../../store/authStore';
+import { logout as revokeTokens } from '../../api/authAPI';
 
 interface ShopLayoutProps {
   children: ReactNode;
@@ -92,6 +93,7 @@ const ShopLayout: React.FC<ShopLayoutProps> = ({ children, onCartUpdate }) => {
   const handleLogout = () => {
     handleUserMenuClose();
     clearCart(); // 退出登录时清空购物车
+    void revokeTokens(); // 服务端吊销令牌并清除本地令牌
     logout();
     setGuestId(null); // 清除游客ID，下次进入会再次询问
     navigate('/login');
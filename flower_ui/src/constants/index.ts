@@ -4,6 +4,7 @@
 
 export const STORAGE_KEYS = {
   TOKEN: 'flower_shop_token',
+  REFRESH_TOKEN: 'flower_shop_refresh_token',
   USER: 'flower_shop_user',
   THEME: 'flower_shop_theme',
 } as const;
@@ -13,8 +14,8 @@ export const API_BASE_URL = 'http://localhost:8080/api';
 export const API_ENDPOINTS = {
   AUTH: {
     LOGIN: '/admin/auth/login',
-    LOGOUT: '/admin/auth/logout',
-    REFRESH: '/admin/auth/refresh',
+    LOGOUT: '/auth/logout',
+    REFRESH: '/auth/refresh',
   },
   PRODUCTS: {
     LIST: '/admin/products',
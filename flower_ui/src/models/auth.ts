@@ -1,2 +1,2 @@
 export interface LoginRequest { username: string; password: string; }
-export interface LoginResponse { token: string; userId: number; username: string; role: string; email?: string; phone?: string; lastLogin?: string; }
+export interface LoginResponse { token: string; refreshToken?: string; expiresIn?: number; userId: number; username: string; role: string; email?: string; phone?: string; lastLogin?: string; }
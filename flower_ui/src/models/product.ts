@@ -18,7 +18,7 @@ export const productSearchSchema = z.object({
   sortBy: z.enum(['created_at', 'price', 'name', 'stock_quantity', 'sales']).default('created_at'),
   sortOrder: z.enum(['asc', 'desc']).default('desc'),
   current: z.number().min(1).default(1),
-  size: z.number().min(1).default(12),
+  size: z.number().min(1).max(60).default(12),
 });
 
 export const productFormSchema = z.object({
@@ -86,6 +86,26 @@ export interface ProductApiResponse {
   pages: number;
 }
 
+export interface FacetCount {
+  value: string;
+  label: string;
+  count: number;
+}
+
+export interface ProductSuggestion {
+  id: number;
+  name: string;
+  price: number;
+}
+
+export interface ProductFacets {
+  total: number;
+  categories: FacetCount[];
+  priceBuckets: FacetCount[];
+  stockStatus: FacetCount[];
+  featured: FacetCount[];
+}
+
 export interface ProductImage {
   url: string;
   file: File;
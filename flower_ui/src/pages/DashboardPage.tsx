@@ -43,6 +43,36 @@ const DashboardPage: React.FC = () => {
     loadDashboardData();
   }, []);
 
+  // 订阅订单实时事件，有新订单或状态变更时合并刷新订单相关指标（替代轮询）
+  useEffect(() => {
+    let refreshTimer: number | undefined;
+    const scheduleRefresh = () => {
+      if (refreshTimer) return;
+      refreshTimer = window.setTimeout(async () => {
+        refreshTimer = undefined;
+        try {
+          const [statsData, distributionData] = await Promise.all([
+            dashboardAPI.getStats(),
+            dashboardAPI.getOrderDistribution(),
+          ]);
+          setStats(statsData);
+          setOrderDistribution(distributionData);
+        } catch (err) {
+          console.error('刷新订单指标失败:', err);
+        }
+      }, 2000);
+    };
+
+    const unsubscribe = dashboardAPI.subscribeOrderEvents({
+      onEvent: scheduleRefresh,
+      onResync: scheduleRefresh,
+    });
+    return () => {
+      unsubscribe();
+      window.clearTimeout(refreshTimer);
+    };
+  }, []);
+
   const loadDashboardData = async () => {
     try {
       setLoading(true);
@@ -34,12 +34,34 @@ const RegisterPage: React.FC = () => {
     const [showPassword, setShowPassword] = useState(false);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState('');
+    const [fieldErrors, setFieldErrors] = useState<{ username?: string; phone?: string }>({});
 
     const handleChange = (e: React.ChangeEvent<HTMLInputElement>) => {
         setFormData({
             ...formData,
             [e.target.name]: e.target.value
         });
+        if (e.target.name === 'username' || e.target.name === 'phone') {
+            setFieldErrors({ ...fieldErrors, [e.target.name]: undefined });
+        }
+    };
+
+    // 失去焦点时检查用户名、手机号是否已被占用（仅提示，以注册结果为准）
+    const handleAvailabilityCheck = async (field: 'username' | 'phone') => {
+        const value = formData[field];
+        const valid = field === 'username' ? /^[a-zA-Z0-9_]{4,20}$/.test(value) : /^1[3-9]\d{9}$/.test(value);
+        if (!valid) {
+            return;
+        }
+        try {
+            const availability = await userAPI.checkAvailability({ [field]: value });
+            const available = field === 'username' ? availability.usernameAvailable : availability.phoneAvailable;
+            if (available === false) {
+                setFieldErrors((prev) => ({ ...prev, [field]: field === 'username' ? '用户名已存在' : '该手机号已被注册' }));
+            }
+        } catch (err) {
+            // 检查失败不影响注册
+        }
     };
 
     const handleRegister = async (e: React.FormEvent) => {
@@ -75,7 +97,15 @@ const RegisterPage: React.FC = () => {
             navigate('/login');
         } catch (err: any) {
             console.error('注册失败:', err);
-            setError(err.response?.data?.message || '注册失败，请稍后重试');
+            const message = err.response?.data?.message || err.message || '注册失败，请稍后重试';
+            // 用户名、手机号冲突显示在对应输入框下
+            if (message === '用户名已存在') {
+                setFieldErrors({ ...fieldErrors, username: message });
+            } else if (message === '该手机号已被注册') {
+                setFieldErrors({ ...fieldErrors, phone: message });
+            } else {
+                setError(message);
+            }
         } finally {
             setLoading(false);
         }
@@ -114,7 +144,9 @@ const RegisterPage: React.FC = () => {
                                     required
                                     value={formData.username}
                                     onChange={handleChange}
-                                    helperText="4-20位字符，支持字母、数字、下划线"
+                                    onBlur={() => handleAvailabilityCheck('username')}
+                                    error={!!fieldErrors.username}
+                                    helperText={fieldErrors.username || "4-20位字符，支持字母、数字、下划线"}
                                 />
                             </Grid>
                             <Grid size={{ xs: 12 }}>
@@ -125,6 +157,9 @@ const RegisterPage: React.FC = () => {
                                     required
                                     value={formData.phone}
                                     onChange={handleChange}
+                                    onBlur={() => handleAvailabilityCheck('phone')}
+                                    error={!!fieldErrors.phone}
+                                    helperText={fieldErrors.phone}
                                 />
                             </Grid>
                             <Grid size={{ xs: 12 }}>
@@ -6,7 +6,7 @@ import { useAuthStore } from '../../store/authStore';
 
 import { useNavigate, useLocation } from 'react-router-dom';
 import { useSnackbar } from 'notistack';
-import { orderAPI } from '../../api/orderAPI';
+import { orderAPI, PriceQuote } from '../../api/orderAPI';
 import { useCartStore } from '../../store/cartStore';
 import MessageCardEditor from '../../components/shop/MessageCardEditor';
 import { API_BASE_URL } from '../../constants';
@@ -30,6 +30,9 @@ const TIME_SLOTS = [
     { label: '尽快送达', value: '尽快送达' },
 ];
 
+// 配送时段名额轮询间隔
+const SLOT_POLL_INTERVAL_MS = 30000;
+
 // 生成未来7天的配送日期
 const getDeliveryDates = () => {
     const dates = [];
@@ -137,7 +140,34 @@ const CheckoutPage: React.FC = () => {
         });
     }, []);
 
-    const availableSlots = React.useMemo(() => getAvailableTimeSlots(deliveryDate), [deliveryDate, getAvailableTimeSlots]);
+    // 各时段剩余名额（服务端内存计数，轮询开销很小）
+    const [slotAvailability, setSlotAvailability] = React.useState<Record<string, boolean>>({});
+
+    React.useEffect(() => {
+        if (!deliveryDate) return;
+        let cancelled = false;
+        const loadSlotAvailability = async () => {
+            try {
+                const slots = await orderAPI.getDeliverySlots(deliveryDate);
+                if (!cancelled) {
+                    setSlotAvailability(Object.fromEntries(slots.map(s => [s.value, s.available])));
+                }
+            } catch (error) {
+                console.error('查询配送时段失败:', error);
+            }
+        };
+        loadSlotAvailability();
+        const timer = window.setInterval(loadSlotAvailability, SLOT_POLL_INTERVAL_MS);
+        return () => {
+            cancelled = true;
+            window.clearInterval(timer);
+        };
+    }, [deliveryDate]);
+
+    const availableSlots = React.useMemo(
+        () => getAvailableTimeSlots(deliveryDate).filter(slot => slotAvailability[slot.value] !== false),
+        [deliveryDate, getAvailableTimeSlots, slotAvailability]
+    );
     const [deliveryTime, setDeliveryTime] = React.useState<string>('');
 
     // 当日期改变或可用时段改变时，确保选中的时间段有效
@@ -147,6 +177,24 @@ const CheckoutPage: React.FC = () => {
         }
     }, [availableSlots, deliveryTime]);
 
+    // 服务端报价（配送费、满减与应付金额以服务端为准）
+    const [quote, setQuote] = React.useState<PriceQuote | null>(null);
+    const quoteKey = selectedItems.map(item => `${item.product.id}:${item.quantity}`).join(',');
+
+    React.useEffect(() => {
+        if (!quoteKey) return;
+        let cancelled = false;
+        orderAPI.quoteOrder(selectedItems.map(item => ({ productId: item.product.id, quantity: item.quantity })))
+            .then(result => {
+                if (!cancelled) setQuote(result);
+            })
+            .catch(error => console.error('获取订单报价失败:', error));
+        return () => {
+            cancelled = true;
+        };
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [quoteKey]);
+
     // 提交状态
     const [isSubmitting, setIsSubmitting] = React.useState(false);
     const [orderSuccess, setOrderSuccess] = React.useState(false); // 新增：防止提交成功后闪烁空购物车状态
@@ -685,15 +733,21 @@ const CheckoutPage: React.FC = () => {
                                 </Box>
                                 <Box sx={{ display: 'flex', justifyContent: 'space-between', mb: 2 }}>
                                     <Typography color="text.secondary">运费</Typography>
-                                    <Typography>¥0.00</Typography>
+                                    <Typography>¥{(quote?.deliveryFee ?? 0).toFixed(2)}</Typography>
                                 </Box>
+                                {quote && quote.discountAmount > 0 && (
+                                    <Box sx={{ display: 'flex', justifyContent: 'space-between', mb: 2 }}>
+                                        <Typography color="text.secondary">{quote.promotionName || '优惠'}</Typography>
+                                        <Typography color="error">-¥{quote.discountAmount.toFixed(2)}</Typography>
+                                    </Box>
+                                )}
 
                                 <Divider sx={{ my: 2 }} />
 
                                 <Box sx={{ display: 'flex', justifyContent: 'space-between', mb: 3 }}>
                                     <Typography variant="h6">应付总额</Typography>
                                     <Typography variant="h5" color="primary" fontWeight="bold">
-                                        ¥{totalPrice.toFixed(2)}
+                                        ¥{(quote?.finalAmount ?? totalPrice).toFixed(2)}
                                     </Typography>
                                 </Box>
 